@@ -1,11 +1,27 @@
 package com.chanjx.utils;
 
+import com.chanjx.utils.entity.file.MimeTypeResult;
+import org.apache.commons.collections4.map.LRUMap;
+import org.apache.commons.io.FilenameUtils;
+import org.apache.commons.io.IOUtils;
 import org.apache.tika.Tika;
 
+import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * @author chanjx
@@ -15,6 +31,26 @@ public class FileUtils extends org.apache.commons.io.FileUtils {
 
     private static final Tika TIKA = new Tika();
 
+    /**
+     * 识别文件类型时读取的文件头长度
+     */
+    public static final int MIME_HEAD_SIZE = 8 * 1024;
+
+    /**
+     * 读取文件头使用的线程缓冲区
+     */
+    private static final ThreadLocal<byte[]> HEAD_BUFFER = ThreadLocal.withInitial(() -> new byte[MIME_HEAD_SIZE]);
+
+    /**
+     * 批量识别时默认同时识别的文件数
+     */
+    private static final int DEFAULT_BATCH_WINDOW = Runtime.getRuntime().availableProcessors() * 4;
+
+    /**
+     * 文件类型缓存，键为扩展名及文件头签名{@link MagicMimeDetector#signature}
+     */
+    private static final Map<String, String> MIME_CACHE = Collections.synchronizedMap(new LRUMap<>(1024));
+
     private FileUtils() {
     }
 
@@ -22,19 +58,246 @@ public class FileUtils extends org.apache.commons.io.FileUtils {
         return TIKA.detect(file);
     }
 
+    public static String getMimeType(Path path) throws IOException {
+        return TIKA.detect(path);
+    }
+
     public static String getMimeType(URL url) throws IOException {
         return TIKA.detect(url);
     }
 
     public static String getMimeType(InputStream inputStream) throws IOException {
+        if (inputStream.markSupported()) {
+            final byte[] head = HEAD_BUFFER.get();
+            final int length;
+            inputStream.mark(MIME_HEAD_SIZE);
+            try {
+                length = IOUtils.read(inputStream, head);
+            } finally {
+                inputStream.reset();
+            }
+            final String mimeType = MagicMimeDetector.detect(head, 0, length, null);
+            if (mimeType != null) {
+                return mimeType;
+            }
+        }
         return TIKA.detect(inputStream);
     }
 
     public static String getMimeType(byte[] bytes) throws IOException {
-        return TIKA.detect(bytes);
+        final String mimeType = MagicMimeDetector.detect(bytes, 0, bytes.length, null);
+        return mimeType != null ? mimeType : TIKA.detect(bytes);
     }
 
     public static String getMimeType(String fileName) throws IOException {
         return TIKA.detect(fileName);
     }
+
+    /**
+     * 根据文件头及文件名识别文件类型，只读取前{@link #MIME_HEAD_SIZE}字节，结果按扩展名及文件头前缀缓存
+     *
+     * @param path     文件
+     * @param fileName 文件名，为null时使用path的文件名
+     * @return 文件类型
+     * @throws IOException e
+     */
+    public static String getMimeType(Path path, String fileName) throws IOException {
+        final byte[] head = HEAD_BUFFER.get();
+        final ByteBuffer buffer = ByteBuffer.wrap(head);
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            while (buffer.hasRemaining() && channel.read(buffer) >= 0) {
+                // 读满文件头或到达文件末尾
+            }
+        }
+        return getMimeType(head, 0, buffer.position(), fileName != null ? fileName : path.getFileName().toString());
+    }
+
+    /**
+     * 并行识别目录下所有文件的类型，使用{@link ForkJoinPool#commonPool()}
+     *
+     * @param root 根目录
+     * @return 识别结果，使用完毕后需关闭
+     * @throws IOException e
+     * @see #getMimeTypes(Path, Executor, int)
+     */
+    public static Stream<MimeTypeResult> getMimeTypes(Path root) throws IOException {
+        return getMimeTypes(root, ForkJoinPool.commonPool(), DEFAULT_BATCH_WINDOW);
+    }
+
+    /**
+     * 并行识别目录下所有文件的类型，每个文件只读取文件头
+     *
+     * @param root     根目录
+     * @param executor 读取文件使用的线程池，文件IO较慢时建议使用独立线程池
+     * @param window   同时识别的最大文件数
+     * @return 识别结果，按遍历顺序返回，使用完毕后需关闭
+     * @throws IOException e
+     */
+    public static Stream<MimeTypeResult> getMimeTypes(Path root, Executor executor, int window) throws IOException {
+        final Stream<Path> paths = Files.find(root, Integer.MAX_VALUE, (path, attributes) -> attributes.isRegularFile());
+        return getMimeTypes(paths, executor, window);
+    }
+
+    /**
+     * 并行识别多个文件的类型，使用{@link ForkJoinPool#commonPool()}
+     *
+     * @param paths 文件
+     * @return 识别结果，按paths的顺序返回
+     */
+    public static Stream<MimeTypeResult> getMimeTypes(Collection<Path> paths) {
+        return getMimeTypes(paths.stream(), ForkJoinPool.commonPool(), DEFAULT_BATCH_WINDOW);
+    }
+
+    /**
+     * 并行识别多个文件的类型，每个文件只读取文件头
+     * <p>
+     * 结果按需拉取，最多同时识别window个文件，适合处理大量文件；单个文件读取失败不影响其余文件。
+     * </p>
+     *
+     * @param paths    文件
+     * @param executor 读取文件使用的线程池
+     * @param window   同时识别的最大文件数
+     * @return 识别结果，按paths的顺序返回，关闭时同时关闭paths
+     */
+    public static Stream<MimeTypeResult> getMimeTypes(Stream<Path> paths, Executor executor, int window) {
+        if (window < 1) {
+            throw new IllegalArgumentException("window must be positive");
+        }
+        final MimeTypeIterator iterator = new MimeTypeIterator(paths.iterator(), executor, window);
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED | Spliterator.NONNULL), false)
+                .onClose(iterator::cancel)
+                .onClose(paths::close);
+    }
+
+    /**
+     * 根据文件头及文件名识别文件类型，流需支持mark/reset，识别后流重置到原位置
+     *
+     * @param inputStream 输入流
+     * @param fileName    文件名，可为null
+     * @return 文件类型
+     * @throws IOException e
+     */
+    public static String getMimeType(InputStream inputStream, String fileName) throws IOException {
+        if (!inputStream.markSupported()) {
+            throw new IOException("InputStream does not support mark/reset");
+        }
+        final byte[] head = HEAD_BUFFER.get();
+        final int length;
+        inputStream.mark(MIME_HEAD_SIZE);
+        try {
+            length = IOUtils.read(inputStream, head);
+        } finally {
+            inputStream.reset();
+        }
+        return getMimeType(head, 0, length, fileName);
+    }
+
+    /**
+     * 根据文件头及文件名识别文件类型，只使用前{@link #MIME_HEAD_SIZE}字节
+     * <p>
+     * 常见类型由{@link MagicMimeDetector}直接识别，其余类型交给Tika并按扩展名及文件头签名缓存结果。
+     * </p>
+     *
+     * @param bytes    文件内容
+     * @param fileName 文件名，可为null
+     * @return 文件类型
+     * @throws IOException e
+     */
+    public static String getMimeType(byte[] bytes, String fileName) throws IOException {
+        return getMimeType(bytes, 0, Math.min(bytes.length, MIME_HEAD_SIZE), fileName);
+    }
+
+    /**
+     * 根据文件头及文件名识别文件类型，不改变buffer的position
+     *
+     * @param buffer   文件内容
+     * @param fileName 文件名，可为null
+     * @return 文件类型
+     * @throws IOException e
+     */
+    public static String getMimeType(ByteBuffer buffer, String fileName) throws IOException {
+        final int length = Math.min(buffer.remaining(), MIME_HEAD_SIZE);
+        if (buffer.hasArray()) {
+            return getMimeType(buffer.array(), buffer.arrayOffset() + buffer.position(), length, fileName);
+        }
+        final byte[] head = HEAD_BUFFER.get();
+        buffer.duplicate().get(head, 0, length);
+        return getMimeType(head, 0, length, fileName);
+    }
+
+    private static String getMimeType(byte[] head, int offset, int length, String fileName) throws IOException {
+        final String detected = MagicMimeDetector.detect(head, offset, length, fileName);
+        if (detected != null) {
+            return detected;
+        }
+        final String key = cacheKey(head, offset, length, fileName);
+        final String cached = MIME_CACHE.get(key);
+        if (cached != null) {
+            return cached;
+        }
+        final String mimeType = TIKA.detect(new ByteArrayInputStream(head, offset, length), fileName);
+        MIME_CACHE.put(key, mimeType);
+        return mimeType;
+    }
+
+    private static String cacheKey(byte[] head, int offset, int length, String fileName) {
+        final String extension = fileName == null ? "" : FilenameUtils.getExtension(fileName).toLowerCase();
+        return extension + ':' + MagicMimeDetector.signature(head, offset, length);
+    }
+
+    /**
+     * 以滑动窗口方式提交识别任务，按提交顺序返回结果
+     */
+    private static final class MimeTypeIterator implements Iterator<MimeTypeResult> {
+
+        private final Iterator<Path> paths;
+
+        private final Executor executor;
+
+        private final int window;
+
+        private final Deque<CompletableFuture<MimeTypeResult>> pending = new ArrayDeque<>();
+
+        private MimeTypeIterator(Iterator<Path> paths, Executor executor, int window) {
+            this.paths = paths;
+            this.executor = executor;
+            this.window = window;
+        }
+
+        @Override
+        public boolean hasNext() {
+            fill();
+            return !this.pending.isEmpty();
+        }
+
+        @Override
+        public MimeTypeResult next() {
+            fill();
+            final CompletableFuture<MimeTypeResult> future = this.pending.poll();
+            if (future == null) {
+                throw new NoSuchElementException();
+            }
+            return future.join();
+        }
+
+        private void fill() {
+            while (this.pending.size() < this.window && this.paths.hasNext()) {
+                final Path path = this.paths.next();
+                this.pending.add(CompletableFuture.supplyAsync(() -> detect(path), this.executor));
+            }
+        }
+
+        private void cancel() {
+            this.pending.forEach(future -> future.cancel(false));
+            this.pending.clear();
+        }
+
+        private static MimeTypeResult detect(Path path) {
+            try {
+                return new MimeTypeResult(path, getMimeType(path, null));
+            } catch (IOException e) {
+                return new MimeTypeResult(path, e);
+            }
+        }
+    }
 }
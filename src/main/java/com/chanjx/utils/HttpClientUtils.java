@@ -1,35 +1,32 @@
 package com.chanjx.utils;
 
-import com.chanjx.utils.entity.http.BaseFile;
+import com.chanjx.utils.entity.http.DownloadResult;
 import com.chanjx.utils.entity.http.HttpFile;
 import com.chanjx.utils.entity.http.HttpFiles;
 import com.chanjx.utils.entity.http.HttpResponse;
+import com.chanjx.utils.http.HttpClientEngine;
+import com.chanjx.utils.http.StreamingResponseHandler;
+import com.fasterxml.jackson.databind.JavaType;
 import lombok.extern.slf4j.Slf4j;
-import org.apache.commons.collections4.MapUtils;
-import org.apache.hc.client5.http.classic.methods.*;
-import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.classic.methods.HttpPost;
+import org.apache.hc.client5.http.classic.methods.HttpUriRequestBase;
 import org.apache.hc.client5.http.entity.UrlEncodedFormEntity;
 import org.apache.hc.client5.http.entity.mime.MultipartEntityBuilder;
-import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
-import org.apache.hc.client5.http.impl.classic.HttpClients;
-import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
-import org.apache.hc.core5.http.*;
-import org.apache.hc.core5.http.io.entity.EntityUtils;
-import org.apache.hc.core5.http.io.entity.StringEntity;
+import org.apache.hc.core5.http.ContentType;
+import org.apache.hc.core5.http.HttpEntity;
+import org.apache.hc.core5.http.NameValuePair;
 import org.apache.hc.core5.http.message.BasicNameValuePair;
-import org.apache.hc.core5.net.URIBuilder;
-import org.apache.hc.core5.util.TimeValue;
-import org.apache.hc.core5.util.Timeout;
 
 import java.io.IOException;
-import java.net.URI;
 import java.net.URISyntaxException;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
-import java.util.*;
-
-import static org.apache.hc.core5.http.ContentType.APPLICATION_JSON;
-import static org.apache.hc.core5.http.ContentType.APPLICATION_XML;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * @author chanjx
@@ -41,30 +38,37 @@ public class HttpClientUtils {
     private HttpClientUtils() {
     }
 
-    private static final Timeout REQUEST_TIMEOUT = Timeout.ofMilliseconds(30L);
-    private static final Timeout RESPONSE_TIMEOUT = Timeout.ofMilliseconds(15L);
-
-    private static final CloseableHttpClient client;
+    /**
+     * 默认客户端实例，所有静态请求方法均委托给该实例
+     */
+    private static final HttpClientEngine DEFAULT_ENGINE = HttpClientEngine.builder().build();
 
-    static {
-        // 连接池配置，路由及路由线路配置
-        final PoolingHttpClientConnectionManager connManager = new PoolingHttpClientConnectionManager();
-        connManager.setMaxTotal(256);
-        connManager.setDefaultMaxPerRoute(128);
-        client = HttpClients.custom().setConnectionManager(connManager).build();
+    /**
+     * 创建独立配置的客户端实例，可按上游服务分别配置连接池、超时及保活策略
+     * <pre>
+     * HttpClientEngine engine = HttpClientUtils.builder()
+     *         .maxTotal(64)
+     *         .defaultMaxPerRoute(32)
+     *         .responseTimeout(Timeout.ofSeconds(3L))
+     *         .build();
+     * </pre>
+     *
+     * @return {@link HttpClientEngine.Builder}
+     */
+    public static HttpClientEngine.Builder builder() {
+        return HttpClientEngine.builder();
     }
 
     public static HttpResponse doGet(String uri) throws URISyntaxException, IOException {
-        return doGet(uri, null, null);
+        return DEFAULT_ENGINE.doGet(uri);
     }
 
     public static HttpResponse doGet(String uri, Map<String, String> query) throws URISyntaxException, IOException {
-        return doGet(uri, query, null);
+        return DEFAULT_ENGINE.doGet(uri, query);
     }
 
     public static HttpResponse doGet(String uri, Map<String, String> query, Map<String, String> headers) throws URISyntaxException, IOException {
-        final HttpGet httpGet = new HttpGet(setQuery(uri, query));
-        return send(httpGet, headers);
+        return DEFAULT_ENGINE.doGet(uri, query, headers);
     }
 
     /**
@@ -75,7 +79,7 @@ public class HttpClientUtils {
      * @return 请求结果
      */
     public static HttpResponse doPostForm(String uri, Map<String, String> params) throws IOException {
-        return doPostForm(uri, params, null);
+        return DEFAULT_ENGINE.doPostForm(uri, params);
     }
 
     /**
@@ -87,164 +91,342 @@ public class HttpClientUtils {
      * @return 请求结果
      */
     public static HttpResponse doPostForm(String uri, Map<String, String> params, Map<String, String> headers) throws IOException {
-        final HttpPost httpPost = new HttpPost(uri);
-        return sendForm(params, headers, httpPost);
+        return DEFAULT_ENGINE.doPostForm(uri, params, headers);
     }
 
     public static HttpResponse doPostJson(String uri, String jsonStr) throws IOException {
-        return doPostJson(uri, jsonStr, null);
+        return DEFAULT_ENGINE.doPostJson(uri, jsonStr);
     }
 
     public static HttpResponse doPostJson(String uri, String jsonStr, Map<String, String> headers) throws IOException {
-        HttpPost httpPost = new HttpPost(uri);
-        setJsonBody(jsonStr, httpPost);
-        return send(httpPost, headers);
+        return DEFAULT_ENGINE.doPostJson(uri, jsonStr, headers);
+    }
+
+    public static HttpResponse doPostJson(String uri, Object body) throws IOException {
+        return DEFAULT_ENGINE.doPostJson(uri, body);
+    }
+
+    /**
+     * 执行Post请求，实体类直接序列化到请求输出流，不经过String
+     *
+     * @param uri     uri
+     * @param body    实体类
+     * @param headers 请求头信息
+     * @return 请求结果
+     */
+    public static HttpResponse doPostJson(String uri, Object body, Map<String, String> headers) throws IOException {
+        return DEFAULT_ENGINE.doPostJson(uri, body, headers);
     }
 
     public static HttpResponse doPostXml(String uri, String xmlStr) throws IOException {
-        return doPostXml(uri, xmlStr, null);
+        return DEFAULT_ENGINE.doPostXml(uri, xmlStr);
     }
 
     public static HttpResponse doPostXml(String uri, String xmlStr, Map<String, String> headers) throws IOException {
-        HttpPost httpPost = new HttpPost(uri);
-        setXmlBody(xmlStr, httpPost);
-        return send(httpPost, headers);
+        return DEFAULT_ENGINE.doPostXml(uri, xmlStr, headers);
+    }
+
+    public static HttpResponse doPostXml(String uri, Object body) throws IOException {
+        return DEFAULT_ENGINE.doPostXml(uri, body);
+    }
+
+    public static HttpResponse doPostXml(String uri, Object body, Map<String, String> headers) throws IOException {
+        return DEFAULT_ENGINE.doPostXml(uri, body, headers);
     }
 
     public static HttpResponse doPostRow(String uri, String rowStr, ContentType contentType) throws IOException {
-        return doPostRow(uri, rowStr, null, contentType);
+        return DEFAULT_ENGINE.doPostRow(uri, rowStr, contentType);
     }
 
     public static HttpResponse doPostRow(String uri, String rowStr, Map<String, String> headers, ContentType contentType) throws IOException {
-        HttpPost httpPost = new HttpPost(uri);
-        setRowBody(rowStr, httpPost, contentType);
-        return send(httpPost, headers);
+        return DEFAULT_ENGINE.doPostRow(uri, rowStr, headers, contentType);
     }
 
     public static HttpResponse doPostMultipartForm(String uri, HttpFile httpFile, Map<String, String> params) throws IOException {
-        return doPostMultipartForm(uri, httpFile, params, null);
+        return DEFAULT_ENGINE.doPostMultipartForm(uri, httpFile, params);
     }
 
     public static HttpResponse doPostMultipartForm(String uri, HttpFile httpFile, Map<String, String> params, Map<String, String> headers) throws IOException {
-        final ContentType contentType = ContentType.create(httpFile.getMimeType());
-        final MultipartEntityBuilder builder =
-                MultipartEntityBuilder
-                        .create()
-                        .addBinaryBody(
-                                httpFile.getKey(),
-                                httpFile.getFileBytes(),
-                                contentType,
-                                httpFile.getFileName());
-        final HttpPost httpPost = setParams(uri, params, builder);
-        return send(httpPost, headers);
+        return DEFAULT_ENGINE.doPostMultipartForm(uri, httpFile, params, headers);
     }
 
     public static HttpResponse doPostMultipartForm(String uri, HttpFiles httpFiles, Map<String, String> params) throws IOException {
-        return doPostMultipartForm(uri, httpFiles, params, null);
+        return DEFAULT_ENGINE.doPostMultipartForm(uri, httpFiles, params);
     }
 
     public static HttpResponse doPostMultipartForm(String uri, HttpFiles httpFiles, Map<String, String> params, Map<String, String> headers) throws IOException {
-
-        final MultipartEntityBuilder builder = MultipartEntityBuilder.create();
-        for (BaseFile baseFile : httpFiles.getFiles()) {
-            final ContentType contentType = ContentType.create(baseFile.getMimeType());
-            builder.addBinaryBody(httpFiles.getKey(), baseFile.getFileBytes(), contentType, baseFile.getFileName());
-        }
-
-        final HttpPost httpPost = setParams(uri, params, builder);
-        return send(httpPost, headers);
+        return DEFAULT_ENGINE.doPostMultipartForm(uri, httpFiles, params, headers);
     }
 
     public static HttpResponse doPostMultipartForm(String uri, List<HttpFile> httpFiles, Map<String, String> params) throws IOException {
-        return doPostMultipartForm(uri, httpFiles, params, null);
+        return DEFAULT_ENGINE.doPostMultipartForm(uri, httpFiles, params);
     }
 
     public static HttpResponse doPostMultipartForm(String uri, List<HttpFile> httpFiles, Map<String, String> params, Map<String, String> headers) throws IOException {
-        final MultipartEntityBuilder builder = MultipartEntityBuilder.create();
-        httpFiles.forEach(httpFile -> addBinaryBody(builder, httpFile));
-        final HttpPost httpPost = setParams(uri, params, builder);
-        return send(httpPost, headers);
+        return DEFAULT_ENGINE.doPostMultipartForm(uri, httpFiles, params, headers);
     }
 
     public static HttpResponse doPostMultipartForm(String uri, HttpFiles httpFiles, List<HttpFile> httpFileList, Map<String, String> params) throws IOException {
-        return doPostMultipartForm(uri, httpFiles, httpFileList, params, null);
+        return DEFAULT_ENGINE.doPostMultipartForm(uri, httpFiles, httpFileList, params);
     }
 
     public static HttpResponse doPostMultipartForm(String uri, HttpFiles httpFiles, List<HttpFile> httpFileList, Map<String, String> params, Map<String, String> headers) throws IOException {
-        final MultipartEntityBuilder builder = MultipartEntityBuilder.create();
-        httpFiles.getFiles().forEach(baseFile -> {
-            final ContentType contentType = ContentType.create(baseFile.getMimeType());
-            builder.addBinaryBody(
-                    httpFiles.getKey(),
-                    baseFile.getFileBytes(),
-                    contentType,
-                    baseFile.getFileName());
-        });
-        httpFileList.forEach(httpFile -> addBinaryBody(builder, httpFile));
-        final HttpPost httpPost = setParams(uri, params, builder);
-        return send(httpPost, headers);
+        return DEFAULT_ENGINE.doPostMultipartForm(uri, httpFiles, httpFileList, params, headers);
     }
 
     public static HttpResponse doPutForm(String uri, Map<String, String> params) throws IOException {
-        return doPutForm(uri, params, null);
+        return DEFAULT_ENGINE.doPutForm(uri, params);
     }
 
     public static HttpResponse doPutForm(String uri, Map<String, String> params, Map<String, String> headers) throws IOException {
-        params.values().removeIf(Objects::isNull);
-        final HttpPut httpPut = new HttpPut(uri);
-        return sendForm(params, headers, httpPut);
-    }
-
-    private static HttpResponse sendForm(Map<String, String> params, Map<String, String> headers, HttpUriRequestBase method) throws IOException {
-        final ContentType contentType;
-        if (MapUtils.isEmpty(headers)) {
-            contentType = ContentType.APPLICATION_FORM_URLENCODED;
-            headers = new HashMap<String, String>() {{
-                put(HttpHeaders.CONTENT_TYPE, contentType.toString());
-            }};
-        } else {
-            final String mimeType = headers.get(HttpHeaders.CONTENT_TYPE);
-            contentType =
-                    StringUtils.isNotBlank(mimeType)
-                            ? ContentType.parse(mimeType)
-                            : ContentType.APPLICATION_FORM_URLENCODED;
-            headers.put(HttpHeaders.CONTENT_TYPE, contentType.toString());
-        }
-        setParams(params, method, contentType.getCharset());
-        return send(method, headers);
+        return DEFAULT_ENGINE.doPutForm(uri, params, headers);
     }
 
     public static HttpResponse doPutJson(String uri, String jsonStr) throws IOException {
-        return doPutJson(uri, jsonStr, null);
+        return DEFAULT_ENGINE.doPutJson(uri, jsonStr);
     }
 
     public static HttpResponse doPutJson(String uri, String jsonStr, Map<String, String> headers) throws IOException {
-        final HttpPut httpPut = new HttpPut(uri);
-        setJsonBody(jsonStr, httpPut);
-        return send(httpPut, headers);
+        return DEFAULT_ENGINE.doPutJson(uri, jsonStr, headers);
+    }
+
+    public static HttpResponse doPutJson(String uri, Object body) throws IOException {
+        return DEFAULT_ENGINE.doPutJson(uri, body);
+    }
+
+    public static HttpResponse doPutJson(String uri, Object body, Map<String, String> headers) throws IOException {
+        return DEFAULT_ENGINE.doPutJson(uri, body, headers);
     }
 
     public static HttpResponse doPutXml(String uri, String xmlStr) throws IOException {
-        return doPutXml(uri, xmlStr, null);
+        return DEFAULT_ENGINE.doPutXml(uri, xmlStr);
     }
 
     public static HttpResponse doPutXml(String uri, String xmlStr, Map<String, String> headers) throws IOException {
-        final HttpPut httpPut = new HttpPut(uri);
-        setXmlBody(xmlStr, httpPut);
-        return send(httpPut, headers);
+        return DEFAULT_ENGINE.doPutXml(uri, xmlStr, headers);
+    }
+
+    public static HttpResponse doPutXml(String uri, Object body) throws IOException {
+        return DEFAULT_ENGINE.doPutXml(uri, body);
+    }
+
+    public static HttpResponse doPutXml(String uri, Object body, Map<String, String> headers) throws IOException {
+        return DEFAULT_ENGINE.doPutXml(uri, body, headers);
     }
 
     public static HttpResponse doDelete(String uri) throws URISyntaxException, IOException {
-        return doDelete(uri, null, null);
+        return DEFAULT_ENGINE.doDelete(uri);
     }
 
     public static HttpResponse doDelete(String uri, Map<String, String> query) throws URISyntaxException, IOException {
-        return doDelete(uri, query, null);
+        return DEFAULT_ENGINE.doDelete(uri, query);
     }
 
     public static HttpResponse doDelete(String uri, Map<String, String> query, Map<String, String> headers) throws URISyntaxException, IOException {
-        final HttpDelete httpDelete = new HttpDelete(setQuery(uri, query));
-        return send(httpDelete, headers);
+        return DEFAULT_ENGINE.doDelete(uri, query, headers);
+    }
+
+    /**
+     * 执行Get请求，响应体以流的方式交给处理器，适用于大响应体
+     *
+     * @param uri     uri
+     * @param query   请求参数
+     * @param headers 请求头信息
+     * @param handler 流式响应处理器，如{@link StreamingResponseHandler#toFile(java.nio.file.Path)}
+     * @param <T>     T
+     * @return 处理结果
+     */
+    public static <T> T doGet(String uri, Map<String, String> query, Map<String, String> headers, StreamingResponseHandler<T> handler) throws URISyntaxException, IOException {
+        return DEFAULT_ENGINE.doGet(uri, query, headers, handler);
+    }
+
+    public static <T> T doPostForm(String uri, Map<String, String> params, Map<String, String> headers, StreamingResponseHandler<T> handler) throws IOException {
+        return DEFAULT_ENGINE.doPostForm(uri, params, headers, handler);
+    }
+
+    public static <T> T doPostJson(String uri, String jsonStr, Map<String, String> headers, StreamingResponseHandler<T> handler) throws IOException {
+        return DEFAULT_ENGINE.doPostJson(uri, jsonStr, headers, handler);
+    }
+
+    public static <T> T doGetForObject(String uri, Class<T> clazz) throws URISyntaxException, IOException {
+        return DEFAULT_ENGINE.doGetForObject(uri, clazz);
+    }
+
+    /**
+     * 执行Get请求，响应体按Content-Type直接反序列化为实体类，不经过byte[]或String
+     *
+     * @param uri     uri
+     * @param query   请求参数
+     * @param headers 请求头信息
+     * @param clazz   实体类
+     * @param <T>     T
+     * @return 实体类，响应状态码为204时返回null
+     * @throws org.apache.hc.client5.http.HttpResponseException 响应状态码非2xx
+     */
+    public static <T> T doGetForObject(String uri, Map<String, String> query, Map<String, String> headers, Class<T> clazz) throws URISyntaxException, IOException {
+        return DEFAULT_ENGINE.doGetForObject(uri, query, headers, clazz);
+    }
+
+    public static <T> T doGetForObject(String uri, Map<String, String> query, Map<String, String> headers, JavaType javaType) throws URISyntaxException, IOException {
+        return DEFAULT_ENGINE.doGetForObject(uri, query, headers, javaType);
+    }
+
+    public static <T> T doPostJsonForObject(String uri, String jsonStr, Class<T> clazz) throws IOException {
+        return DEFAULT_ENGINE.doPostJsonForObject(uri, jsonStr, clazz);
+    }
+
+    public static <T> T doPostJsonForObject(String uri, String jsonStr, Map<String, String> headers, Class<T> clazz) throws IOException {
+        return DEFAULT_ENGINE.doPostJsonForObject(uri, jsonStr, headers, clazz);
+    }
+
+    public static <T> T doPostJsonForObject(String uri, String jsonStr, Map<String, String> headers, JavaType javaType) throws IOException {
+        return DEFAULT_ENGINE.doPostJsonForObject(uri, jsonStr, headers, javaType);
+    }
+
+    public static <T> T doPostJsonForObject(String uri, Object body, Map<String, String> headers, Class<T> clazz) throws IOException {
+        return DEFAULT_ENGINE.doPostJsonForObject(uri, body, headers, clazz);
+    }
+
+    public static <T> T doPostJsonForObject(String uri, Object body, Map<String, String> headers, JavaType javaType) throws IOException {
+        return DEFAULT_ENGINE.doPostJsonForObject(uri, body, headers, javaType);
+    }
+
+    public static <T> T doPostXmlForObject(String uri, String xmlStr, Class<T> clazz) throws IOException {
+        return DEFAULT_ENGINE.doPostXmlForObject(uri, xmlStr, clazz);
+    }
+
+    public static <T> T doPostXmlForObject(String uri, String xmlStr, Map<String, String> headers, Class<T> clazz) throws IOException {
+        return DEFAULT_ENGINE.doPostXmlForObject(uri, xmlStr, headers, clazz);
+    }
+
+    public static <T> T doPostXmlForObject(String uri, String xmlStr, Map<String, String> headers, JavaType javaType) throws IOException {
+        return DEFAULT_ENGINE.doPostXmlForObject(uri, xmlStr, headers, javaType);
+    }
+
+    public static DownloadResult download(String uri, Path target) throws URISyntaxException, IOException {
+        return DEFAULT_ENGINE.download(uri, target);
+    }
+
+    public static DownloadResult download(String uri, Path target, Map<String, String> headers) throws URISyntaxException, IOException {
+        return DEFAULT_ENGINE.download(uri, target, headers);
+    }
+
+    /**
+     * 下载文件，响应体直接写入磁盘，支持断点续传
+     *
+     * @param uri     uri
+     * @param target  目标文件
+     * @param headers 请求头信息
+     * @param resume  是否断点续传
+     * @return 下载结果，包含写入字节数及下载速度
+     */
+    public static DownloadResult download(String uri, Path target, Map<String, String> headers, boolean resume) throws URISyntaxException, IOException {
+        return DEFAULT_ENGINE.download(uri, target, headers, resume);
+    }
+
+    public static CompletableFuture<HttpResponse> doGetAsync(String uri) throws URISyntaxException {
+        return DEFAULT_ENGINE.doGetAsync(uri);
+    }
+
+    public static CompletableFuture<HttpResponse> doGetAsync(String uri, Map<String, String> query) throws URISyntaxException {
+        return DEFAULT_ENGINE.doGetAsync(uri, query);
+    }
+
+    /**
+     * 异步执行Get请求
+     *
+     * @param uri     uri
+     * @param query   请求参数
+     * @param headers 请求头信息
+     * @return 请求结果
+     * @throws URISyntaxException e
+     */
+    public static CompletableFuture<HttpResponse> doGetAsync(String uri, Map<String, String> query, Map<String, String> headers) throws URISyntaxException {
+        return DEFAULT_ENGINE.doGetAsync(uri, query, headers);
+    }
+
+    public static CompletableFuture<HttpResponse> doPostFormAsync(String uri, Map<String, String> params) {
+        return DEFAULT_ENGINE.doPostFormAsync(uri, params);
+    }
+
+    public static CompletableFuture<HttpResponse> doPostFormAsync(String uri, Map<String, String> params, Map<String, String> headers) {
+        return DEFAULT_ENGINE.doPostFormAsync(uri, params, headers);
+    }
+
+    public static CompletableFuture<HttpResponse> doPostJsonAsync(String uri, String jsonStr) {
+        return DEFAULT_ENGINE.doPostJsonAsync(uri, jsonStr);
+    }
+
+    public static CompletableFuture<HttpResponse> doPostJsonAsync(String uri, String jsonStr, Map<String, String> headers) {
+        return DEFAULT_ENGINE.doPostJsonAsync(uri, jsonStr, headers);
+    }
+
+    public static CompletableFuture<HttpResponse> doPostJsonAsync(String uri, Object body) {
+        return DEFAULT_ENGINE.doPostJsonAsync(uri, body);
+    }
+
+    public static CompletableFuture<HttpResponse> doPostJsonAsync(String uri, Object body, Map<String, String> headers) {
+        return DEFAULT_ENGINE.doPostJsonAsync(uri, body, headers);
+    }
+
+    public static CompletableFuture<HttpResponse> doPostMultipartFormAsync(String uri, HttpFile httpFile, Map<String, String> params) {
+        return DEFAULT_ENGINE.doPostMultipartFormAsync(uri, httpFile, params);
+    }
+
+    public static CompletableFuture<HttpResponse> doPostMultipartFormAsync(String uri, HttpFile httpFile, Map<String, String> params, Map<String, String> headers) {
+        return DEFAULT_ENGINE.doPostMultipartFormAsync(uri, httpFile, params, headers);
+    }
+
+    public static CompletableFuture<HttpResponse> doPostMultipartFormAsync(String uri, HttpFiles httpFiles, Map<String, String> params) {
+        return DEFAULT_ENGINE.doPostMultipartFormAsync(uri, httpFiles, params);
+    }
+
+    public static CompletableFuture<HttpResponse> doPostMultipartFormAsync(String uri, HttpFiles httpFiles, Map<String, String> params, Map<String, String> headers) {
+        return DEFAULT_ENGINE.doPostMultipartFormAsync(uri, httpFiles, params, headers);
+    }
+
+    public static CompletableFuture<HttpResponse> doPostMultipartFormAsync(String uri, List<HttpFile> httpFiles, Map<String, String> params) {
+        return DEFAULT_ENGINE.doPostMultipartFormAsync(uri, httpFiles, params);
+    }
+
+    public static CompletableFuture<HttpResponse> doPostMultipartFormAsync(String uri, List<HttpFile> httpFiles, Map<String, String> params, Map<String, String> headers) {
+        return DEFAULT_ENGINE.doPostMultipartFormAsync(uri, httpFiles, params, headers);
+    }
+
+    public static CompletableFuture<HttpResponse> doPostMultipartFormAsync(String uri, HttpFiles httpFiles, List<HttpFile> httpFileList, Map<String, String> params) {
+        return DEFAULT_ENGINE.doPostMultipartFormAsync(uri, httpFiles, httpFileList, params);
+    }
+
+    public static CompletableFuture<HttpResponse> doPostMultipartFormAsync(String uri, HttpFiles httpFiles, List<HttpFile> httpFileList, Map<String, String> params, Map<String, String> headers) {
+        return DEFAULT_ENGINE.doPostMultipartFormAsync(uri, httpFiles, httpFileList, params, headers);
+    }
+
+    public static CompletableFuture<HttpResponse> doPutJsonAsync(String uri, String jsonStr) {
+        return DEFAULT_ENGINE.doPutJsonAsync(uri, jsonStr);
+    }
+
+    public static CompletableFuture<HttpResponse> doPutJsonAsync(String uri, String jsonStr, Map<String, String> headers) {
+        return DEFAULT_ENGINE.doPutJsonAsync(uri, jsonStr, headers);
+    }
+
+    public static CompletableFuture<HttpResponse> doPutJsonAsync(String uri, Object body) {
+        return DEFAULT_ENGINE.doPutJsonAsync(uri, body);
+    }
+
+    public static CompletableFuture<HttpResponse> doPutJsonAsync(String uri, Object body, Map<String, String> headers) {
+        return DEFAULT_ENGINE.doPutJsonAsync(uri, body, headers);
+    }
+
+    public static CompletableFuture<HttpResponse> doDeleteAsync(String uri) throws URISyntaxException {
+        return DEFAULT_ENGINE.doDeleteAsync(uri);
+    }
+
+    public static CompletableFuture<HttpResponse> doDeleteAsync(String uri, Map<String, String> query) throws URISyntaxException {
+        return DEFAULT_ENGINE.doDeleteAsync(uri, query);
+    }
+
+    public static CompletableFuture<HttpResponse> doDeleteAsync(String uri, Map<String, String> query, Map<String, String> headers) throws URISyntaxException {
+        return DEFAULT_ENGINE.doDeleteAsync(uri, query, headers);
     }
 
     public static HttpPost setParams(String uri, Map<String, String> params, MultipartEntityBuilder builder) {
@@ -272,77 +454,4 @@ public class HttpClientUtils {
                 new UrlEncodedFormEntity(nameValuePairList,
                         charset == null ? StandardCharsets.UTF_8 : charset));
     }
-
-    private static URI setQuery(String uri, Map<String, String> query) throws URISyntaxException {
-        final URIBuilder uriBuilder = new URIBuilder(new URI(uri));
-        uriBuilder.setCharset(StandardCharsets.UTF_8);
-        if (MapUtils.isNotEmpty(query)) {
-            query.values().removeIf(Objects::isNull);
-            query.forEach(uriBuilder::addParameter);
-        }
-        return uriBuilder.build();
-    }
-
-    private static void setJsonBody(String jsonStr, HttpUriRequestBase method) {
-        setRowBody(jsonStr, method, APPLICATION_JSON);
-    }
-
-    private static void setXmlBody(String xmlStr, HttpUriRequestBase method) {
-        setRowBody(xmlStr, method, APPLICATION_XML);
-    }
-
-    private static void setRowBody(String rowStr, HttpUriRequestBase method, ContentType contentType) {
-        final StringEntity stringEntity = new StringEntity(rowStr, contentType);
-        method.setEntity(stringEntity);
-    }
-
-    /**
-     * 发送请求
-     *
-     * @param request request
-     * @param headers 请求头
-     * @return 请求字符串结果
-     */
-    private static HttpResponse send(HttpUriRequestBase request, Map<String, String> headers) throws IOException {
-        setHeaders(request, headers);
-        setConfig(request);
-        return client.execute(request, response -> {
-            // 获取请求返回消息
-            final HttpEntity entity = response.getEntity();
-            final Header header = response.getHeader(HttpHeaders.CONTENT_TYPE);
-            return new HttpResponse(
-                    response.getCode(),
-                    response.getHeaders(),
-                    EntityUtils.toByteArray(entity),
-                    header == null ? null : ContentType.parse(header.getValue()));
-        });
-    }
-
-    private static void setHeaders(HttpUriRequestBase request, Map<String, String> headers) {
-        // 设置请求头
-        if (headers != null) {
-            headers.forEach(request::setHeader);
-        }
-    }
-
-    private static void setConfig(HttpUriRequestBase request) {
-        // 设置超时时间
-        RequestConfig requestConfig =
-                RequestConfig
-                        .custom()
-                        .setConnectionKeepAlive(TimeValue.ofSeconds(5L))
-                        .setConnectionRequestTimeout(REQUEST_TIMEOUT)
-                        .setResponseTimeout(RESPONSE_TIMEOUT)
-                        .build();
-        request.setConfig(requestConfig);
-    }
-
-    private static void addBinaryBody(MultipartEntityBuilder builder, HttpFile httpFile) {
-        final ContentType contentType = ContentType.create(httpFile.getMimeType());
-        builder.addBinaryBody(
-                httpFile.getKey(),
-                httpFile.getFileBytes(),
-                contentType,
-                httpFile.getFileName());
-    }
 }
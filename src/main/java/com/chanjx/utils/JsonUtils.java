@@ -4,25 +4,36 @@ import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.*;
 import com.fasterxml.jackson.databind.Module;
 import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import com.fasterxml.jackson.databind.exc.MismatchedInputException;
 import com.fasterxml.jackson.databind.module.SimpleModule;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.fasterxml.jackson.databind.ser.std.StdSerializer;
-import com.fasterxml.jackson.databind.type.TypeFactory;
+import com.fasterxml.jackson.databind.util.ByteBufferBackedInputStream;
+import com.fasterxml.jackson.databind.util.ByteBufferBackedOutputStream;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import lombok.extern.slf4j.Slf4j;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.io.UncheckedIOException;
 import java.lang.reflect.Type;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
-import java.util.Collections;
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import static com.chanjx.utils.JsonUtils.MapperKey.*;
 
@@ -34,12 +45,28 @@ import static com.chanjx.utils.JsonUtils.MapperKey.*;
 @Slf4j
 public class JsonUtils {
 
+    /**
+     * 启用字节码加速的系统属性，可选值：afterburner、blackbird、auto（Java 9及以上使用blackbird）
+     * <p>
+     * 需自行引入jackson-module-afterburner或jackson-module-blackbird依赖，
+     * 在JsonUtils首次使用前设置，如：-Dchanjx.json.accelerator=auto
+     * </p>
+     */
+    public static final String ACCELERATOR_PROPERTY = "chanjx.json.accelerator";
+
+    private static final String AFTERBURNER_MODULE = "com.fasterxml.jackson.module.afterburner.AfterburnerModule";
+
+    private static final String BLACKBIRD_MODULE = "com.fasterxml.jackson.module.blackbird.BlackbirdModule";
+
+    /**
+     * 其余Mapper均由此拷贝，加速模块随拷贝一同生效
+     */
     private static final ObjectMapper MAPPER =
-            new ObjectMapper()
+            accelerate(new ObjectMapper()
                     .registerModule(new JavaTimeModule())
                     // 反序列化忽略Json对象在实体类中没有的字段
                     .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false)
-                    .registerModule(getLocalDateTime2TimestampModule());
+                    .registerModule(getLocalDateTime2TimestampModule()));
     private static final Map<MapperKey, ObjectMapper> JACKSON_MAP =
             Collections.unmodifiableMap(
                     new HashMap<MapperKey, ObjectMapper>() {
@@ -68,6 +95,31 @@ public class JsonUtils {
                         }
                     });
 
+    /**
+     * 各Mapper预先构建的ObjectReader/ObjectWriter缓存
+     */
+    private static final Map<MapperKey, MapperCache> CACHES;
+
+    static {
+        final Map<MapperKey, MapperCache> caches = new EnumMap<>(MapperKey.class);
+        JACKSON_MAP.forEach((key, mapper) -> caches.put(key, new MapperCache(mapper)));
+        CACHES = Collections.unmodifiableMap(caches);
+    }
+
+    /**
+     * 泛型类型缓存，条目数上限为{@link MapperCache#MAX_ENTRIES}
+     */
+    private static final ConcurrentMap<List<Class<?>>, JavaType> PARAMETRIC_TYPES = new ConcurrentHashMap<>();
+
+    private static final ConcurrentMap<List<Class<?>>, JavaType> MAP_TYPES = new ConcurrentHashMap<>();
+
+    private static final ClassValue<JavaType> LIST_TYPES = new ClassValue<JavaType>() {
+        @Override
+        protected JavaType computeValue(Class<?> clazz) {
+            return MAPPER.getTypeFactory().constructCollectionType(List.class, clazz);
+        }
+    };
+
     private JsonUtils() {
     }
 
@@ -79,18 +131,41 @@ public class JsonUtils {
      * @throws JsonProcessingException e
      */
     public static String obj2Json(Object obj) throws JsonProcessingException {
-        return JACKSON_MAP.get(DEFAULT_MAPPER).writeValueAsString(obj);
+        return writer(DEFAULT_MAPPER, obj).writeValueAsString(obj);
     }
 
     /**
-     * 实体类转json字符串，并忽略实体类为空的字段
+     * 实体类转UTF-8编码的json字节数组
      *
      * @param obj obj
      * @return jsonBytes
      * @throws JsonProcessingException e
      */
     public static byte[] obj2JsonBytes(Object obj) throws JsonProcessingException {
-        return JACKSON_MAP.get(DEFAULT_MAPPER).writeValueAsString(obj).getBytes();
+        return writer(DEFAULT_MAPPER, obj).writeValueAsBytes(obj);
+    }
+
+    /**
+     * 实体类以UTF-8编码写入输出流，不关闭输出流
+     *
+     * @param obj          obj
+     * @param outputStream 输出流
+     * @throws IOException e
+     */
+    public static void obj2Json(Object obj, OutputStream outputStream) throws IOException {
+        writer(DEFAULT_MAPPER, obj).writeValue(outputStream, obj);
+    }
+
+    /**
+     * 实体类以UTF-8编码写入buffer，写入后buffer的position后移
+     *
+     * @param obj    obj
+     * @param buffer buffer
+     * @throws IOException                           e
+     * @throws java.nio.BufferOverflowException buffer剩余空间不足
+     */
+    public static void obj2Json(Object obj, ByteBuffer buffer) throws IOException {
+        obj2Json(obj, new ByteBufferBackedOutputStream(buffer));
     }
 
     /**
@@ -101,7 +176,7 @@ public class JsonUtils {
      * @throws JsonProcessingException e
      */
     public static String obj2JsonNonNull(Object obj) throws JsonProcessingException {
-        return JACKSON_MAP.get(NON_NULL_MAPPER).writeValueAsString(obj);
+        return writer(NON_NULL_MAPPER, obj).writeValueAsString(obj);
     }
 
     /**
@@ -112,7 +187,18 @@ public class JsonUtils {
      * @throws JsonProcessingException e
      */
     public static byte[] obj2JsonNonNullBytes(Object obj) throws JsonProcessingException {
-        return JACKSON_MAP.get(NON_NULL_MAPPER).writeValueAsString(obj).getBytes();
+        return writer(NON_NULL_MAPPER, obj).writeValueAsBytes(obj);
+    }
+
+    /**
+     * 实体类以UTF-8编码写入输出流，并忽略实体类为空的字段，不关闭输出流
+     *
+     * @param obj          obj
+     * @param outputStream 输出流
+     * @throws IOException e
+     */
+    public static void obj2JsonNonNull(Object obj, OutputStream outputStream) throws IOException {
+        writer(NON_NULL_MAPPER, obj).writeValue(outputStream, obj);
     }
 
     /**
@@ -123,7 +209,7 @@ public class JsonUtils {
      * @throws JsonProcessingException e
      */
     public static String obj2JsonWrapRootValue(Object obj) throws JsonProcessingException {
-        return JACKSON_MAP.get(ROOT_VALUE_MAPPER).writeValueAsString(obj);
+        return writer(ROOT_VALUE_MAPPER, obj).writeValueAsString(obj);
     }
 
     /**
@@ -134,7 +220,7 @@ public class JsonUtils {
      * @throws JsonProcessingException e
      */
     public static String obj2JsonNonNullWrapRootValue(Object obj) throws JsonProcessingException {
-        return JACKSON_MAP.get(ROOT_VALUE_NON_NULL_MAPPER).writeValueAsString(obj);
+        return writer(ROOT_VALUE_NON_NULL_MAPPER, obj).writeValueAsString(obj);
     }
 
     /**
@@ -147,7 +233,118 @@ public class JsonUtils {
      * @throws JsonProcessingException e
      */
     public static <T> T json2Obj(String jsonStr, Class<T> clazz) throws JsonProcessingException {
-        return JACKSON_MAP.get(DEFAULT_MAPPER).readValue(jsonStr, clazz);
+        return reader(DEFAULT_MAPPER, clazz).readValue(jsonStr);
+    }
+
+    /**
+     * json字节数组转实体类，编码自动识别
+     *
+     * @param jsonBytes jsonBytes
+     * @param clazz     Class
+     * @param <T>       T
+     * @return T
+     * @throws IOException e
+     */
+    public static <T> T json2Obj(byte[] jsonBytes, Class<T> clazz) throws IOException {
+        return reader(DEFAULT_MAPPER, clazz).readValue(jsonBytes);
+    }
+
+    /**
+     * json字节数组转实体类
+     *
+     * @param jsonBytes jsonBytes
+     * @param javaType  javaType可通过{@link #getJavaType}获取
+     * @param <T>       T
+     * @return T
+     * @throws IOException e
+     */
+    public static <T> T json2Obj(byte[] jsonBytes, JavaType javaType) throws IOException {
+        return reader(DEFAULT_MAPPER, javaType).readValue(jsonBytes);
+    }
+
+    /**
+     * 从输入流读取json并转为实体类，不关闭输入流
+     *
+     * @param inputStream 输入流
+     * @param clazz       Class
+     * @param <T>         T
+     * @return T
+     * @throws IOException e
+     */
+    public static <T> T json2Obj(InputStream inputStream, Class<T> clazz) throws IOException {
+        return reader(DEFAULT_MAPPER, clazz).readValue(inputStream);
+    }
+
+    /**
+     * 从输入流读取json并转为实体类，不关闭输入流
+     *
+     * @param inputStream 输入流
+     * @param javaType    javaType可通过{@link #getJavaType}获取
+     * @param <T>         T
+     * @return T
+     * @throws IOException e
+     */
+    public static <T> T json2Obj(InputStream inputStream, JavaType javaType) throws IOException {
+        return reader(DEFAULT_MAPPER, javaType).readValue(inputStream);
+    }
+
+    /**
+     * 从字符流读取json并转为实体类，不关闭字符流，用于非UTF编码的json
+     *
+     * @param reader 字符流
+     * @param clazz  Class
+     * @param <T>    T
+     * @return T
+     * @throws IOException e
+     */
+    public static <T> T json2Obj(Reader reader, Class<T> clazz) throws IOException {
+        return reader(DEFAULT_MAPPER, clazz).readValue(reader);
+    }
+
+    /**
+     * 从字符流读取json并转为实体类，不关闭字符流，用于非UTF编码的json
+     *
+     * @param reader   字符流
+     * @param javaType javaType可通过{@link #getJavaType}获取
+     * @param <T>      T
+     * @return T
+     * @throws IOException e
+     */
+    public static <T> T json2Obj(Reader reader, JavaType javaType) throws IOException {
+        return reader(DEFAULT_MAPPER, javaType).readValue(reader);
+    }
+
+    /**
+     * 读取buffer剩余内容并转为实体类，不改变buffer的position
+     *
+     * @param buffer buffer
+     * @param clazz  Class
+     * @param <T>    T
+     * @return T
+     * @throws IOException e
+     */
+    public static <T> T json2Obj(ByteBuffer buffer, Class<T> clazz) throws IOException {
+        return json2Obj(buffer, reader(DEFAULT_MAPPER, clazz));
+    }
+
+    /**
+     * 读取buffer剩余内容并转为实体类，不改变buffer的position
+     *
+     * @param buffer   buffer
+     * @param javaType javaType可通过{@link #getJavaType}获取
+     * @param <T>      T
+     * @return T
+     * @throws IOException e
+     */
+    public static <T> T json2Obj(ByteBuffer buffer, JavaType javaType) throws IOException {
+        return json2Obj(buffer, reader(DEFAULT_MAPPER, javaType));
+    }
+
+    private static <T> T json2Obj(ByteBuffer buffer, ObjectReader reader) throws IOException {
+        if (buffer.hasArray()) {
+            return reader.readValue(buffer.array(), buffer.arrayOffset() + buffer.position(), buffer.remaining());
+        }
+        return reader.readValue(new ByteBufferBackedInputStream(buffer.duplicate()));
     }
 
     /**
@@ -160,7 +357,7 @@ public class JsonUtils {
      * @throws IOException e
      */
     public static <T> T json2ObjUnwrapRootValue(String jsonStr, Class<T> clazz) throws IOException {
-        return JACKSON_MAP.get(ROOT_VALUE_MAPPER).readValue(jsonStr, clazz);
+        return reader(ROOT_VALUE_MAPPER, clazz).readValue(jsonStr);
     }
 
     /**
@@ -173,7 +370,7 @@ public class JsonUtils {
      * @throws IOException e
      */
     public static <T> T json2Obj(String jsonStr, JavaType javaType) throws IOException {
-        return JACKSON_MAP.get(DEFAULT_MAPPER).readValue(jsonStr, javaType);
+        return reader(DEFAULT_MAPPER, javaType).readValue(jsonStr);
     }
 
     /**
@@ -186,7 +383,7 @@ public class JsonUtils {
      * @throws IOException e
      */
     public static <T> T json2ObjUnwrapRootValue(String jsonStr, JavaType javaType) throws IOException {
-        return JACKSON_MAP.get(ROOT_VALUE_MAPPER).readValue(jsonStr, javaType);
+        return reader(ROOT_VALUE_MAPPER, javaType).readValue(jsonStr);
     }
 
     /**
@@ -201,7 +398,7 @@ public class JsonUtils {
      * @throws IOException e
      */
     public static <T> T json2Obj(String jsonStr, Class<?> parametrized, Class<?>... parameterClasses) throws IOException {
-        return JACKSON_MAP.get(DEFAULT_MAPPER).readValue(jsonStr, getJavaType(parametrized, parameterClasses));
+        return reader(DEFAULT_MAPPER, getJavaType(parametrized, parameterClasses)).readValue(jsonStr);
     }
 
     /**
@@ -216,9 +413,7 @@ public class JsonUtils {
      * @throws IOException e
      */
     public static <T> T json2ObjUnwrapRootValue(String jsonStr, Class<?> parametrized, Class<?>... parameterClasses) throws IOException {
-        final ObjectMapper copy = MAPPER.copy()
-                .configure(DeserializationFeature.UNWRAP_ROOT_VALUE, true);
-        return JACKSON_MAP.get(ROOT_VALUE_MAPPER).readValue(jsonStr, getJavaType(parametrized, parameterClasses));
+        return reader(ROOT_VALUE_MAPPER, getJavaType(parametrized, parameterClasses)).readValue(jsonStr);
     }
 
     /**
@@ -242,7 +437,11 @@ public class JsonUtils {
      * @return {@link JavaType}
      */
     public static JavaType getJavaType(Class<?> parametrized, Class<?>... parameterClasses) {
-        return JACKSON_MAP.get(DEFAULT_MAPPER).getTypeFactory().constructParametricType(parametrized, parameterClasses);
+        final List<Class<?>> key = new ArrayList<>(parameterClasses.length + 1);
+        key.add(parametrized);
+        Collections.addAll(key, parameterClasses);
+        return MapperCache.cached(PARAMETRIC_TYPES, key,
+                k -> MAPPER.getTypeFactory().constructParametricType(parametrized, parameterClasses));
     }
 
     /**
@@ -269,7 +468,7 @@ public class JsonUtils {
      * @throws IOException e
      */
     public static <K, V> HashMap<K, V> json2HashMap(String jsonStr, Class<K> k, Class<V> v) throws IOException {
-        return JACKSON_MAP.get(DEFAULT_MAPPER).readValue(jsonStr, TypeFactory.defaultInstance().constructMapType(HashMap.class, k, v));
+        return reader(DEFAULT_MAPPER, mapType(k, v)).readValue(jsonStr);
     }
 
     /**
@@ -282,9 +481,113 @@ public class JsonUtils {
      * @throws IOException e
      */
     public static <T> List<T> json2List(String jsonStr, Class<T> t) throws IOException {
-        return JACKSON_MAP
-                .get(DEFAULT_MAPPER)
-                .readValue(jsonStr, TypeFactory.defaultInstance().constructCollectionType(List.class, t));
+        return reader(DEFAULT_MAPPER, listType(t)).readValue(jsonStr);
+    }
+
+    /**
+     * 逐个读取顶层json数组的元素或NDJSON（每行一个json）中的值，内存占用只与单个元素大小有关
+     *
+     * @param inputStream 输入流，迭代器关闭时不关闭输入流
+     * @param clazz       元素类型
+     * @param <T>         T
+     * @return 迭代器，使用完毕后需关闭
+     * @throws IOException e
+     */
+    public static <T> MappingIterator<T> json2Iterator(InputStream inputStream, Class<T> clazz) throws IOException {
+        return reader(DEFAULT_MAPPER, clazz).readValues(inputStream);
+    }
+
+    /**
+     * 逐个读取顶层json数组的元素或NDJSON中的值
+     *
+     * @param inputStream 输入流，迭代器关闭时不关闭输入流
+     * @param javaType    元素类型
+     * @param <T>         T
+     * @return 迭代器，使用完毕后需关闭
+     * @throws IOException e
+     * @see #json2Iterator(InputStream, Class)
+     */
+    public static <T> MappingIterator<T> json2Iterator(InputStream inputStream, JavaType javaType) throws IOException {
+        return reader(DEFAULT_MAPPER, javaType).readValues(inputStream);
+    }
+
+    /**
+     * 以惰性Stream的方式读取顶层json数组的元素或NDJSON中的值
+     *
+     * @param inputStream 输入流，Stream关闭时不关闭输入流
+     * @param clazz       元素类型
+     * @param <T>         T
+     * @return Stream，使用完毕后需关闭
+     * @throws IOException e
+     * @see #json2Iterator(InputStream, Class)
+     */
+    public static <T> Stream<T> json2Stream(InputStream inputStream, Class<T> clazz) throws IOException {
+        return iterator2Stream(json2Iterator(inputStream, clazz));
+    }
+
+    /**
+     * 以惰性Stream的方式读取文件中顶层json数组的元素或NDJSON中的值
+     *
+     * @param path  文件
+     * @param clazz 元素类型
+     * @param <T>   T
+     * @return Stream，关闭时同时关闭文件
+     * @throws IOException e
+     * @see #json2Iterator(InputStream, Class)
+     */
+    public static <T> Stream<T> json2Stream(Path path, Class<T> clazz) throws IOException {
+        final InputStream inputStream = Files.newInputStream(path);
+        try {
+            return json2Stream(inputStream, clazz).onClose(() -> {
+                try {
+                    inputStream.close();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (IOException | RuntimeException e) {
+            inputStream.close();
+            throw e;
+        }
+    }
+
+    /**
+     * 创建逐个写入元素的json数组写入器，关闭写入器时写入数组结尾，但不关闭输出流
+     * <p>
+     * 如：
+     * try (SequenceWriter writer = JsonUtils.jsonArrayWriter(outputStream)) {
+     * writer.write(obj);
+     * }
+     * </p>
+     *
+     * @param outputStream 输出流
+     * @return {@link SequenceWriter}
+     * @throws IOException e
+     */
+    public static SequenceWriter jsonArrayWriter(OutputStream outputStream) throws IOException {
+        return CACHES.get(DEFAULT_MAPPER).sequenceWriter().writeValuesAsArray(outputStream);
+    }
+
+    /**
+     * 创建NDJSON写入器，每个值占一行，关闭写入器时不关闭输出流
+     *
+     * @param outputStream 输出流
+     * @return {@link SequenceWriter}
+     * @throws IOException e
+     */
+    public static SequenceWriter ndjsonWriter(OutputStream outputStream) throws IOException {
+        return CACHES.get(DEFAULT_MAPPER).sequenceWriter().withRootValueSeparator("\n").writeValues(outputStream);
+    }
+
+    private static <T> Stream<T> iterator2Stream(MappingIterator<T> iterator) {
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED | Spliterator.NONNULL), false)
+                .onClose(() -> {
+                    try {
+                        iterator.close();
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
     }
 
     /**
@@ -308,7 +611,7 @@ public class JsonUtils {
     public static Map<String, Object> obj2MapSO(Object obj) {
         return JACKSON_MAP
                 .get(DEFAULT_MAPPER)
-                .convertValue(obj, TypeFactory.defaultInstance().constructMapType(HashMap.class, String.class, Object.class));
+                .convertValue(obj, mapType(String.class, Object.class));
     }
 
     /**
@@ -320,7 +623,7 @@ public class JsonUtils {
     public static Map<String, Object> obj2MapSONonNull(Object obj) {
         return JACKSON_MAP
                 .get(NON_NULL_MAPPER)
-                .convertValue(obj, TypeFactory.defaultInstance().constructMapType(HashMap.class, String.class, Object.class));
+                .convertValue(obj, mapType(String.class, Object.class));
     }
 
     /**
@@ -331,7 +634,7 @@ public class JsonUtils {
      */
     public static Map<String, String> obj2MapSS(Object obj) {
         return JACKSON_MAP.get(DEFAULT_MAPPER)
-                .convertValue(obj, TypeFactory.defaultInstance().constructMapType(HashMap.class, String.class, String.class));
+                .convertValue(obj, mapType(String.class, String.class));
     }
 
     /**
@@ -342,7 +645,7 @@ public class JsonUtils {
      */
     public static Map<String, String> obj2MapSSNonNull(Object obj) {
         return JACKSON_MAP.get(NON_NULL_MAPPER)
-                .convertValue(obj, TypeFactory.defaultInstance().constructMapType(HashMap.class, String.class, String.class));
+                .convertValue(obj, mapType(String.class, String.class));
     }
 
     /**
@@ -354,10 +657,7 @@ public class JsonUtils {
      */
     public static String beautiful(String jsonStr) throws IOException {
         final Object obj = json2Obj(jsonStr, Object.class);
-        return JACKSON_MAP
-                .get(DEFAULT_MAPPER)
-                .writerWithDefaultPrettyPrinter()
-                .writeValueAsString(obj);
+        return CACHES.get(DEFAULT_MAPPER).prettyWriter().writeValueAsString(obj);
     }
 
     /**
@@ -368,36 +668,211 @@ public class JsonUtils {
      * @throws JsonProcessingException e
      */
     public static String beautiful(Object obj) throws JsonProcessingException {
-        return JACKSON_MAP
-                .get(DEFAULT_MAPPER)
-                .writerWithDefaultPrettyPrinter()
-                .writeValueAsString(obj);
+        return CACHES.get(DEFAULT_MAPPER).prettyWriter().writeValueAsString(obj);
     }
 
     /**
-     * 判断Json对象是否含有指定key
+     * 判断Json对象是否含有指定key，以流的方式扫描顶层字段并跳过字段值，不构建树
+     * <p>
+     * 与解析为ObjectNode的行为一致：根节点不是对象或Json格式错误时抛出异常，因此找到key后仍会读完整个对象。
+     * </p>
      *
      * @param jsonStr jsonStr
      * @param key     指定key
      * @return boolean
-     * @throws JsonProcessingException e
+     * @throws JsonProcessingException 根节点不是对象或Json格式错误
      */
     public static boolean hasKey(String jsonStr, String key) throws JsonProcessingException {
-        final ObjectNode jsonNodes = JACKSON_MAP.get(DEFAULT_MAPPER).readValue(jsonStr, ObjectNode.class);
-        return jsonNodes.has(key);
+        try (JsonParser parser = MAPPER.createParser(jsonStr)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw MismatchedInputException.from(parser, ObjectNode.class, "Root value is not a JSON object");
+            }
+            boolean found = false;
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                found |= key.equals(parser.currentName());
+                parser.nextToken();
+                parser.skipChildren();
+            }
+            return found;
+        } catch (JsonProcessingException e) {
+            throw e;
+        } catch (IOException e) {
+            throw JsonMappingException.fromUnexpectedIOE(e);
+        }
     }
 
     /**
-     * 判断Json对象是否为数组
+     * 判断Json数组是否含有指定下标，跳过下标之前的元素内容，找到即停止解析
      *
      * @param jsonStr jsonStr
      * @param index   指定下标
-     * @return boolean
+     * @return boolean，根节点不是数组时返回false
      * @throws JsonProcessingException e
      */
     public static boolean hasIndex(String jsonStr, int index) throws JsonProcessingException {
-        final ObjectNode jsonNodes = JACKSON_MAP.get(DEFAULT_MAPPER).readValue(jsonStr, ObjectNode.class);
-        return jsonNodes.has(index);
+        return probe(jsonStr, Collections.singletonList(index));
+    }
+
+    /**
+     * 判断Json是否含有指定路径，如：a.b[3].c、[0].name
+     * <p>
+     * 以流的方式逐个读取token，跳过无关的子节点，找到即停止解析，不构建完整的树。
+     * </p>
+     *
+     * @param jsonStr jsonStr
+     * @param path    路径
+     * @return boolean
+     * @throws JsonProcessingException e
+     */
+    public static boolean hasPath(String jsonStr, String path) throws JsonProcessingException {
+        return probe(jsonStr, parsePath(path));
+    }
+
+    /**
+     * 判断Json是否含有指定路径
+     *
+     * @param jsonBytes jsonBytes
+     * @param path      路径
+     * @return boolean
+     * @throws IOException e
+     * @see #hasPath(String, String)
+     */
+    public static boolean hasPath(byte[] jsonBytes, String path) throws IOException {
+        try (JsonParser parser = MAPPER.createParser(jsonBytes)) {
+            return seek(parser, parsePath(path));
+        }
+    }
+
+    /**
+     * 提取指定路径的节点，只解析到目标节点为止
+     *
+     * @param jsonStr jsonStr
+     * @param path    路径，参考{@link #hasPath(String, String)}
+     * @return {@link JsonNode}，路径不存在时返回null
+     * @throws IOException e
+     */
+    public static JsonNode extractPath(String jsonStr, String path) throws IOException {
+        try (JsonParser parser = MAPPER.createParser(jsonStr)) {
+            return seek(parser, parsePath(path)) ? MAPPER.readTree(parser) : null;
+        }
+    }
+
+    /**
+     * 提取指定路径的值并转为实体类，只解析到目标节点为止
+     *
+     * @param jsonStr jsonStr
+     * @param path    路径，参考{@link #hasPath(String, String)}
+     * @param clazz   Class
+     * @param <T>     T
+     * @return T，路径不存在时返回null
+     * @throws IOException e
+     */
+    public static <T> T extractPath(String jsonStr, String path, Class<T> clazz) throws IOException {
+        try (JsonParser parser = MAPPER.createParser(jsonStr)) {
+            return seek(parser, parsePath(path)) ? reader(DEFAULT_MAPPER, clazz).readValue(parser) : null;
+        }
+    }
+
+    /**
+     * 提取指定路径的值并转为实体类，只解析到目标节点为止
+     *
+     * @param jsonBytes jsonBytes
+     * @param path      路径，参考{@link #hasPath(String, String)}
+     * @param clazz     Class
+     * @param <T>       T
+     * @return T，路径不存在时返回null
+     * @throws IOException e
+     */
+    public static <T> T extractPath(byte[] jsonBytes, String path, Class<T> clazz) throws IOException {
+        try (JsonParser parser = MAPPER.createParser(jsonBytes)) {
+            return seek(parser, parsePath(path)) ? reader(DEFAULT_MAPPER, clazz).readValue(parser) : null;
+        }
+    }
+
+    private static boolean probe(String jsonStr, List<Object> segments) throws JsonProcessingException {
+        try (JsonParser parser = MAPPER.createParser(jsonStr)) {
+            return seek(parser, segments);
+        } catch (JsonProcessingException e) {
+            throw e;
+        } catch (IOException e) {
+            throw JsonMappingException.fromUnexpectedIOE(e);
+        }
+    }
+
+    /**
+     * 将路径解析为字段名（String）及数组下标（Integer）
+     */
+    private static List<Object> parsePath(String path) {
+        final List<Object> segments = new ArrayList<>();
+        final int length = path.length();
+        int i = 0;
+        while (i < length) {
+            final char c = path.charAt(i);
+            if (c == '.') {
+                i++;
+            } else if (c == '[') {
+                final int end = path.indexOf(']', i);
+                if (end < 0) {
+                    throw new IllegalArgumentException("Invalid json path: " + path);
+                }
+                segments.add(Integer.parseInt(path.substring(i + 1, end).trim()));
+                i = end + 1;
+            } else {
+                int end = i;
+                while (end < length && path.charAt(end) != '.' && path.charAt(end) != '[') {
+                    end++;
+                }
+                segments.add(path.substring(i, end));
+                i = end;
+            }
+        }
+        return segments;
+    }
+
+    /**
+     * 将parser移动到路径指向的值的第一个token
+     *
+     * @return 路径是否存在
+     */
+    private static boolean seek(JsonParser parser, List<Object> segments) throws IOException {
+        JsonToken token = parser.nextToken();
+        for (Object segment : segments) {
+            if (segment instanceof String) {
+                if (token != JsonToken.START_OBJECT) {
+                    return false;
+                }
+                boolean found = false;
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    final String name = parser.currentName();
+                    token = parser.nextToken();
+                    if (segment.equals(name)) {
+                        found = true;
+                        break;
+                    }
+                    parser.skipChildren();
+                }
+                if (!found) {
+                    return false;
+                }
+            } else {
+                if (token != JsonToken.START_ARRAY) {
+                    return false;
+                }
+                final int index = (Integer) segment;
+                boolean found = false;
+                for (int i = 0; (token = parser.nextToken()) != JsonToken.END_ARRAY && token != null; i++) {
+                    if (i == index) {
+                        found = true;
+                        break;
+                    }
+                    parser.skipChildren();
+                }
+                if (!found) {
+                    return false;
+                }
+            }
+        }
+        return token != null;
     }
 
     /**
@@ -413,6 +888,26 @@ public class JsonUtils {
         return JACKSON_MAP.get(mapperKey).copy();
     }
 
+    private static ObjectWriter writer(MapperKey mapperKey, Object obj) {
+        return CACHES.get(mapperKey).writer(obj);
+    }
+
+    private static ObjectReader reader(MapperKey mapperKey, Class<?> clazz) {
+        return CACHES.get(mapperKey).reader(clazz);
+    }
+
+    private static ObjectReader reader(MapperKey mapperKey, JavaType javaType) {
+        return CACHES.get(mapperKey).reader(javaType);
+    }
+
+    private static JavaType mapType(Class<?> k, Class<?> v) {
+        return MapperCache.cached(MAP_TYPES, Arrays.asList(k, v), key -> MAPPER.getTypeFactory().constructMapType(HashMap.class, k, v));
+    }
+
+    private static JavaType listType(Class<?> t) {
+        return LIST_TYPES.get(t);
+    }
+
     public enum MapperKey {
         DEFAULT_MAPPER,
         NON_NULL_MAPPER,
@@ -421,6 +916,51 @@ public class JsonUtils {
 
     }
 
+    /**
+     * 判断Mapper是否已启用字节码加速
+     *
+     * @return boolean
+     */
+    public static boolean isAccelerated() {
+        final Set<Object> moduleIds = MAPPER.getRegisteredModuleIds();
+        return moduleIds.contains(AFTERBURNER_MODULE) || moduleIds.contains(BLACKBIRD_MODULE);
+    }
+
+    /**
+     * 按{@link #ACCELERATOR_PROPERTY}注册Afterburner或Blackbird模块，模块不存在时忽略
+     */
+    private static ObjectMapper accelerate(ObjectMapper mapper) {
+        final String accelerator = System.getProperty(ACCELERATOR_PROPERTY);
+        if (StringUtils.isBlank(accelerator)) {
+            return mapper;
+        }
+        final String moduleClass;
+        switch (accelerator.trim().toLowerCase()) {
+            case "afterburner":
+                moduleClass = AFTERBURNER_MODULE;
+                break;
+            case "blackbird":
+                moduleClass = BLACKBIRD_MODULE;
+                break;
+            case "auto":
+                moduleClass = System.getProperty("java.specification.version").startsWith("1.")
+                        ? AFTERBURNER_MODULE
+                        : BLACKBIRD_MODULE;
+                break;
+            default:
+                log.warn("Unknown {}: {}", ACCELERATOR_PROPERTY, accelerator);
+                return mapper;
+        }
+        try {
+            final Module module = (Module) Class.forName(moduleClass).getDeclaredConstructor().newInstance();
+            log.info("JsonUtils accelerated by {}", module.getModuleName());
+            return mapper.registerModule(module);
+        } catch (ReflectiveOperationException | LinkageError e) {
+            log.warn("{} is not available, JsonUtils falls back to reflection", moduleClass, e);
+            return mapper;
+        }
+    }
+
     /**
      * 时间戳与LocalDateTime互转
      *
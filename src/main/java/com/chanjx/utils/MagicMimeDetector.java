@@ -0,0 +1,339 @@
+package com.chanjx.utils;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 基于文件头魔数的文件类型识别
+ * <p>
+ * 只识别jpeg/png/gif/pdf/zip/json/纯文本等常见类型，识别过程不分配对象，
+ * 无法确定或可能与Tika结果不一致时返回null，由调用方交给Tika识别。
+ * </p>
+ *
+ * @author chanjx
+ * @since 2026/10/17
+ **/
+final class MagicMimeDetector {
+
+    /**
+     * 纯文本检查的最大字节数
+     */
+    private static final int TEXT_CHECK_SIZE = 512;
+
+    private static final byte[] ZIP_MAGIC = bytes('P', 'K', 3, 4);
+
+    private static final Magic[] MAGICS = {
+            new Magic("image/jpeg", 0, bytes(0xFF, 0xD8, 0xFF)),
+            new Magic("image/png", 0, bytes(0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n')),
+            new Magic("image/gif", 0, ascii("GIF87a")),
+            new Magic("image/gif", 0, ascii("GIF89a")),
+            // 扩展名为ai等时Tika会识别为pdf的子类型
+            new Magic("application/pdf", 0, ascii("%PDF-"), "pdf"),
+            new Magic("application/zip", 0, ZIP_MAGIC, "zip"),
+    };
+
+    /**
+     * zip第一个条目名为以下前缀时为docx/odt/jar等容器格式
+     */
+    private static final byte[][] ZIP_CONTAINER_ENTRIES = {
+            ascii("[Content_Types].xml"),
+            ascii("mimetype"),
+            ascii("META-INF"),
+    };
+
+    /**
+     * zip第一个条目名的偏移量
+     */
+    private static final int ZIP_ENTRY_NAME_OFFSET = 30;
+
+    /**
+     * 签名中二进制文件头前缀的长度，之后的内容多为文件大小、时间等每个文件不同的字段
+     */
+    private static final int BINARY_SIGNATURE_SIZE = 16;
+
+    /**
+     * 签名中文本首行、首个标签及zip条目名的最大长度
+     */
+    private static final int TEXT_SIGNATURE_SIZE = 64;
+
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private MagicMimeDetector() {
+    }
+
+    /**
+     * 识别文件类型
+     *
+     * @param bytes    文件头
+     * @param offset   起始位置
+     * @param length   长度
+     * @param fileName 文件名，可为null
+     * @return 文件类型，无法识别时返回null
+     */
+    static String detect(byte[] bytes, int offset, int length, String fileName) {
+        if (length <= 0) {
+            return null;
+        }
+        for (Magic magic : MAGICS) {
+            if (magic.matches(bytes, offset, length)) {
+                if (!magic.acceptsExtension(fileName)) {
+                    return null;
+                }
+                if (magic.pattern[0] == 'P' && isZipContainer(bytes, offset, length)) {
+                    return null;
+                }
+                return magic.mimeType;
+            }
+        }
+        return detectText(bytes, offset, length, fileName);
+    }
+
+    /**
+     * 生成文件头签名，同一类型的文件签名相同，用于缓存{@link #detect}无法识别、交给Tika识别的结果
+     * <p>
+     * 只保留Tika识别时依赖的部分：纯文本及JSON只区分类别，标记语言取首个元素的开始标签，
+     * 其他文本取首行，zip取第一个条目名，其余二进制取文件头前缀。
+     * </p>
+     *
+     * @param bytes  文件头
+     * @param offset 起始位置
+     * @param length 长度
+     * @return 签名
+     */
+    static String signature(byte[] bytes, int offset, int length) {
+        final int end = offset + length;
+        if (startsWith(bytes, offset, end, ZIP_MAGIC)) {
+            final int start = offset + ZIP_ENTRY_NAME_OFFSET;
+            return "zip:" + hex(bytes, Math.min(start, end), Math.min(start + TEXT_SIGNATURE_SIZE, end));
+        }
+        final int textEnd = offset + Math.min(length, TEXT_CHECK_SIZE);
+        if (!isText(bytes, offset, textEnd)) {
+            return "bin:" + hex(bytes, offset, Math.min(offset + BINARY_SIGNATURE_SIZE, end));
+        }
+        final int first = skipWhitespace(bytes, offset, textEnd);
+        if (first == textEnd) {
+            return "blank";
+        }
+        if (isJsonStart(bytes, first, textEnd)) {
+            return "json";
+        }
+        if (isPlainTextStart(bytes, first, textEnd)) {
+            return "text";
+        }
+        if (bytes[first] == '<') {
+            // 跳过xml声明、注释及DOCTYPE，取首个元素的开始标签（含命名空间）
+            for (int i = first; i + 1 < end; i++) {
+                if (bytes[i] == '<' && Character.isLetter(bytes[i + 1])) {
+                    int tagEnd = i + 1;
+                    while (tagEnd < end && tagEnd - i < TEXT_SIGNATURE_SIZE && bytes[tagEnd] != '>') {
+                        tagEnd++;
+                    }
+                    return "tag:" + hex(bytes, i, tagEnd);
+                }
+            }
+        }
+        int lineEnd = first;
+        while (lineEnd < end && lineEnd - first < TEXT_SIGNATURE_SIZE && bytes[lineEnd] != '\n' && bytes[lineEnd] != '\r') {
+            lineEnd++;
+        }
+        return "line:" + hex(bytes, first, lineEnd);
+    }
+
+    private static String hex(byte[] bytes, int start, int end) {
+        final char[] chars = new char[(end - start) * 2];
+        for (int i = start; i < end; i++) {
+            chars[(i - start) * 2] = HEX[(bytes[i] >> 4) & 0xF];
+            chars[(i - start) * 2 + 1] = HEX[bytes[i] & 0xF];
+        }
+        return new String(chars);
+    }
+
+    private static String detectText(byte[] bytes, int offset, int length, String fileName) {
+        final boolean json = hasExtension(fileName, "json");
+        if (!json && !hasExtension(fileName, "txt") && !hasNoExtension(fileName)) {
+            return null;
+        }
+        final int end = offset + Math.min(length, TEXT_CHECK_SIZE);
+        if (!isText(bytes, offset, end)) {
+            return null;
+        }
+        final int first = skipWhitespace(bytes, offset, end);
+        if (first == end) {
+            return null;
+        }
+        if (json) {
+            return isJsonStart(bytes, first, end) ? "application/json" : null;
+        }
+        return isPlainTextStart(bytes, first, end) ? "text/plain" : null;
+    }
+
+    private static boolean isZipContainer(byte[] bytes, int offset, int length) {
+        for (byte[] entry : ZIP_CONTAINER_ENTRIES) {
+            if (startsWith(bytes, offset + ZIP_ENTRY_NAME_OFFSET, offset + length, entry)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 不含控制字符且为合法UTF-8
+     */
+    private static boolean isText(byte[] bytes, int start, int end) {
+        int i = start;
+        while (i < end) {
+            final int b = bytes[i] & 0xFF;
+            if (b < 0x80) {
+                if (b < 0x20 && b != '\t' && b != '\n' && b != '\r' && b != '\f') {
+                    return false;
+                }
+                i++;
+                continue;
+            }
+            final int continuation = b >= 0xF0 && b <= 0xF4 ? 3 : b >= 0xE0 ? 2 : b >= 0xC2 && b < 0xE0 ? 1 : -1;
+            if (continuation < 0) {
+                return false;
+            }
+            // 截断在文件头末尾的多字节字符视为合法
+            for (int j = 1; j <= continuation && i + j < end; j++) {
+                if ((bytes[i + j] & 0xC0) != 0x80) {
+                    return false;
+                }
+            }
+            i += continuation + 1;
+        }
+        return true;
+    }
+
+    /**
+     * JSON对象或数组开头，排除rtf、ini等以括号开头的文本格式
+     */
+    private static boolean isJsonStart(byte[] bytes, int first, int end) {
+        final byte b = bytes[first];
+        if (b != '{' && b != '[') {
+            return false;
+        }
+        final int next = skipWhitespace(bytes, first + 1, end);
+        if (next == end) {
+            return true;
+        }
+        final byte n = bytes[next];
+        if (b == '{') {
+            return n == '"' || n == '}';
+        }
+        return n == '{' || n == '[' || n == '"' || n == ']' || n == '-' || (n >= '0' && n <= '9')
+                || n == 't' || n == 'f' || n == 'n';
+    }
+
+    /**
+     * 排除html、xml、脚本、邮件等Tika会按内容识别为其他类型的文本
+     */
+    private static boolean isPlainTextStart(byte[] bytes, int first, int end) {
+        final byte b = bytes[first];
+        if (!Character.isLetterOrDigit(b) && (b & 0x80) == 0) {
+            return false;
+        }
+        // "From "及"Header:"形式的首行
+        if (startsWith(bytes, first, end, ascii("From "))) {
+            return false;
+        }
+        for (int i = first; i < end; i++) {
+            final byte c = bytes[i];
+            if (c == ':') {
+                return false;
+            }
+            if (!Character.isLetterOrDigit(c) && c != '-') {
+                return true;
+            }
+        }
+        return true;
+    }
+
+    private static int skipWhitespace(byte[] bytes, int start, int end) {
+        int i = start;
+        while (i < end && (bytes[i] == ' ' || bytes[i] == '\t' || bytes[i] == '\r' || bytes[i] == '\n' || bytes[i] == '\f')) {
+            i++;
+        }
+        return i;
+    }
+
+    private static boolean startsWith(byte[] bytes, int start, int end, byte[] prefix) {
+        if (end - start < prefix.length) {
+            return false;
+        }
+        for (int i = 0; i < prefix.length; i++) {
+            if (bytes[start + i] != prefix[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int extensionIndex(String fileName) {
+        if (fileName == null) {
+            return -1;
+        }
+        final int dot = fileName.lastIndexOf('.');
+        final int separator = Math.max(fileName.lastIndexOf('/'), fileName.lastIndexOf('\\'));
+        return dot > separator ? dot + 1 : -1;
+    }
+
+    private static boolean hasNoExtension(String fileName) {
+        return extensionIndex(fileName) < 0;
+    }
+
+    private static boolean hasExtension(String fileName, String extension) {
+        final int index = extensionIndex(fileName);
+        return index >= 0
+                && fileName.length() - index == extension.length()
+                && fileName.regionMatches(true, index, extension, 0, extension.length());
+    }
+
+    private static byte[] bytes(int... values) {
+        final byte[] bytes = new byte[values.length];
+        for (int i = 0; i < values.length; i++) {
+            bytes[i] = (byte) values[i];
+        }
+        return bytes;
+    }
+
+    private static byte[] ascii(String value) {
+        return value.getBytes(StandardCharsets.US_ASCII);
+    }
+
+    private static final class Magic {
+
+        private final String mimeType;
+
+        private final int offset;
+
+        private final byte[] pattern;
+
+        /**
+         * 允许的扩展名，为空时不限制扩展名
+         */
+        private final String[] extensions;
+
+        private Magic(String mimeType, int offset, byte[] pattern, String... extensions) {
+            this.mimeType = mimeType;
+            this.offset = offset;
+            this.pattern = pattern;
+            this.extensions = extensions;
+        }
+
+        private boolean matches(byte[] bytes, int start, int length) {
+            return startsWith(bytes, start + this.offset, start + length, this.pattern);
+        }
+
+        private boolean acceptsExtension(String fileName) {
+            if (this.extensions.length == 0 || hasNoExtension(fileName)) {
+                return true;
+            }
+            for (String extension : this.extensions) {
+                if (hasExtension(fileName, extension)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
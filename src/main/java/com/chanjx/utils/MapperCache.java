@@ -0,0 +1,101 @@
+package com.chanjx.utils;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.*;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+
+/**
+ * 单个Mapper的ObjectReader/ObjectWriter缓存，按目标类型预先解析（反）序列化器
+ * <p>
+ * 供{@link JsonUtils}及{@link XmlUtils}共用，缓存的读写器均不关闭调用方传入的流。
+ * 按Class缓存的读写器通过{@link ClassValue}挂在目标类上，类被卸载时随之回收，不会导致类加载器泄漏；
+ * 按{@link JavaType}等组合类型缓存的条目数不超过{@link #MAX_ENTRIES}，超出后不再缓存。
+ * </p>
+ *
+ * @author chanjx
+ * @since 2026/10/17
+ **/
+final class MapperCache {
+
+    /**
+     * 以组合类型为键的缓存的最大条目数
+     */
+    static final int MAX_ENTRIES = 1024;
+
+    private final ObjectMapper mapper;
+
+    private final ObjectWriter writer;
+
+    private final ObjectWriter prettyWriter;
+
+    /**
+     * 逐个写入元素时不在每个元素后flush
+     */
+    private final ObjectWriter sequenceWriter;
+
+    private final ClassValue<ObjectWriter> writers = new ClassValue<ObjectWriter>() {
+        @Override
+        protected ObjectWriter computeValue(Class<?> clazz) {
+            return MapperCache.this.mapper.writerFor(clazz).without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        }
+    };
+
+    private final ClassValue<ObjectReader> readers = new ClassValue<ObjectReader>() {
+        @Override
+        protected ObjectReader computeValue(Class<?> clazz) {
+            return MapperCache.this.mapper.readerFor(clazz).without(JsonParser.Feature.AUTO_CLOSE_SOURCE);
+        }
+    };
+
+    private final ConcurrentMap<JavaType, ObjectReader> typeReaders = new ConcurrentHashMap<>();
+
+    MapperCache(ObjectMapper mapper) {
+        this.mapper = mapper;
+        this.writer = mapper.writer().without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        this.prettyWriter = mapper.writerWithDefaultPrettyPrinter();
+        this.sequenceWriter = this.writer.without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+
+    ObjectMapper mapper() {
+        return this.mapper;
+    }
+
+    ObjectWriter prettyWriter() {
+        return this.prettyWriter;
+    }
+
+    ObjectWriter sequenceWriter() {
+        return this.sequenceWriter;
+    }
+
+    /**
+     * 按obj的运行时类型获取写入器
+     */
+    ObjectWriter writer(Object obj) {
+        return obj == null ? this.writer : this.writers.get(obj.getClass());
+    }
+
+    ObjectReader reader(Class<?> clazz) {
+        return this.readers.get(clazz);
+    }
+
+    ObjectReader reader(JavaType javaType) {
+        return cached(this.typeReaders, javaType, key -> this.mapper.readerFor(key).without(JsonParser.Feature.AUTO_CLOSE_SOURCE));
+    }
+
+    /**
+     * 先无锁读取，未命中时再构建，避免computeIfAbsent在命中时加锁；
+     * 条目数达到{@link #MAX_ENTRIES}后只构建不缓存，避免动态生成的类型撑大缓存
+     */
+    static <K, V> V cached(ConcurrentMap<K, V> cache, K key, Function<? super K, ? extends V> factory) {
+        final V value = cache.get(key);
+        if (value != null) {
+            return value;
+        }
+        return cache.size() < MAX_ENTRIES ? cache.computeIfAbsent(key, factory) : factory.apply(key);
+    }
+}
@@ -2,16 +2,29 @@ package com.chanjx.utils;
 
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.DeserializationFeature;
-import com.fasterxml.jackson.databind.JavaType;
-import com.fasterxml.jackson.databind.type.TypeFactory;
+import com.chanjx.utils.JsonUtils.MapperKey;
+import com.fasterxml.jackson.databind.*;
+import com.fasterxml.jackson.databind.util.ByteBufferBackedInputStream;
 import com.fasterxml.jackson.dataformat.xml.XmlMapper;
 
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.lang.reflect.Type;
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import static com.chanjx.utils.JsonUtils.MapperKey.*;
 
 /**
  * @author chanjx
@@ -26,39 +39,154 @@ public class XmlUtils {
         MAPPER.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
     }
 
+    /**
+     * 与{@link JsonUtils}相同配置含义的XmlMapper
+     */
+    private static final Map<MapperKey, XmlMapper> XML_MAPPERS;
+
+    /**
+     * 各Mapper预先构建的ObjectReader/ObjectWriter缓存
+     */
+    private static final Map<MapperKey, MapperCache> CACHES;
+
+    static {
+        final Map<MapperKey, XmlMapper> mappers = new EnumMap<>(MapperKey.class);
+        mappers.put(DEFAULT_MAPPER, MAPPER);
+        // 为空字段不参与序列化Mapper
+        final XmlMapper nonNullMapper = (XmlMapper) MAPPER.copy()
+                .setSerializationInclusion(JsonInclude.Include.NON_NULL);
+        mappers.put(NON_NULL_MAPPER, nonNullMapper);
+        // xml的根节点本身即以类名命名，WRAP_ROOT_VALUE不会再包裹一层，而UNWRAP_ROOT_VALUE会把根节点下的第一个字段当作根节点，
+        // 导致无法读取自身的输出，因此ROOT_VALUE系列与不含ROOT_VALUE的Mapper相同，仅为与JsonUtils的MapperKey对应
+        mappers.put(ROOT_VALUE_MAPPER, MAPPER);
+        mappers.put(ROOT_VALUE_NON_NULL_MAPPER, nonNullMapper);
+        XML_MAPPERS = Collections.unmodifiableMap(mappers);
+
+        final Map<MapperKey, MapperCache> caches = new EnumMap<>(MapperKey.class);
+        XML_MAPPERS.forEach((key, mapper) -> caches.put(key, new MapperCache(mapper)));
+        CACHES = Collections.unmodifiableMap(caches);
+    }
+
+    private static final ConcurrentMap<List<Class<?>>, JavaType> PARAMETRIC_TYPES = new ConcurrentHashMap<>();
+
+    private static final ConcurrentMap<List<Class<?>>, JavaType> MAP_TYPES = new ConcurrentHashMap<>();
+
+    private static final ClassValue<JavaType> LIST_TYPES = new ClassValue<JavaType>() {
+        @Override
+        protected JavaType computeValue(Class<?> clazz) {
+            return MAPPER.getTypeFactory().constructCollectionType(List.class, clazz);
+        }
+    };
+
     private XmlUtils() {
     }
 
     public static String obj2Xml(Object obj) throws JsonProcessingException {
-        return MAPPER.writeValueAsString(obj);
+        return writer(DEFAULT_MAPPER, obj).writeValueAsString(obj);
     }
 
     public static byte[] obj2XmlBytes(Object obj) throws JsonProcessingException {
-        return MAPPER.writeValueAsBytes(obj);
+        return writer(DEFAULT_MAPPER, obj).writeValueAsBytes(obj);
+    }
+
+    /**
+     * 实体类以UTF-8编码写入输出流，不关闭输出流
+     *
+     * @param obj          obj
+     * @param outputStream 输出流
+     * @throws IOException e
+     */
+    public static void obj2Xml(Object obj, OutputStream outputStream) throws IOException {
+        writer(DEFAULT_MAPPER, obj).writeValue(outputStream, obj);
+    }
+
+    /**
+     * 实体类以UTF-8编码写入输出流，并忽略实体类为空的字段，不关闭输出流
+     *
+     * @param obj          obj
+     * @param outputStream 输出流
+     * @throws IOException e
+     */
+    public static void obj2XmlNonNull(Object obj, OutputStream outputStream) throws IOException {
+        writer(NON_NULL_MAPPER, obj).writeValue(outputStream, obj);
     }
 
     public static String obj2XmlBytesNonNull(Object obj) throws JsonProcessingException {
-        final XmlMapper copy = MAPPER.copy();
-        copy.setSerializationInclusion(JsonInclude.Include.NON_NULL);
-        return copy.writeValueAsString(obj);
+        return writer(NON_NULL_MAPPER, obj).writeValueAsString(obj);
     }
 
     public static byte[] obj2XmlBytesNonNullBytes(Object obj) throws JsonProcessingException {
-        final XmlMapper copy = MAPPER.copy();
-        copy.setSerializationInclusion(JsonInclude.Include.NON_NULL);
-        return copy.writeValueAsBytes(obj);
+        return writer(NON_NULL_MAPPER, obj).writeValueAsBytes(obj);
     }
 
-    public static <T> T xml2Obj(String xmlStr,Class<T> clazz ) throws JsonProcessingException {
-        return MAPPER.readValue(xmlStr, clazz);
+    public static <T> T xml2Obj(String xmlStr, Class<T> clazz) throws JsonProcessingException {
+        return reader(DEFAULT_MAPPER, clazz).readValue(xmlStr);
     }
 
     public static <T> T xml2Obj(String xmlStr, JavaType javaType) throws JsonProcessingException {
-        return MAPPER.readValue(xmlStr, javaType);
+        return reader(DEFAULT_MAPPER, javaType).readValue(xmlStr);
+    }
+
+    /**
+     * xml字节数组转实体类，按xml声明中的encoding解码，无声明时按UTF-8解码
+     *
+     * @param xmlBytes xmlBytes
+     * @param clazz    Class
+     * @param <T>      T
+     * @return T
+     * @throws IOException e
+     */
+    public static <T> T xml2Obj(byte[] xmlBytes, Class<T> clazz) throws IOException {
+        return reader(DEFAULT_MAPPER, clazz).readValue(xmlBytes);
+    }
+
+    public static <T> T xml2Obj(byte[] xmlBytes, JavaType javaType) throws IOException {
+        return reader(DEFAULT_MAPPER, javaType).readValue(xmlBytes);
+    }
+
+    /**
+     * 从输入流读取xml并转为实体类，按xml声明中的encoding解码，不关闭输入流
+     *
+     * @param inputStream 输入流
+     * @param clazz       Class
+     * @param <T>         T
+     * @return T
+     * @throws IOException e
+     */
+    public static <T> T xml2Obj(InputStream inputStream, Class<T> clazz) throws IOException {
+        return reader(DEFAULT_MAPPER, clazz).readValue(inputStream);
+    }
+
+    public static <T> T xml2Obj(InputStream inputStream, JavaType javaType) throws IOException {
+        return reader(DEFAULT_MAPPER, javaType).readValue(inputStream);
+    }
+
+    /**
+     * 读取buffer剩余内容并转为实体类，按xml声明中的encoding解码，不改变buffer的position
+     *
+     * @param buffer buffer
+     * @param clazz  Class
+     * @param <T>    T
+     * @return T
+     * @throws IOException e
+     */
+    public static <T> T xml2Obj(ByteBuffer buffer, Class<T> clazz) throws IOException {
+        return xml2Obj(buffer, reader(DEFAULT_MAPPER, clazz));
+    }
+
+    public static <T> T xml2Obj(ByteBuffer buffer, JavaType javaType) throws IOException {
+        return xml2Obj(buffer, reader(DEFAULT_MAPPER, javaType));
+    }
+
+    private static <T> T xml2Obj(ByteBuffer buffer, ObjectReader reader) throws IOException {
+        if (buffer.hasArray()) {
+            return reader.readValue(buffer.array(), buffer.arrayOffset() + buffer.position(), buffer.remaining());
+        }
+        return reader.readValue(new ByteBufferBackedInputStream(buffer.duplicate()));
     }
 
     public static <T> T xml2Obj(String xmlStr, Class<?> parametrized, Class<?>... parameterClasses) throws IOException {
-        return MAPPER.readValue(xmlStr, getJavaType(parametrized, parameterClasses));
+        return reader(DEFAULT_MAPPER, getJavaType(parametrized, parameterClasses)).readValue(xmlStr);
     }
 
     /**
@@ -73,7 +201,7 @@ public class XmlUtils {
      * @throws IOException e
      */
     public static <K, V> HashMap<K, V> json2HashMap(String xmlStr, Class<K> k, Class<V> v) throws IOException {
-        return MAPPER.readValue(xmlStr, TypeFactory.defaultInstance().constructMapType(HashMap.class, k, v));
+        return reader(DEFAULT_MAPPER, mapType(k, v)).readValue(xmlStr);
     }
 
     /**
@@ -86,7 +214,7 @@ public class XmlUtils {
      * @throws IOException e
      */
     public static <T> List<T> xml2List(String xmlStr, Class<T> t) throws IOException {
-        return MAPPER.readValue(xmlStr, TypeFactory.defaultInstance().constructCollectionType(List.class, t));
+        return reader(DEFAULT_MAPPER, listType(t)).readValue(xmlStr);
     }
 
     /**
@@ -102,24 +230,73 @@ public class XmlUtils {
     }
 
     public static Map<String, Object> obj2MapSO(Object obj) {
-        return MAPPER.convertValue(
-                obj,
-                TypeFactory.defaultInstance().constructMapType(HashMap.class, String.class, Object.class));
+        return MAPPER.convertValue(obj, mapType(String.class, Object.class));
     }
 
     public static Map<String, String> obj2MapSS(Object obj) {
-        return MAPPER.convertValue(
-                obj,
-                TypeFactory.defaultInstance().constructMapType(HashMap.class, String.class, String.class));
+        return MAPPER.convertValue(obj, mapType(String.class, String.class));
+    }
+
+    /**
+     * 以流的方式逐个读取xml中指定名称的元素并转为实体类，内存占用只与单个元素大小有关
+     * <p>
+     * 如对账文件&lt;records&gt;&lt;record&gt;...&lt;/record&gt;...&lt;/records&gt;，
+     * 使用xml2Stream(inputStream, "record", Record.class)逐条读取。
+     * </p>
+     *
+     * @param inputStream 输入流，Stream关闭时不关闭输入流
+     * @param elementName 元素名称（不含命名空间前缀）
+     * @param clazz       元素类型
+     * @param <T>         T
+     * @return Stream，使用完毕后需关闭
+     * @throws IOException e
+     */
+    public static <T> Stream<T> xml2Stream(InputStream inputStream, String elementName, Class<T> clazz) throws IOException {
+        final XMLStreamReader streamReader;
+        try {
+            streamReader = MAPPER.getFactory().getXMLInputFactory().createXMLStreamReader(inputStream);
+        } catch (XMLStreamException e) {
+            throw new IOException(e);
+        }
+        final ElementIterator<T> iterator = new ElementIterator<>(streamReader, elementName, reader(DEFAULT_MAPPER, clazz));
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED | Spliterator.NONNULL), false)
+                .onClose(iterator::close);
+    }
+
+    /**
+     * 以流的方式逐个读取xml文件中指定名称的元素并转为实体类
+     *
+     * @param path        文件
+     * @param elementName 元素名称（不含命名空间前缀）
+     * @param clazz       元素类型
+     * @param <T>         T
+     * @return Stream，关闭时同时关闭文件
+     * @throws IOException e
+     * @see #xml2Stream(InputStream, String, Class)
+     */
+    public static <T> Stream<T> xml2Stream(Path path, String elementName, Class<T> clazz) throws IOException {
+        final InputStream inputStream = Files.newInputStream(path);
+        try {
+            return xml2Stream(inputStream, elementName, clazz).onClose(() -> {
+                try {
+                    inputStream.close();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (IOException | RuntimeException e) {
+            inputStream.close();
+            throw e;
+        }
     }
 
     public static String beautiful(String jsonStr) throws IOException {
         final Object obj = xml2Obj(jsonStr, Object.class);
-        return MAPPER.writerWithDefaultPrettyPrinter().writeValueAsString(obj);
+        return CACHES.get(DEFAULT_MAPPER).prettyWriter().writeValueAsString(obj);
     }
 
     public static String beautiful(Object obj) throws JsonProcessingException {
-        return MAPPER.writerWithDefaultPrettyPrinter().writeValueAsString(obj);
+        return CACHES.get(DEFAULT_MAPPER).prettyWriter().writeValueAsString(obj);
     }
 
     /**
@@ -155,6 +332,107 @@ public class XmlUtils {
      * @return {@link JavaType}
      */
     public static JavaType getJavaType(Class<?> parametrized, Class<?>... parameterClasses) {
-        return MAPPER.getTypeFactory().constructParametricType(parametrized, parameterClasses);
+        final List<Class<?>> key = new ArrayList<>(parameterClasses.length + 1);
+        key.add(parametrized);
+        Collections.addAll(key, parameterClasses);
+        return MapperCache.cached(PARAMETRIC_TYPES, key,
+                k -> MAPPER.getTypeFactory().constructParametricType(parametrized, parameterClasses));
+    }
+
+    /**
+     * 拷贝默认Mapper
+     *
+     * @return {@link MapperKey#DEFAULT_MAPPER}
+     */
+    public static XmlMapper copy() {
+        return MAPPER.copy();
+    }
+
+    public static XmlMapper copy(MapperKey mapperKey) {
+        return XML_MAPPERS.get(mapperKey).copy();
+    }
+
+    private static ObjectWriter writer(MapperKey mapperKey, Object obj) {
+        return CACHES.get(mapperKey).writer(obj);
+    }
+
+    private static ObjectReader reader(MapperKey mapperKey, Class<?> clazz) {
+        return CACHES.get(mapperKey).reader(clazz);
+    }
+
+    private static ObjectReader reader(MapperKey mapperKey, JavaType javaType) {
+        return CACHES.get(mapperKey).reader(javaType);
+    }
+
+    private static JavaType mapType(Class<?> k, Class<?> v) {
+        return MapperCache.cached(MAP_TYPES, Arrays.asList(k, v), key -> MAPPER.getTypeFactory().constructMapType(HashMap.class, k, v));
+    }
+
+    private static JavaType listType(Class<?> t) {
+        return LIST_TYPES.get(t);
+    }
+
+    /**
+     * 使用XMLStreamReader定位到指定元素，再由FromXmlParser将该元素绑定为实体类
+     */
+    private static final class ElementIterator<T> implements Iterator<T> {
+
+        private final XMLStreamReader streamReader;
+
+        private final String elementName;
+
+        private final ObjectReader objectReader;
+
+        /**
+         * 是否已定位到下一个元素
+         */
+        private boolean positioned;
+
+        private ElementIterator(XMLStreamReader streamReader, String elementName, ObjectReader objectReader) {
+            this.streamReader = streamReader;
+            this.elementName = elementName;
+            this.objectReader = objectReader;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (this.positioned) {
+                return true;
+            }
+            try {
+                while (this.streamReader.hasNext()) {
+                    if (this.streamReader.next() == XMLStreamConstants.START_ELEMENT
+                            && this.elementName.equals(this.streamReader.getLocalName())) {
+                        this.positioned = true;
+                        return true;
+                    }
+                }
+                return false;
+            } catch (XMLStreamException e) {
+                throw new UncheckedIOException(new IOException(e));
+            }
+        }
+
+        @Override
+        public T next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            this.positioned = false;
+            try {
+                // 读取完成后streamReader停在该元素的结束标签
+                return this.objectReader.readValue(MAPPER.getFactory().createParser(this.streamReader));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        private void close() {
+            try {
+                this.streamReader.close();
+            } catch (XMLStreamException e) {
+                throw new UncheckedIOException(new IOException(e));
+            }
+        }
     }
 }
@@ -0,0 +1,49 @@
+package com.chanjx.utils.entity.file;
+
+import lombok.Getter;
+import lombok.ToString;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * 批量识别文件类型的单个结果
+ *
+ * @author chanjx
+ * @since 2026/10/17
+ **/
+@Getter
+@ToString
+public class MimeTypeResult {
+
+    /**
+     * 文件
+     */
+    private final Path path;
+
+    /**
+     * 文件类型，识别失败时为null
+     */
+    private final String mimeType;
+
+    /**
+     * 读取文件失败时的异常
+     */
+    private final IOException exception;
+
+    public MimeTypeResult(Path path, String mimeType) {
+        this.path = path;
+        this.mimeType = mimeType;
+        this.exception = null;
+    }
+
+    public MimeTypeResult(Path path, IOException exception) {
+        this.path = path;
+        this.mimeType = null;
+        this.exception = exception;
+    }
+
+    public boolean isSuccess() {
+        return this.exception == null;
+    }
+}
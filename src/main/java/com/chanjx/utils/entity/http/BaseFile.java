@@ -1,56 +1,252 @@
 package com.chanjx.utils.entity.http;
 
 import com.chanjx.utils.FileUtils;
+import lombok.AccessLevel;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
 import lombok.experimental.Accessors;
 import org.apache.commons.io.IOUtils;
+import org.apache.hc.client5.http.entity.mime.ByteArrayBody;
+import org.apache.hc.client5.http.entity.mime.ContentBody;
+import org.apache.hc.client5.http.entity.mime.FileBody;
+import org.apache.hc.client5.http.entity.mime.InputStreamBody;
+import org.apache.hc.core5.http.ContentType;
 
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
 import java.io.File;
+import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.Serializable;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 
 /**
+ * 上传文件
+ * <p>
+ * 文件内容可以来自磁盘文件、输入流或字节数组。磁盘文件及输入流不会预先读入内存，
+ * 上传时直接以流的方式写出；仅在调用{@link #getFileBytes()}时才读取全部内容。
+ * </p>
+ * <p>
+ * 输入流来源的文件只能使用一次：{@link #toContentBody()}或{@link #openStream()}取走输入流后，
+ * 再次调用这些方法或{@link #getFileBytes()}时抛出{@link IllegalStateException}；
+ * 需要重复上传时先调用{@link #getFileBytes()}将内容读入内存，之后可重复使用。
+ * </p>
+ *
  * @author chanjx
  * @since 2020/10/21
  **/
 @Data
 @Accessors(chain = true)
+@ToString(doNotUseGetters = true, exclude = {"fileBytes", "consumed"})
+@EqualsAndHashCode(doNotUseGetters = true, exclude = {"mimeType", "consumed"})
 public class BaseFile implements Serializable {
 
-    private final byte[] fileBytes;
+    /**
+     * 文件内容，磁盘文件及输入流来源的文件在首次调用{@link #getFileBytes()}时读取
+     */
+    @Setter(AccessLevel.NONE)
+    private byte[] fileBytes;
+
+    /**
+     * 磁盘文件
+     */
+    private final File file;
+
+    /**
+     * 输入流，只能读取一次，只能通过{@link #openStream()}等方法取走
+     */
+    @Getter(AccessLevel.NONE)
+    private final transient InputStream inputStream;
 
     private final String fileName;
 
-    private final String mimeType;
+    /**
+     * 文件类型，未指定时在首次调用{@link #getMimeType()}时根据文件头识别；
+     * 磁盘文件结合文件名识别，字节数组及输入流来源的文件只按内容识别，与文件名无关
+     */
+    @Setter(AccessLevel.NONE)
+    private volatile String mimeType;
 
+    /**
+     * 输入流是否已被取走
+     */
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private transient boolean consumed;
+
+    /**
+     * @param file 磁盘文件
+     * @throws FileNotFoundException 文件不存在或不是普通文件
+     */
     public BaseFile(File file) throws IOException {
-        this.fileBytes = FileUtils.readFileToByteArray(file);
+        this.file = checkFile(file);
+        this.inputStream = null;
         this.fileName = file.getName();
-        this.mimeType = FileUtils.getMimeType(file);
+    }
+
+    /**
+     * @param file     磁盘文件
+     * @param fileName 文件名
+     * @param mimeType 文件类型
+     * @throws FileNotFoundException 文件不存在或不是普通文件
+     */
+    public BaseFile(File file, String fileName, String mimeType) throws FileNotFoundException {
+        this.file = checkFile(file);
+        this.inputStream = null;
+        this.fileName = fileName;
+        this.mimeType = mimeType;
+    }
+
+    public BaseFile(Path path) throws IOException {
+        this(path.toFile());
+    }
+
+    public BaseFile(Path path, String fileName, String mimeType) throws FileNotFoundException {
+        this(path.toFile(), fileName, mimeType);
     }
 
     public BaseFile(InputStream fileInputStream, String fileName) throws IOException {
-        this.fileBytes = IOUtils.toByteArray(fileInputStream);
+        // 识别文件类型需要mark/reset，以便上传时仍能从头读取
+        this.inputStream =
+                fileInputStream.markSupported()
+                        ? fileInputStream
+                        : new BufferedInputStream(fileInputStream);
+        this.file = null;
         this.fileName = fileName;
-        this.mimeType = FileUtils.getMimeType(this.fileBytes);
     }
 
     public BaseFile(InputStream fileInputStream, String fileName, String mimeType) throws IOException {
-        this.fileBytes = IOUtils.toByteArray(fileInputStream);
+        this.inputStream = fileInputStream;
+        this.file = null;
         this.fileName = fileName;
         this.mimeType = mimeType;
     }
 
     public BaseFile(byte[] fileBytes, String fileName) throws IOException {
         this.fileBytes = fileBytes;
+        this.file = null;
+        this.inputStream = null;
         this.fileName = fileName;
-        this.mimeType = FileUtils.getMimeType(fileBytes);
     }
 
     public BaseFile(byte[] fileBytes, String fileName, String mimeType) {
         this.fileBytes = fileBytes;
+        this.file = null;
+        this.inputStream = null;
         this.fileName = fileName;
         this.mimeType = mimeType;
     }
+
+    /**
+     * 获取文件类型，未指定时只读取文件头识别，同类文件的识别结果会被缓存
+     *
+     * @return 文件类型
+     * @throws UncheckedIOException 读取失败
+     */
+    public String getMimeType() {
+        String mimeType = this.mimeType;
+        if (mimeType == null) {
+            synchronized (this) {
+                mimeType = this.mimeType;
+                if (mimeType == null) {
+                    this.mimeType = mimeType = detectMimeType();
+                }
+            }
+        }
+        return mimeType;
+    }
+
+    private String detectMimeType() {
+        try {
+            if (this.file != null) {
+                return FileUtils.getMimeType(this.file.toPath(), this.fileName);
+            }
+            // 与按内容识别的原有行为一致，不使用文件名
+            if (this.fileBytes != null) {
+                return FileUtils.getMimeType(this.fileBytes, null);
+            }
+            return FileUtils.getMimeType(this.inputStream, null);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * 获取文件内容，磁盘文件每次调用均重新读取，输入流读取后缓存
+     *
+     * @return 文件内容
+     * @throws UncheckedIOException  读取失败
+     * @throws IllegalStateException 输入流已被使用
+     */
+    public byte[] getFileBytes() {
+        if (this.fileBytes != null) {
+            return this.fileBytes;
+        }
+        try {
+            if (this.file != null) {
+                return Files.readAllBytes(this.file.toPath());
+            }
+            if (this.inputStream != null) {
+                this.fileBytes = IOUtils.toByteArray(takeStream());
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return this.fileBytes;
+    }
+
+    /**
+     * 以流的方式读取文件内容，输入流来源的文件返回该输入流本身
+     *
+     * @return 输入流
+     * @throws IOException           e
+     * @throws IllegalStateException 输入流已被使用
+     */
+    public InputStream openStream() throws IOException {
+        if (this.fileBytes != null) {
+            return new ByteArrayInputStream(this.fileBytes);
+        }
+        if (this.file != null) {
+            return Files.newInputStream(this.file.toPath());
+        }
+        return takeStream();
+    }
+
+    /**
+     * 转换为multipart请求体，磁盘文件及输入流直接以流的方式写出
+     *
+     * @return {@link ContentBody}
+     * @throws IllegalStateException 输入流已被使用
+     */
+    public ContentBody toContentBody() {
+        final ContentType contentType = ContentType.create(getMimeType());
+        if (this.fileBytes != null) {
+            return new ByteArrayBody(this.fileBytes, contentType, this.fileName);
+        }
+        if (this.file != null) {
+            return new FileBody(this.file, contentType, this.fileName);
+        }
+        return new InputStreamBody(takeStream(), contentType, this.fileName);
+    }
+
+    private synchronized InputStream takeStream() {
+        if (this.consumed) {
+            throw new IllegalStateException("input stream of " + this.fileName + " has already been consumed");
+        }
+        this.consumed = true;
+        return this.inputStream;
+    }
+
+    private static File checkFile(File file) throws FileNotFoundException {
+        if (!file.isFile()) {
+            throw new FileNotFoundException(file.getPath() + " does not exist or is not a regular file");
+        }
+        return file;
+    }
 }
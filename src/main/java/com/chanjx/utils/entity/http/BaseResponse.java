@@ -0,0 +1,76 @@
+package com.chanjx.utils.entity.http;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.experimental.Accessors;
+import org.apache.hc.core5.http.ContentType;
+import org.apache.hc.core5.http.Header;
+
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * 响应状态及响应头信息
+ *
+ * @author chanjx
+ * @since 2026/10/17
+ **/
+@Getter
+@Accessors(chain = true)
+@EqualsAndHashCode(callSuper = false)
+public abstract class BaseResponse {
+
+    /**
+     * @see <a href="https://datatracker.ietf.org/doc/html/rfc6838#section-4.2.1">若未指定字符集应使用UTF-8</a>
+     */
+    protected final static Charset DEFAULT_CHARSET = StandardCharsets.UTF_8;
+
+    /**
+     * Http status
+     */
+    private final Integer status;
+
+    /**
+     * Response headers，不可修改
+     */
+    private final List<Header> headers;
+
+    /**
+     * Body content type
+     */
+    private final ContentType contentType;
+
+    /**
+     * Body mime type
+     */
+    private final String mimeType;
+
+    /**
+     * Body charset
+     */
+    private final Charset charset;
+
+    protected BaseResponse(Integer status, Header[] headers, ContentType contentType) {
+        this.status = status;
+        this.headers = Collections.unmodifiableList(Arrays.asList(headers.clone()));
+        this.contentType = contentType;
+        this.mimeType =
+                this.contentType != null
+                        ? this.contentType.getMimeType()
+                        : null;
+        this.charset =
+                this.contentType != null && this.contentType.getCharset() != null
+                        ? this.contentType.getCharset()
+                        : DEFAULT_CHARSET;
+    }
+
+    public List<Header> getHeaders(String name) {
+        return this.headers.stream()
+                .filter(header -> header.getName().equals(name))
+                .collect(Collectors.toList());
+    }
+}
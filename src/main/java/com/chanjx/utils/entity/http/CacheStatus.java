@@ -0,0 +1,25 @@
+package com.chanjx.utils.entity.http;
+
+/**
+ * 响应缓存状态
+ *
+ * @author chanjx
+ * @since 2026/10/17
+ **/
+public enum CacheStatus {
+
+    /**
+     * 未命中缓存，响应来自服务端（包括未开启缓存及不可缓存的请求）
+     */
+    MISS,
+
+    /**
+     * 命中新鲜缓存，未发送请求
+     */
+    HIT,
+
+    /**
+     * 缓存已过期，经服务端304确认后使用缓存的响应体
+     */
+    REVALIDATED
+}
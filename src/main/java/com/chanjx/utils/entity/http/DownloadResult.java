@@ -0,0 +1,65 @@
+package com.chanjx.utils.entity.http;
+
+import lombok.Getter;
+import lombok.ToString;
+
+import java.nio.file.Path;
+
+/**
+ * 文件下载结果
+ *
+ * @author chanjx
+ * @since 2026/10/17
+ **/
+@Getter
+@ToString
+public class DownloadResult {
+
+    /**
+     * Http status
+     */
+    private final Integer status;
+
+    /**
+     * 目标文件
+     */
+    private final Path target;
+
+    /**
+     * 本次写入的字节数
+     */
+    private final long bytes;
+
+    /**
+     * 下载完成后的文件大小
+     */
+    private final long fileSize;
+
+    /**
+     * 是否为断点续传
+     */
+    private final boolean resumed;
+
+    /**
+     * 耗时（纳秒）
+     */
+    private final long elapsedNanos;
+
+    public DownloadResult(Integer status, Path target, long bytes, long fileSize, boolean resumed, long elapsedNanos) {
+        this.status = status;
+        this.target = target;
+        this.bytes = bytes;
+        this.fileSize = fileSize;
+        this.resumed = resumed;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    /**
+     * 平均下载速度
+     *
+     * @return 字节/秒
+     */
+    public double getBytesPerSecond() {
+        return this.elapsedNanos > 0 ? this.bytes * 1_000_000_000D / this.elapsedNanos : 0D;
+    }
+}
@@ -6,8 +6,10 @@ import lombok.ToString;
 import lombok.experimental.Accessors;
 
 import java.io.File;
+import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.file.Path;
 
 /**
  * @author chanjx
@@ -26,6 +28,21 @@ public class HttpFile extends BaseFile {
         this.key = key;
     }
 
+    public HttpFile(File file, String fileName, String mimeType, String key) throws FileNotFoundException {
+        super(file, fileName, mimeType);
+        this.key = key;
+    }
+
+    public HttpFile(Path path, String key) throws IOException {
+        super(path);
+        this.key = key;
+    }
+
+    public HttpFile(Path path, String fileName, String mimeType, String key) throws FileNotFoundException {
+        super(path, fileName, mimeType);
+        this.key = key;
+    }
+
     public HttpFile(InputStream fileInputStream, String fileName, String key) throws IOException {
         super(fileInputStream, fileName);
         this.key = key;
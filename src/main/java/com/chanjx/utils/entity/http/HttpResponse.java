@@ -1,97 +1,170 @@
 package com.chanjx.utils.entity.http;
 
-import com.chanjx.utils.StringUtils;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.experimental.Accessors;
 import org.apache.hc.core5.http.ContentType;
 import org.apache.hc.core5.http.Header;
+import org.apache.hc.core5.http.message.BasicHeader;
 
+import java.io.InvalidObjectException;
+import java.io.ObjectInputStream;
 import java.io.Serializable;
-import java.nio.charset.Charset;
-import java.nio.charset.StandardCharsets;
-import java.util.Arrays;
+import java.nio.ByteBuffer;
 import java.util.List;
-import java.util.stream.Collectors;
 
 /**
+ * 响应
+ * <p>
+ * {@link #getBody()}默认直接返回响应体不复制；被多个调用方共享的响应（请求合并的结果、缓存命中的响应）
+ * 在{@link #getBody()}时返回副本，修改副本不影响其他调用方。只读访问可使用{@link #getBodyBuffer()}，任何情况下均不复制。
+ * </p>
+ * <p>
+ * 序列化时以响应头名称及值、Content-Type字符串的形式写出，反序列化后重新构建。
+ * </p>
+ *
  * @author chanjx
  * @since 2020/11/9
  **/
 @Getter
 @Accessors(chain = true)
-@EqualsAndHashCode(callSuper = false)
-public class HttpResponse implements Serializable {
+@EqualsAndHashCode(callSuper = true, doNotUseGetters = true, exclude = {"strBody", "cacheStatus", "shared"})
+public class HttpResponse extends BaseResponse implements Serializable {
+
+    private static final long serialVersionUID = 1L;
 
     /**
-     * @see <a href="https://datatracker.ietf.org/doc/html/rfc6838#section-4.2.1">若未指定字符集应使用UTF-8</a>
+     * Response body
      */
-    private final static Charset DEFAULT_CHARSET = StandardCharsets.UTF_8;
+    private final byte[] body;
 
     /**
-     * Http status
+     * Body to string，首次调用{@link #getStrBody()}时计算，并发计算的结果相同
      */
-    private final Integer status;
+    private transient volatile String strBody;
 
     /**
-     * Response headers
+     * 缓存状态
      */
-    private final List<Header> headers;
+    private final CacheStatus cacheStatus;
 
     /**
-     * Response body
+     * 是否被多个调用方共享，共享时{@link #getBody()}返回副本
      */
-    private final byte[] body;
+    private final boolean shared;
+
+    public HttpResponse(Integer status, Header[] headers, byte[] body, ContentType contentType) {
+        this(status, headers, body, contentType, CacheStatus.MISS);
+    }
 
     /**
-     * Body content type
+     * @param cacheStatus 缓存状态，为{@link CacheStatus#HIT}或{@link CacheStatus#REVALIDATED}时响应体来自缓存，视为共享
      */
-    private final ContentType contentType;
+    public HttpResponse(Integer status, Header[] headers, byte[] body, ContentType contentType, CacheStatus cacheStatus) {
+        this(status, headers, body, contentType, cacheStatus, cacheStatus == CacheStatus.HIT || cacheStatus == CacheStatus.REVALIDATED);
+    }
+
+    private HttpResponse(Integer status, Header[] headers, byte[] body, ContentType contentType, CacheStatus cacheStatus, boolean shared) {
+        super(status, headers, contentType);
+        this.body = body;
+        this.cacheStatus = cacheStatus;
+        this.shared = shared;
+    }
 
     /**
-     * Body mime type
+     * 获取将交给多个调用方共享的响应，与本对象使用同一个响应体，不复制
+     *
+     * @return 共享的响应，本对象已共享时返回本对象
      */
-    private final String mimeType;
+    public HttpResponse asShared() {
+        return this.shared
+                ? this
+                : new HttpResponse(getStatus(), getHeaders().toArray(new Header[0]), this.body, getContentType(), this.cacheStatus, true);
+    }
 
     /**
-     * Body charset
+     * 响应是否来自缓存（包括经304确认的缓存）
+     *
+     * @return 是否命中缓存
      */
-    private final Charset charset;
+    public boolean isCacheHit() {
+        return this.cacheStatus == CacheStatus.HIT || this.cacheStatus == CacheStatus.REVALIDATED;
+    }
 
     /**
-     * Body to string
+     * 获取响应体，共享的响应返回副本
+     *
+     * @return 响应体
      */
-    private String strBody;
-
-    public HttpResponse(Integer status, Header[] headers, byte[] body, ContentType contentType) {
-        this.status = status;
-        this.headers = Arrays.asList(headers);
-        this.body = body;
-        this.contentType = contentType;
-        this.mimeType =
-                this.contentType != null
-                        ? this.contentType.getMimeType()
-                        : null;
-        this.charset =
-                this.contentType != null && this.contentType.getCharset() != null
-                        ? this.contentType.getCharset()
-                        : DEFAULT_CHARSET;
+    public byte[] getBody() {
+        return this.shared && this.body != null ? this.body.clone() : this.body;
     }
 
-    public List<Header> getHeaders(String name) {
-        return this.headers.stream()
-                .filter(header -> header.getName().equals(name))
-                .collect(Collectors.toList());
+    /**
+     * 以只读buffer的方式获取响应体，不复制，共享的响应也可安全使用
+     *
+     * @return 只读buffer，响应体为null时返回空buffer
+     */
+    public ByteBuffer getBodyBuffer() {
+        return this.body == null ? ByteBuffer.allocate(0).asReadOnlyBuffer() : ByteBuffer.wrap(this.body).asReadOnlyBuffer();
     }
 
     public String getStrBody() {
-        if (StringUtils.isBlank(this.strBody)) {
-            if (this.getCharset() != null) {
-                this.strBody = new String(this.body, this.getCharset());
-            } else {
-                this.strBody = new String(this.body, DEFAULT_CHARSET);
+        String strBody = this.strBody;
+        if (strBody == null) {
+            final byte[] body = this.body == null ? new byte[0] : this.body;
+            this.strBody = strBody = new String(body, this.getCharset() != null ? this.getCharset() : DEFAULT_CHARSET);
+        }
+        return strBody;
+    }
+
+    private Object writeReplace() {
+        return new SerializedForm(this);
+    }
+
+    private void readObject(ObjectInputStream in) throws InvalidObjectException {
+        throw new InvalidObjectException("SerializedForm required");
+    }
+
+    /**
+     * 序列化形式，Charset、ContentType及Header实现均不保证可序列化
+     */
+    private static final class SerializedForm implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        private final Integer status;
+
+        private final String[] headerNames;
+
+        private final String[] headerValues;
+
+        private final byte[] body;
+
+        private final String contentType;
+
+        private final CacheStatus cacheStatus;
+
+        private SerializedForm(HttpResponse response) {
+            this.status = response.getStatus();
+            final List<Header> headers = response.getHeaders();
+            this.headerNames = new String[headers.size()];
+            this.headerValues = new String[headers.size()];
+            for (int i = 0; i < headers.size(); i++) {
+                this.headerNames[i] = headers.get(i).getName();
+                this.headerValues[i] = headers.get(i).getValue();
+            }
+            this.body = response.body;
+            this.contentType = response.getContentType() == null ? null : response.getContentType().toString();
+            this.cacheStatus = response.cacheStatus;
+        }
+
+        private Object readResolve() {
+            final Header[] headers = new Header[this.headerNames.length];
+            for (int i = 0; i < headers.length; i++) {
+                headers[i] = new BasicHeader(this.headerNames[i], this.headerValues[i]);
             }
+            return new HttpResponse(this.status, headers, this.body, this.contentType == null ? null : ContentType.parse(this.contentType), this.cacheStatus);
         }
-        return this.strBody;
     }
 }
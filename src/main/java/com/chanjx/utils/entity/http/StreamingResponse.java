@@ -0,0 +1,77 @@
+package com.chanjx.utils.entity.http;
+
+import lombok.Getter;
+import lombok.experimental.Accessors;
+import org.apache.commons.io.IOUtils;
+import org.apache.hc.core5.http.ContentType;
+import org.apache.hc.core5.http.Header;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * 流式响应，响应体不在内存中缓存，仅在响应处理器执行期间有效
+ *
+ * @author chanjx
+ * @since 2026/10/17
+ **/
+@Getter
+@Accessors(chain = true)
+public class StreamingResponse extends BaseResponse {
+
+    /**
+     * Response body，由调用方读取，处理器返回后自动关闭
+     */
+    private final InputStream body;
+
+    public StreamingResponse(Integer status, Header[] headers, InputStream body, ContentType contentType) {
+        super(status, headers, contentType);
+        this.body = body;
+    }
+
+    /**
+     * 以Channel方式读取响应体
+     *
+     * @return {@link ReadableByteChannel}
+     */
+    public ReadableByteChannel getChannel() {
+        return Channels.newChannel(this.body);
+    }
+
+    /**
+     * 将响应体写入输出流
+     *
+     * @param outputStream 输出流，不会被关闭
+     * @return 写入字节数
+     * @throws IOException e
+     */
+    public long transferTo(OutputStream outputStream) throws IOException {
+        return IOUtils.copyLarge(this.body, outputStream);
+    }
+
+    /**
+     * 将响应体写入文件，文件已存在时覆盖
+     *
+     * @param target 目标文件
+     * @return 写入字节数
+     * @throws IOException e
+     */
+    public long transferTo(Path target) throws IOException {
+        try (FileChannel fileChannel = FileChannel.open(target,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            final ReadableByteChannel channel = getChannel();
+            long position = 0;
+            long transferred;
+            while ((transferred = fileChannel.transferFrom(channel, position, Long.MAX_VALUE)) > 0) {
+                position += transferred;
+            }
+            return position;
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.chanjx.utils.http;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Semaphore;
+
+/**
+ * 按路由限制并发请求数的舱壁，达到上限时立即拒绝，不等待也不占用连接池中的连接
+ *
+ * @author chanjx
+ * @since 2026/10/17
+ **/
+final class Bulkhead {
+
+    /**
+     * 未单独指定的路由的最大并发请求数，不大于0时不限制
+     */
+    private final int defaultMaxConcurrentCalls;
+
+    private final Map<String, Integer> maxConcurrentCalls;
+
+    private final ConcurrentMap<String, Semaphore> semaphores = new ConcurrentHashMap<>();
+
+    Bulkhead(int defaultMaxConcurrentCalls, Map<String, Integer> maxConcurrentCalls) {
+        this.defaultMaxConcurrentCalls = defaultMaxConcurrentCalls;
+        this.maxConcurrentCalls = new HashMap<>(maxConcurrentCalls);
+    }
+
+    /**
+     * 申请并发名额
+     *
+     * @param route 路由
+     * @return 需在请求结束后释放的信号量，该路由不限制时返回null
+     * @throws BulkheadFullException 并发请求数已达上限
+     */
+    Semaphore acquire(String route) throws BulkheadFullException {
+        final int max = this.maxConcurrentCalls.getOrDefault(route, this.defaultMaxConcurrentCalls);
+        if (max <= 0) {
+            return null;
+        }
+        final Semaphore semaphore = this.semaphores.computeIfAbsent(route, key -> new Semaphore(max));
+        if (!semaphore.tryAcquire()) {
+            throw new BulkheadFullException(route, max);
+        }
+        return semaphore;
+    }
+}
@@ -0,0 +1,33 @@
+package com.chanjx.utils.http;
+
+import lombok.Getter;
+
+import java.io.IOException;
+
+/**
+ * 路由的并发请求数已达上限，请求未发送
+ *
+ * @author chanjx
+ * @since 2026/10/17
+ **/
+@Getter
+public class BulkheadFullException extends IOException {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 路由
+     */
+    private final String route;
+
+    /**
+     * 该路由的最大并发请求数
+     */
+    private final int maxConcurrentCalls;
+
+    public BulkheadFullException(String route, int maxConcurrentCalls) {
+        super("Bulkhead is full for " + route + ", max concurrent calls: " + maxConcurrentCalls);
+        this.route = route;
+        this.maxConcurrentCalls = maxConcurrentCalls;
+    }
+}
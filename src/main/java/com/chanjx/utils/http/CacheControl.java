@@ -0,0 +1,88 @@
+package com.chanjx.utils.http;
+
+import org.apache.hc.core5.http.Header;
+import org.apache.hc.core5.http.HttpHeaders;
+import org.apache.hc.core5.http.MessageHeaders;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Cache-Control指令解析
+ *
+ * @author chanjx
+ * @since 2026/10/17
+ **/
+final class CacheControl {
+
+    private static final CacheControl EMPTY = new CacheControl(new HashMap<>());
+
+    /**
+     * 指令名（小写）及参数，无参数时为空字符串
+     */
+    private final Map<String, String> directives;
+
+    private CacheControl(Map<String, String> directives) {
+        this.directives = directives;
+    }
+
+    /**
+     * 解析所有Cache-Control头，Pragma: no-cache视为no-cache
+     *
+     * @param message 请求或响应
+     * @return {@link CacheControl}
+     */
+    static CacheControl parse(MessageHeaders message) {
+        Map<String, String> directives = null;
+        for (Iterator<Header> it = message.headerIterator(HttpHeaders.CACHE_CONTROL); it.hasNext(); ) {
+            if (directives == null) {
+                directives = new HashMap<>();
+            }
+            for (String token : it.next().getValue().split(",")) {
+                final int eq = token.indexOf('=');
+                final String name = (eq < 0 ? token : token.substring(0, eq)).trim().toLowerCase(Locale.ROOT);
+                if (name.isEmpty()) {
+                    continue;
+                }
+                String value = eq < 0 ? "" : token.substring(eq + 1).trim();
+                if (value.length() >= 2 && value.charAt(0) == '"' && value.charAt(value.length() - 1) == '"') {
+                    value = value.substring(1, value.length() - 1);
+                }
+                directives.putIfAbsent(name, value);
+            }
+        }
+        final Header pragma = message.getFirstHeader(HttpHeaders.PRAGMA);
+        if (pragma != null && pragma.getValue().toLowerCase(Locale.ROOT).contains("no-cache")) {
+            if (directives == null) {
+                directives = new HashMap<>();
+            }
+            directives.putIfAbsent("no-cache", "");
+        }
+        return directives == null ? EMPTY : new CacheControl(directives);
+    }
+
+    boolean has(String directive) {
+        return this.directives.containsKey(directive);
+    }
+
+    /**
+     * 获取秒数参数
+     *
+     * @param directive 指令名
+     * @return 秒数，指令不存在或参数非法时返回-1
+     */
+    long seconds(String directive) {
+        final String value = this.directives.get(directive);
+        if (value == null || value.isEmpty()) {
+            return -1L;
+        }
+        try {
+            return Math.max(0L, Long.parseLong(value));
+        } catch (NumberFormatException e) {
+            // 超出long范围视为无限大，其余非法值忽略
+            return value.chars().allMatch(Character::isDigit) ? Long.MAX_VALUE / 1000L : -1L;
+        }
+    }
+}
@@ -0,0 +1,348 @@
+package com.chanjx.utils.http;
+
+import com.chanjx.utils.entity.http.CacheStatus;
+import com.chanjx.utils.entity.http.HttpResponse;
+import org.apache.hc.client5.http.utils.DateUtils;
+import org.apache.hc.core5.http.ContentType;
+import org.apache.hc.core5.http.Header;
+import org.apache.hc.core5.http.HttpHeaders;
+import org.apache.hc.core5.http.HttpRequest;
+import org.apache.hc.core5.http.message.BasicHeader;
+import org.apache.hc.core5.http.message.HeaderGroup;
+
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.*;
+
+/**
+ * 缓存的响应，按RFC 9111计算新鲜度及缓存年龄
+ * <p>
+ * 响应体在内存层时保存在{@link #body}中，降级到磁盘层后保存在{@link #diskFile}中。
+ * </p>
+ *
+ * @author chanjx
+ * @since 2026/10/17
+ **/
+final class CacheEntry {
+
+    /**
+     * 默认可缓存的状态码，见RFC 9110 15.1，不缓存206部分内容响应
+     */
+    private static final Set<Integer> HEURISTICALLY_CACHEABLE = new HashSet<>(Arrays.asList(
+            200, 203, 204, 300, 301, 308, 404, 405, 410, 414, 501));
+
+    /**
+     * 启发式新鲜期上限
+     */
+    private static final long MAX_HEURISTIC_LIFETIME = 24L * 60L * 60L * 1000L;
+
+    /**
+     * 304响应中不应更新到缓存的响应头
+     */
+    private static final Set<String> NOT_UPDATED_HEADERS = new HashSet<>(Arrays.asList(
+            "content-length", "content-encoding", "transfer-encoding", "content-range"));
+
+    private final int status;
+
+    private final Header[] headers;
+
+    private final byte[] body;
+
+    private final int bodyLength;
+
+    private final Path diskFile;
+
+    /**
+     * 收到响应时的修正年龄（毫秒），见RFC 9111 4.2.3
+     */
+    private final long correctedInitialAge;
+
+    private final long responseTime;
+
+    /**
+     * 新鲜期（毫秒）
+     */
+    private final long freshnessLifetime;
+
+    /**
+     * 响应含no-cache，每次使用前都需要重新验证
+     */
+    private final boolean noCache;
+
+    private final String etag;
+
+    private final String lastModified;
+
+    /**
+     * Vary指定的请求头及其取值，无Vary时为空
+     */
+    private final Map<String, String> vary;
+
+    private CacheEntry(int status, Header[] headers, byte[] body, int bodyLength, Path diskFile,
+                       long requestTime, long responseTime, Map<String, String> vary) {
+        this.status = status;
+        this.headers = headers;
+        this.body = body;
+        this.bodyLength = bodyLength;
+        this.diskFile = diskFile;
+        this.responseTime = responseTime;
+        this.vary = vary;
+
+        final HeaderGroup message = new HeaderGroup();
+        message.setHeaders(headers);
+        final CacheControl cacheControl = CacheControl.parse(message);
+        final Instant date = DateUtils.parseStandardDate(message, HttpHeaders.DATE);
+        final long dateValue = date != null ? date.toEpochMilli() : responseTime;
+        final long apparentAge = Math.max(0L, responseTime - dateValue);
+        final Header age = message.getFirstHeader(HttpHeaders.AGE);
+        long ageValue = 0L;
+        if (age != null) {
+            try {
+                ageValue = Math.max(0L, Long.parseLong(age.getValue().trim())) * 1000L;
+            } catch (NumberFormatException ignored) {
+                // 非法的Age按0处理
+            }
+        }
+        this.correctedInitialAge = Math.max(apparentAge, ageValue + (responseTime - requestTime));
+        this.noCache = cacheControl.has("no-cache");
+        this.etag = value(message, HttpHeaders.ETAG);
+        this.lastModified = value(message, HttpHeaders.LAST_MODIFIED);
+        this.freshnessLifetime = freshnessLifetime(message, cacheControl, dateValue);
+    }
+
+    /**
+     * 根据响应创建缓存项
+     *
+     * @param request      请求
+     * @param response     响应
+     * @param requestTime  发送请求的时间
+     * @param responseTime 收到响应的时间
+     * @return 缓存项，响应不可缓存时返回null
+     */
+    static CacheEntry of(HttpRequest request, HttpResponse response, long requestTime, long responseTime) {
+        final int status = response.getStatus();
+        if (!HEURISTICALLY_CACHEABLE.contains(status)) {
+            return null;
+        }
+        final Header[] headers = response.getHeaders().toArray(new Header[0]);
+        final HeaderGroup message = new HeaderGroup();
+        message.setHeaders(headers);
+        final CacheControl cacheControl = CacheControl.parse(message);
+        if (cacheControl.has("no-store")) {
+            return null;
+        }
+        final Map<String, String> vary = vary(request, message);
+        if (vary == null) {
+            return null;
+        }
+        // 缓存持有响应体的副本，与首个调用方拿到的响应互不影响；命中时响应体不对外暴露，可被多个响应共享
+        final ByteBuffer buffer = response.getBodyBuffer();
+        final byte[] body = new byte[buffer.remaining()];
+        buffer.get(body);
+        final CacheEntry entry = new CacheEntry(status, headers, body, body.length, null, requestTime, responseTime, vary);
+        return entry.freshnessLifetime > 0 || entry.hasValidator() ? entry : null;
+    }
+
+    /**
+     * 304响应后更新响应头及时间
+     *
+     * @param notModified  304响应头
+     * @param requestTime  发送请求的时间
+     * @param responseTime 收到响应的时间
+     * @return 新的缓存项
+     */
+    CacheEntry revalidated(List<Header> notModified, long requestTime, long responseTime) {
+        final Set<String> updated = new HashSet<>();
+        for (Header header : notModified) {
+            if (!NOT_UPDATED_HEADERS.contains(header.getName().toLowerCase(Locale.ROOT))) {
+                updated.add(header.getName().toLowerCase(Locale.ROOT));
+            }
+        }
+        final List<Header> merged = new ArrayList<>();
+        for (Header header : this.headers) {
+            if (!updated.contains(header.getName().toLowerCase(Locale.ROOT))) {
+                merged.add(header);
+            }
+        }
+        for (Header header : notModified) {
+            if (updated.contains(header.getName().toLowerCase(Locale.ROOT))) {
+                merged.add(header);
+            }
+        }
+        return new CacheEntry(this.status, merged.toArray(new Header[0]), this.body, this.bodyLength, this.diskFile,
+                requestTime, responseTime, this.vary);
+    }
+
+    CacheEntry withBody(byte[] body) {
+        return new CacheEntry(this, body, null);
+    }
+
+    CacheEntry withDiskFile(Path diskFile) {
+        return new CacheEntry(this, null, diskFile);
+    }
+
+    private CacheEntry(CacheEntry source, byte[] body, Path diskFile) {
+        this.status = source.status;
+        this.headers = source.headers;
+        this.body = body;
+        this.bodyLength = source.bodyLength;
+        this.diskFile = diskFile;
+        this.correctedInitialAge = source.correctedInitialAge;
+        this.responseTime = source.responseTime;
+        this.freshnessLifetime = source.freshnessLifetime;
+        this.noCache = source.noCache;
+        this.etag = source.etag;
+        this.lastModified = source.lastModified;
+        this.vary = source.vary;
+    }
+
+    /**
+     * 请求头是否与Vary指定的请求头一致
+     *
+     * @param request 请求
+     * @return 是否可使用该缓存项
+     */
+    boolean matches(HttpRequest request) {
+        for (Map.Entry<String, String> entry : this.vary.entrySet()) {
+            if (!entry.getValue().equals(values(request, entry.getKey()))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    long currentAge(long now) {
+        return this.correctedInitialAge + Math.max(0L, now - this.responseTime);
+    }
+
+    /**
+     * 是否可以不经验证直接使用
+     *
+     * @param now            当前时间
+     * @param requestControl 请求的Cache-Control
+     * @return 是否新鲜
+     */
+    boolean isFresh(long now, CacheControl requestControl) {
+        if (this.noCache || requestControl.has("no-cache")) {
+            return false;
+        }
+        final long age = currentAge(now);
+        final long maxAge = requestControl.seconds("max-age");
+        if (maxAge >= 0 && age > maxAge * 1000L) {
+            return false;
+        }
+        final long minFresh = requestControl.seconds("min-fresh");
+        return age + Math.max(0L, minFresh) * 1000L < this.freshnessLifetime;
+    }
+
+    boolean hasValidator() {
+        return this.etag != null || this.lastModified != null;
+    }
+
+    /**
+     * 转换为响应，附带当前的Age响应头
+     *
+     * @param body        响应体
+     * @param now         当前时间
+     * @param cacheStatus 缓存状态
+     * @return {@link HttpResponse}
+     */
+    HttpResponse toResponse(byte[] body, long now, CacheStatus cacheStatus) {
+        final Header[] headers = new Header[this.headers.length + 1];
+        int i = 0;
+        ContentType contentType = null;
+        for (Header header : this.headers) {
+            if (HttpHeaders.AGE.equalsIgnoreCase(header.getName())) {
+                continue;
+            }
+            if (contentType == null && HttpHeaders.CONTENT_TYPE.equalsIgnoreCase(header.getName())) {
+                contentType = ContentType.parse(header.getValue());
+            }
+            headers[i++] = header;
+        }
+        headers[i++] = new BasicHeader(HttpHeaders.AGE, currentAge(now) / 1000L);
+        return new HttpResponse(this.status, Arrays.copyOf(headers, i), body, contentType, cacheStatus);
+    }
+
+    String getEtag() {
+        return this.etag;
+    }
+
+    String getLastModified() {
+        return this.lastModified;
+    }
+
+    byte[] getBody() {
+        return this.body;
+    }
+
+    int getBodyLength() {
+        return this.bodyLength;
+    }
+
+    Path getDiskFile() {
+        return this.diskFile;
+    }
+
+    private static long freshnessLifetime(HeaderGroup message, CacheControl cacheControl, long dateValue) {
+        // 私有缓存忽略s-maxage
+        final long maxAge = cacheControl.seconds("max-age");
+        if (maxAge >= 0) {
+            return maxAge * 1000L;
+        }
+        final Header expires = message.getFirstHeader(HttpHeaders.EXPIRES);
+        if (expires != null) {
+            // 非法的Expires（如"0"）视为已过期
+            final Instant instant = DateUtils.parseStandardDate(expires.getValue());
+            return instant == null ? 0L : Math.max(0L, instant.toEpochMilli() - dateValue);
+        }
+        final Instant lastModified = DateUtils.parseStandardDate(message, HttpHeaders.LAST_MODIFIED);
+        if (lastModified != null) {
+            // 启发式新鲜期：距最后修改时间的10%
+            return Math.min(MAX_HEURISTIC_LIFETIME, Math.max(0L, (dateValue - lastModified.toEpochMilli()) / 10L));
+        }
+        return 0L;
+    }
+
+    /**
+     * 解析Vary
+     *
+     * @return 请求头及取值，Vary为*时返回null
+     */
+    private static Map<String, String> vary(HttpRequest request, HeaderGroup message) {
+        final Header[] varyHeaders = message.getHeaders(HttpHeaders.VARY);
+        if (varyHeaders.length == 0) {
+            return Collections.emptyMap();
+        }
+        final Map<String, String> vary = new HashMap<>();
+        for (Header header : varyHeaders) {
+            for (String name : header.getValue().split(",")) {
+                final String trimmed = name.trim();
+                if ("*".equals(trimmed)) {
+                    return null;
+                }
+                if (!trimmed.isEmpty()) {
+                    vary.put(trimmed, values(request, trimmed));
+                }
+            }
+        }
+        return vary;
+    }
+
+    private static String values(HttpRequest request, String name) {
+        final StringBuilder values = new StringBuilder();
+        for (Header header : request.getHeaders(name)) {
+            if (values.length() > 0) {
+                values.append(',');
+            }
+            values.append(header.getValue().trim());
+        }
+        return values.toString();
+    }
+
+    private static String value(HeaderGroup message, String name) {
+        final Header header = message.getFirstHeader(name);
+        return header == null ? null : header.getValue();
+    }
+}
@@ -0,0 +1,181 @@
+package com.chanjx.utils.http;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 单个路由的熔断器
+ * <p>
+ * 关闭状态下以最近windowSize次请求的结果统计失败率及慢调用率，请求数达到minimumCalls且任一比率达到阈值时打开；
+ * 打开openDuration后进入半开状态，放行halfOpenCalls个探测请求，探测结果仍达到阈值时重新打开，否则关闭。
+ * </p>
+ *
+ * @author chanjx
+ * @since 2026/10/17
+ **/
+final class CircuitBreaker {
+
+    private static final byte FAILURE = 1;
+
+    private static final byte SLOW = 2;
+
+    private final String route;
+
+    private final CircuitBreakerPolicy policy;
+
+    /**
+     * 最近请求结果的环形缓冲区，按位记录失败及慢调用
+     */
+    private final byte[] outcomes;
+
+    private int index;
+
+    private int count;
+
+    private int failures;
+
+    private int slowCalls;
+
+    private CircuitState state = CircuitState.CLOSED;
+
+    private long openedAt;
+
+    /**
+     * 半开状态下已放行且未取消的探测请求数
+     */
+    private int probes;
+
+    CircuitBreaker(String route, CircuitBreakerPolicy policy) {
+        this.route = route;
+        this.policy = policy;
+        this.outcomes = new byte[policy.getWindowSize()];
+    }
+
+    synchronized CircuitState getState() {
+        return this.state;
+    }
+
+    /**
+     * 申请发送请求
+     *
+     * @throws CircuitBreakerOpenException 熔断器打开或半开状态下探测请求已满
+     */
+    void acquire() throws CircuitBreakerOpenException {
+        final long now = System.nanoTime();
+        CircuitState from = null;
+        long remainingMillis = -1L;
+        synchronized (this) {
+            if (this.state == CircuitState.OPEN) {
+                final long elapsed = now - this.openedAt;
+                final long openNanos = this.policy.getOpenDurationNanos();
+                if (elapsed < openNanos) {
+                    remainingMillis = TimeUnit.NANOSECONDS.toMillis(openNanos - elapsed);
+                } else {
+                    from = transition(CircuitState.HALF_OPEN, now);
+                }
+            }
+            if (remainingMillis < 0L && this.state == CircuitState.HALF_OPEN) {
+                if (this.probes < this.policy.getHalfOpenCalls()) {
+                    this.probes++;
+                } else {
+                    remainingMillis = 0L;
+                }
+            }
+        }
+        notify(from, CircuitState.HALF_OPEN);
+        if (remainingMillis >= 0L) {
+            throw new CircuitBreakerOpenException(this.route, remainingMillis);
+        }
+    }
+
+    /**
+     * 记录请求结果
+     *
+     * @param failure      是否失败
+     * @param elapsedNanos 耗时
+     */
+    void record(boolean failure, long elapsedNanos) {
+        final byte outcome = (byte) ((failure ? FAILURE : 0) | (elapsedNanos >= this.policy.getSlowCallDurationNanos() ? SLOW : 0));
+        CircuitState from = null;
+        CircuitState to = null;
+        synchronized (this) {
+            if (this.state == CircuitState.OPEN) {
+                // 打开前发出的请求，结果不再统计
+                return;
+            }
+            add(outcome);
+            if (this.state == CircuitState.CLOSED) {
+                if (this.count >= this.policy.getMinimumCalls() && exceedsThreshold()) {
+                    to = CircuitState.OPEN;
+                }
+            } else if (this.count >= this.policy.getHalfOpenCalls()) {
+                to = exceedsThreshold() ? CircuitState.OPEN : CircuitState.CLOSED;
+            }
+            if (to != null) {
+                from = transition(to, System.nanoTime());
+            }
+        }
+        notify(from, to);
+    }
+
+    /**
+     * 请求被取消，不统计结果，半开状态下归还探测名额
+     */
+    synchronized void cancel() {
+        if (this.state == CircuitState.HALF_OPEN && this.probes > this.count) {
+            this.probes--;
+        }
+    }
+
+    /**
+     * 强制关闭熔断器并清空统计
+     */
+    void reset() {
+        final CircuitState from;
+        synchronized (this) {
+            from = this.state == CircuitState.CLOSED ? null : transition(CircuitState.CLOSED, System.nanoTime());
+            clear();
+        }
+        notify(from, CircuitState.CLOSED);
+    }
+
+    private void add(byte outcome) {
+        if (this.count == this.outcomes.length) {
+            final byte evicted = this.outcomes[this.index];
+            this.failures -= evicted & FAILURE;
+            this.slowCalls -= (evicted & SLOW) >> 1;
+        } else {
+            this.count++;
+        }
+        this.outcomes[this.index] = outcome;
+        this.index = (this.index + 1) % this.outcomes.length;
+        this.failures += outcome & FAILURE;
+        this.slowCalls += (outcome & SLOW) >> 1;
+    }
+
+    private boolean exceedsThreshold() {
+        return this.failures * 100F >= this.policy.getFailureRateThreshold() * this.count
+                || this.slowCalls * 100F >= this.policy.getSlowCallRateThreshold() * this.count;
+    }
+
+    private CircuitState transition(CircuitState to, long now) {
+        final CircuitState from = this.state;
+        this.state = to;
+        this.openedAt = now;
+        this.probes = 0;
+        clear();
+        return from;
+    }
+
+    private void clear() {
+        this.index = 0;
+        this.count = 0;
+        this.failures = 0;
+        this.slowCalls = 0;
+    }
+
+    private void notify(CircuitState from, CircuitState to) {
+        if (from != null) {
+            this.policy.fireStateTransition(this.route, from, to);
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.chanjx.utils.http;
+
+/**
+ * 熔断器状态变化监听器，在触发状态变化的请求线程中回调，不应执行耗时操作
+ *
+ * @author chanjx
+ * @since 2026/10/17
+ **/
+@FunctionalInterface
+public interface CircuitBreakerListener {
+
+    /**
+     * 熔断器状态发生变化
+     *
+     * @param route 路由，如：https://api.chanjx.com:443
+     * @param from  原状态
+     * @param to    新状态
+     */
+    void onStateTransition(String route, CircuitState from, CircuitState to);
+}
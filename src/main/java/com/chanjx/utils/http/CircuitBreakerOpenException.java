@@ -0,0 +1,33 @@
+package com.chanjx.utils.http;
+
+import lombok.Getter;
+
+import java.io.IOException;
+
+/**
+ * 熔断器打开，请求未发送
+ *
+ * @author chanjx
+ * @since 2026/10/17
+ **/
+@Getter
+public class CircuitBreakerOpenException extends IOException {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 被熔断的路由
+     */
+    private final String route;
+
+    /**
+     * 距离进入半开状态的剩余时间，毫秒
+     */
+    private final long remainingMillis;
+
+    public CircuitBreakerOpenException(String route, long remainingMillis) {
+        super("Circuit breaker is open for " + route + ", retry in " + remainingMillis + " ms");
+        this.route = route;
+        this.remainingMillis = remainingMillis;
+    }
+}
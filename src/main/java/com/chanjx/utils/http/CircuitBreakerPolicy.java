@@ -0,0 +1,285 @@
+package com.chanjx.utils.http;
+
+import org.apache.hc.core5.http.HttpStatus;
+import org.apache.hc.core5.util.TimeValue;
+
+import java.net.URI;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * 熔断策略：按路由（协议、主机及端口）分别统计请求结果，上游持续失败或变慢时直接拒绝发往该路由的请求
+ * <p>
+ * 熔断器打开时请求以{@link CircuitBreakerOpenException}立即失败，不占用连接池中的连接，
+ * 避免故障路由的请求堆积在连接池中拖慢其他路由。状态变化可通过{@link #addListener(CircuitBreakerListener)}监听。
+ * </p>
+ * <p>
+ * 请求抛出{@link java.io.IOException}（不含熔断及舱壁拒绝）或响应状态码属于failureStatus时记为失败，
+ * 耗时达到slowCallDuration时记为慢调用；取消的请求（如对冲请求中落后的一方）不参与统计。
+ * 通过{@link HttpClientEngine.Builder#circuitBreaker(CircuitBreakerPolicy)}设置，同步及异步请求均生效。
+ * </p>
+ *
+ * @author chanjx
+ * @since 2026/10/17
+ **/
+public final class CircuitBreakerPolicy {
+
+    private final float failureRateThreshold;
+
+    private final float slowCallRateThreshold;
+
+    private final long slowCallDurationNanos;
+
+    private final int windowSize;
+
+    private final int minimumCalls;
+
+    private final long openDurationNanos;
+
+    private final int halfOpenCalls;
+
+    private final Set<Integer> failureStatus;
+
+    private final List<CircuitBreakerListener> listeners = new CopyOnWriteArrayList<>();
+
+    private final ConcurrentMap<String, CircuitBreaker> breakers = new ConcurrentHashMap<>();
+
+    private CircuitBreakerPolicy(Builder builder) {
+        this.failureRateThreshold = builder.failureRateThreshold;
+        this.slowCallRateThreshold = builder.slowCallRateThreshold;
+        this.slowCallDurationNanos = builder.slowCallDuration.toNanoseconds();
+        this.windowSize = builder.windowSize;
+        this.minimumCalls = Math.min(builder.minimumCalls, builder.windowSize);
+        this.openDurationNanos = builder.openDuration.toNanoseconds();
+        this.halfOpenCalls = Math.min(builder.halfOpenCalls, builder.windowSize);
+        this.failureStatus = new HashSet<>(builder.failureStatus);
+        this.listeners.addAll(builder.listeners);
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * 添加状态变化监听器
+     *
+     * @param listener 监听器
+     */
+    public void addListener(CircuitBreakerListener listener) {
+        this.listeners.add(Objects.requireNonNull(listener, "listener"));
+    }
+
+    /**
+     * 获取路由当前的熔断状态，处于打开状态且已到达等待时间时，仍返回{@link CircuitState#OPEN}直到下一个请求到来
+     *
+     * @param uri 目标地址，如：https://api.chanjx.com
+     * @return 熔断状态，该路由没有请求过时返回{@link CircuitState#CLOSED}
+     */
+    public CircuitState getState(String uri) {
+        final CircuitBreaker breaker = this.breakers.get(RoutePermit.route(URI.create(uri)));
+        return breaker == null ? CircuitState.CLOSED : breaker.getState();
+    }
+
+    /**
+     * 关闭所有路由的熔断器并清空统计
+     */
+    public void reset() {
+        this.breakers.values().forEach(CircuitBreaker::reset);
+    }
+
+    float getFailureRateThreshold() {
+        return this.failureRateThreshold;
+    }
+
+    float getSlowCallRateThreshold() {
+        return this.slowCallRateThreshold;
+    }
+
+    long getSlowCallDurationNanos() {
+        return this.slowCallDurationNanos;
+    }
+
+    int getWindowSize() {
+        return this.windowSize;
+    }
+
+    int getMinimumCalls() {
+        return this.minimumCalls;
+    }
+
+    long getOpenDurationNanos() {
+        return this.openDurationNanos;
+    }
+
+    int getHalfOpenCalls() {
+        return this.halfOpenCalls;
+    }
+
+    boolean isFailure(int status) {
+        return this.failureStatus.contains(status);
+    }
+
+    CircuitBreaker breaker(String route) {
+        return this.breakers.computeIfAbsent(route, key -> new CircuitBreaker(key, this));
+    }
+
+    void fireStateTransition(String route, CircuitState from, CircuitState to) {
+        for (CircuitBreakerListener listener : this.listeners) {
+            listener.onStateTransition(route, from, to);
+        }
+    }
+
+    /**
+     * {@link CircuitBreakerPolicy}构建器
+     */
+    public static class Builder {
+
+        private float failureRateThreshold = 50F;
+
+        private float slowCallRateThreshold = 100F;
+
+        private TimeValue slowCallDuration = TimeValue.ofSeconds(10L);
+
+        private int windowSize = 100;
+
+        private int minimumCalls = 20;
+
+        private TimeValue openDuration = TimeValue.ofSeconds(30L);
+
+        private int halfOpenCalls = 5;
+
+        private final Set<Integer> failureStatus = new HashSet<>(Arrays.asList(
+                HttpStatus.SC_INTERNAL_SERVER_ERROR,
+                HttpStatus.SC_BAD_GATEWAY,
+                HttpStatus.SC_SERVICE_UNAVAILABLE,
+                HttpStatus.SC_GATEWAY_TIMEOUT));
+
+        private final List<CircuitBreakerListener> listeners = new ArrayList<>();
+
+        private Builder() {
+        }
+
+        /**
+         * 失败率达到该百分比时打开熔断器，默认50
+         *
+         * @param failureRateThreshold 百分比，(0, 100]
+         * @return this
+         */
+        public Builder failureRateThreshold(float failureRateThreshold) {
+            if (failureRateThreshold <= 0F || failureRateThreshold > 100F) {
+                throw new IllegalArgumentException("failureRateThreshold must be in (0, 100]");
+            }
+            this.failureRateThreshold = failureRateThreshold;
+            return this;
+        }
+
+        /**
+         * 慢调用率达到该百分比时打开熔断器，默认100，即全部为慢调用时才打开
+         *
+         * @param slowCallRateThreshold 百分比，(0, 100]
+         * @return this
+         */
+        public Builder slowCallRateThreshold(float slowCallRateThreshold) {
+            if (slowCallRateThreshold <= 0F || slowCallRateThreshold > 100F) {
+                throw new IllegalArgumentException("slowCallRateThreshold must be in (0, 100]");
+            }
+            this.slowCallRateThreshold = slowCallRateThreshold;
+            return this;
+        }
+
+        /**
+         * 耗时达到该值的请求记为慢调用，默认10秒
+         *
+         * @param slowCallDuration 耗时
+         * @return this
+         */
+        public Builder slowCallDuration(TimeValue slowCallDuration) {
+            this.slowCallDuration = slowCallDuration;
+            return this;
+        }
+
+        /**
+         * 统计失败率使用的最近请求数，默认100
+         *
+         * @param windowSize 请求数
+         * @return this
+         */
+        public Builder windowSize(int windowSize) {
+            if (windowSize < 1) {
+                throw new IllegalArgumentException("windowSize must be positive");
+            }
+            this.windowSize = windowSize;
+            return this;
+        }
+
+        /**
+         * 开始计算失败率的最少请求数，默认20，不超过windowSize
+         *
+         * @param minimumCalls 请求数
+         * @return this
+         */
+        public Builder minimumCalls(int minimumCalls) {
+            if (minimumCalls < 1) {
+                throw new IllegalArgumentException("minimumCalls must be positive");
+            }
+            this.minimumCalls = minimumCalls;
+            return this;
+        }
+
+        /**
+         * 熔断器打开后进入半开状态前的等待时间，默认30秒
+         *
+         * @param openDuration 等待时间
+         * @return this
+         */
+        public Builder openDuration(TimeValue openDuration) {
+            this.openDuration = openDuration;
+            return this;
+        }
+
+        /**
+         * 半开状态下放行的探测请求数，默认5，不超过windowSize
+         *
+         * @param halfOpenCalls 请求数
+         * @return this
+         */
+        public Builder halfOpenCalls(int halfOpenCalls) {
+            if (halfOpenCalls < 1) {
+                throw new IllegalArgumentException("halfOpenCalls must be positive");
+            }
+            this.halfOpenCalls = halfOpenCalls;
+            return this;
+        }
+
+        /**
+         * 记为失败的响应状态码，默认500、502、503、504，调用后覆盖默认值
+         *
+         * @param status 状态码
+         * @return this
+         */
+        public Builder failureStatus(int... status) {
+            this.failureStatus.clear();
+            for (int code : status) {
+                this.failureStatus.add(code);
+            }
+            return this;
+        }
+
+        /**
+         * 状态变化监听器
+         *
+         * @param listener 监听器
+         * @return this
+         */
+        public Builder listener(CircuitBreakerListener listener) {
+            this.listeners.add(Objects.requireNonNull(listener, "listener"));
+            return this;
+        }
+
+        public CircuitBreakerPolicy build() {
+            return new CircuitBreakerPolicy(this);
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.chanjx.utils.http;
+
+/**
+ * 熔断器状态
+ *
+ * @author chanjx
+ * @since 2026/10/17
+ **/
+public enum CircuitState {
+
+    /**
+     * 关闭，请求正常发送并统计失败率及慢调用率
+     */
+    CLOSED,
+
+    /**
+     * 打开，请求直接以{@link CircuitBreakerOpenException}失败，等待时间结束后进入半开状态
+     */
+    OPEN,
+
+    /**
+     * 半开，只放行少量探测请求，根据探测结果决定关闭或重新打开
+     */
+    HALF_OPEN,
+
+}
@@ -0,0 +1,130 @@
+package com.chanjx.utils.http;
+
+import org.apache.hc.core5.http.ContentType;
+import org.apache.hc.core5.http.HttpEntity;
+import org.apache.hc.core5.http.io.entity.EntityUtils;
+import org.apache.hc.core5.http.nio.AsyncEntityProducer;
+import org.apache.hc.core5.http.nio.DataStreamChannel;
+import org.apache.hc.core5.http.nio.entity.BasicAsyncEntityProducer;
+import org.apache.hc.core5.http.nio.support.classic.AbstractClassicEntityProducer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Set;
+import java.util.concurrent.Executor;
+
+/**
+ * 将同步请求体{@link HttpEntity}适配为异步客户端使用的{@link AsyncEntityProducer}
+ * <p>
+ * 长度已知的小请求体直接读入内存发送，其余请求体（如文件上传）在独立线程中以流的方式写出，
+ * 请求体长度已知时仍以Content-Length发送。
+ * </p>
+ *
+ * @author chanjx
+ * @since 2026/10/17
+ **/
+class ClassicEntityProducer implements AsyncEntityProducer {
+
+    /**
+     * 直接读入内存发送的请求体长度上限
+     */
+    private static final long BUFFERED_LIMIT = 64 * 1024;
+
+    private static final int BUFFER_SIZE = 8 * 1024;
+
+    private final HttpEntity entity;
+
+    /**
+     * 负责流式写出，其报告的长度恒为未知，长度及分块由本类按请求体返回
+     */
+    private final AbstractClassicEntityProducer delegate;
+
+    private ClassicEntityProducer(HttpEntity entity, Executor executor) {
+        this.entity = entity;
+        this.delegate = new AbstractClassicEntityProducer(BUFFER_SIZE, contentType(entity), executor) {
+            @Override
+            protected void produceData(ContentType contentType, OutputStream outputStream) throws IOException {
+                entity.writeTo(outputStream);
+            }
+        };
+    }
+
+    /**
+     * 创建请求体生产者
+     *
+     * @param entity   请求体，可为null
+     * @param executor 流式写出请求体使用的线程池
+     * @return {@link AsyncEntityProducer}，请求体为null时返回null
+     * @throws IOException e
+     */
+    static AsyncEntityProducer of(HttpEntity entity, Executor executor) throws IOException {
+        if (entity == null) {
+            return null;
+        }
+        final long length = entity.getContentLength();
+        if (!entity.isStreaming() && length >= 0 && length <= BUFFERED_LIMIT) {
+            final String contentEncoding = entity.getContentEncoding();
+            return new BasicAsyncEntityProducer(EntityUtils.toByteArray(entity), contentType(entity), entity.isChunked()) {
+                @Override
+                public String getContentEncoding() {
+                    return contentEncoding;
+                }
+            };
+        }
+        return new ClassicEntityProducer(entity, executor);
+    }
+
+    @Override
+    public boolean isRepeatable() {
+        return false;
+    }
+
+    @Override
+    public int available() {
+        return this.delegate.available();
+    }
+
+    @Override
+    public void produce(DataStreamChannel channel) throws IOException {
+        this.delegate.produce(channel);
+    }
+
+    @Override
+    public long getContentLength() {
+        return this.entity.getContentLength();
+    }
+
+    @Override
+    public String getContentType() {
+        return this.delegate.getContentType();
+    }
+
+    @Override
+    public String getContentEncoding() {
+        return this.entity.getContentEncoding();
+    }
+
+    @Override
+    public boolean isChunked() {
+        return this.entity.isChunked();
+    }
+
+    @Override
+    public Set<String> getTrailerNames() {
+        return null;
+    }
+
+    @Override
+    public void failed(Exception cause) {
+        this.delegate.failed(cause);
+    }
+
+    @Override
+    public void releaseResources() {
+        this.delegate.releaseResources();
+    }
+
+    private static ContentType contentType(HttpEntity entity) {
+        return entity.getContentType() == null ? null : ContentType.parse(entity.getContentType());
+    }
+}
@@ -0,0 +1,126 @@
+package com.chanjx.utils.http;
+
+import org.apache.commons.io.IOUtils;
+import org.apache.hc.client5.http.entity.DeflateInputStream;
+import org.apache.hc.client5.http.entity.GzipCompressingEntity;
+import org.apache.hc.core5.http.ContentType;
+import org.apache.hc.core5.http.Header;
+import org.apache.hc.core5.http.HttpEntity;
+import org.apache.hc.core5.http.HttpHeaders;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * 请求体压缩及响应体解压
+ * <p>
+ * 同步客户端的响应解压由HttpClient内置的ContentCompressionExec完成，异步客户端没有该功能，由此类补充，
+ * 行为与同步客户端保持一致：支持gzip、x-gzip、deflate，解压后移除Content-Encoding、Content-Length、Content-MD5响应头。
+ * </p>
+ *
+ * @author chanjx
+ * @since 2026/10/17
+ **/
+final class ContentCoding {
+
+    /**
+     * 异步请求默认声明的Accept-Encoding，与同步客户端一致
+     */
+    static final String ACCEPT_ENCODING = "gzip, x-gzip, deflate";
+
+    private ContentCoding() {
+    }
+
+    /**
+     * 文本类请求体不小于阈值（长度未知视为超过阈值）时以gzip压缩，已指定Content-Encoding的请求体保持不变
+     *
+     * @param entity    请求体，可为null
+     * @param threshold 压缩阈值，小于0时不压缩
+     * @return 请求体
+     */
+    static HttpEntity compress(HttpEntity entity, long threshold) {
+        if (entity == null || threshold < 0 || entity.getContentEncoding() != null || !isCompressible(entity.getContentType())) {
+            return entity;
+        }
+        final long length = entity.getContentLength();
+        return length >= 0 && length < threshold ? entity : new GzipCompressingEntity(entity);
+    }
+
+    /**
+     * 按Content-Encoding以流的方式解压响应体，不支持的编码原样返回
+     *
+     * @param body            响应体
+     * @param contentEncoding Content-Encoding，可为null
+     * @return 解压后的响应体
+     * @throws IOException e
+     */
+    static InputStream decode(InputStream body, String contentEncoding) throws IOException {
+        if (contentEncoding == null) {
+            return body;
+        }
+        final String coding = contentEncoding.trim();
+        if ("gzip".equalsIgnoreCase(coding) || "x-gzip".equalsIgnoreCase(coding)) {
+            return new GZIPInputStream(body);
+        }
+        if ("deflate".equalsIgnoreCase(coding)) {
+            // 兼容zlib格式及不带zlib头的原始deflate格式
+            return new DeflateInputStream(body);
+        }
+        return body;
+    }
+
+    static boolean isDecodable(String contentEncoding) {
+        if (contentEncoding == null) {
+            return false;
+        }
+        final String coding = contentEncoding.trim();
+        return "gzip".equalsIgnoreCase(coding) || "x-gzip".equalsIgnoreCase(coding) || "deflate".equalsIgnoreCase(coding);
+    }
+
+    /**
+     * 解压字节数组形式的响应体
+     *
+     * @param body            响应体
+     * @param contentEncoding Content-Encoding，可为null
+     * @return 解压后的响应体
+     * @throws IOException e
+     */
+    static byte[] decode(byte[] body, String contentEncoding) throws IOException {
+        if (body == null || body.length == 0 || !isDecodable(contentEncoding)) {
+            return body;
+        }
+        try (InputStream inputStream = decode(new ByteArrayInputStream(body), contentEncoding)) {
+            return IOUtils.toByteArray(inputStream);
+        }
+    }
+
+    /**
+     * 移除解压后不再准确的响应头
+     *
+     * @param headers 响应头
+     * @return 响应头
+     */
+    static Header[] stripHeaders(Header[] headers) {
+        return Arrays.stream(headers)
+                .filter(header -> !HttpHeaders.CONTENT_ENCODING.equalsIgnoreCase(header.getName())
+                        && !HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(header.getName())
+                        && !HttpHeaders.CONTENT_MD5.equalsIgnoreCase(header.getName()))
+                .toArray(Header[]::new);
+    }
+
+    private static boolean isCompressible(String contentType) {
+        if (contentType == null) {
+            return false;
+        }
+        final String mimeType = ContentType.parseLenient(contentType).getMimeType().toLowerCase();
+        return mimeType.startsWith("text/")
+                || mimeType.equals("application/json")
+                || mimeType.equals("application/xml")
+                || mimeType.equals("application/x-www-form-urlencoded")
+                || mimeType.endsWith("+json")
+                || mimeType.endsWith("+xml");
+    }
+}
@@ -0,0 +1,72 @@
+package com.chanjx.utils.http;
+
+import com.chanjx.utils.JsonUtils;
+import com.chanjx.utils.XmlUtils;
+import com.chanjx.utils.entity.http.StreamingResponse;
+import com.fasterxml.jackson.databind.JavaType;
+import org.apache.hc.client5.http.HttpResponseException;
+import org.apache.hc.core5.http.HttpStatus;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.Charset;
+
+/**
+ * 将响应体直接反序列化为实体类的处理器，响应体不会被读入byte[]或String
+ * <p>
+ * 按响应的Content-Type选择解析器：xml类型（application/xml、text/xml、*+xml）使用{@link XmlUtils}，
+ * 其余均按json使用{@link JsonUtils}，
+ * json的Content-Type指定非UTF编码时按该编码读取。
+ * </p>
+ *
+ * @param <T> 实体类
+ * @author chanjx
+ * @since 2026/10/17
+ **/
+final class DecodingResponseHandler<T> implements StreamingResponseHandler<T> {
+
+    private final Class<T> clazz;
+
+    private final JavaType javaType;
+
+    DecodingResponseHandler(Class<T> clazz) {
+        this.clazz = clazz;
+        this.javaType = null;
+    }
+
+    DecodingResponseHandler(JavaType javaType) {
+        this.clazz = null;
+        this.javaType = javaType;
+    }
+
+    @Override
+    public T handle(StreamingResponse response) throws IOException {
+        final int status = response.getStatus();
+        if (status < HttpStatus.SC_SUCCESS || status >= HttpStatus.SC_REDIRECTION) {
+            throw new HttpResponseException(status, "Unexpected response status: " + status);
+        }
+        if (status == HttpStatus.SC_NO_CONTENT) {
+            return null;
+        }
+        final InputStream body = response.getBody();
+        if (isXml(response.getMimeType())) {
+            return this.clazz != null ? XmlUtils.xml2Obj(body, this.clazz) : XmlUtils.xml2Obj(body, this.javaType);
+        }
+        final Charset charset = response.getContentType() == null ? null : response.getContentType().getCharset();
+        if (charset != null && !charset.name().startsWith("UTF-")) {
+            // Jackson只能自动识别UTF编码，其余编码按Content-Type的charset转为字符流
+            final Reader reader = new InputStreamReader(body, charset);
+            return this.clazz != null ? JsonUtils.json2Obj(reader, this.clazz) : JsonUtils.json2Obj(reader, this.javaType);
+        }
+        return this.clazz != null ? JsonUtils.json2Obj(body, this.clazz) : JsonUtils.json2Obj(body, this.javaType);
+    }
+
+    private static boolean isXml(String mimeType) {
+        return mimeType != null
+                && (mimeType.equalsIgnoreCase("application/xml")
+                || mimeType.equalsIgnoreCase("text/xml")
+                || mimeType.regionMatches(true, mimeType.length() - 4, "+xml", 0, 4));
+    }
+}
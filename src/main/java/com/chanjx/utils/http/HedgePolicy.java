@@ -0,0 +1,256 @@
+package com.chanjx.utils.http;
+
+import org.apache.hc.core5.net.URIBuilder;
+import org.apache.hc.core5.util.TimeValue;
+
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 对冲请求策略：请求在指定时间内未返回时，再向同一或备用地址发送一次相同的请求，取先返回的结果并取消其余请求
+ * <p>
+ * 等待时间默认取最近原请求耗时的p95（对冲请求先返回时以原请求已等待的时间计入），样本不足时使用初始等待时间。对冲会增加少量上游请求（约1 - percentile），
+ * 换取更低的尾延迟，只对GET、HEAD请求生效。
+ * </p>
+ * <p>
+ * 通过{@link HttpClientEngine.Builder#hedgePolicy(HedgePolicy)}设置，一个实例只应被一个{@link HttpClientEngine}使用，
+ * 以免不同上游的耗时混在一起。
+ * </p>
+ *
+ * @author chanjx
+ * @since 2026/10/17
+ **/
+public final class HedgePolicy {
+
+    /**
+     * 开始使用统计耗时的最少样本数
+     */
+    private static final int MIN_SAMPLES = 20;
+
+    private final double percentile;
+
+    private final long initialDelayMillis;
+
+    private final long minDelayMillis;
+
+    private final int maxHedges;
+
+    private final List<URI> alternateHosts;
+
+    /**
+     * 最近请求耗时（毫秒）的环形缓冲区
+     */
+    private final long[] samples;
+
+    private int sampleCount;
+
+    private int sampleIndex;
+
+    /**
+     * 按最近样本计算的等待时间，每记录一定数量的样本后重新计算
+     */
+    private volatile long delayMillis;
+
+    private final AtomicLong hedged = new AtomicLong();
+
+    private final AtomicLong hedgeWins = new AtomicLong();
+
+    private HedgePolicy(Builder builder) {
+        this.percentile = builder.percentile;
+        this.initialDelayMillis = builder.initialDelay.toMilliseconds();
+        this.minDelayMillis = builder.minDelay.toMilliseconds();
+        this.maxHedges = builder.maxHedges;
+        this.alternateHosts = new ArrayList<>(builder.alternateHosts);
+        this.samples = new long[builder.window];
+        this.delayMillis = this.initialDelayMillis;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * 当前的对冲等待时间
+     *
+     * @return 毫秒
+     */
+    public long getDelayMillis() {
+        return Math.max(this.minDelayMillis, this.delayMillis);
+    }
+
+    /**
+     * 已发出的对冲请求数
+     */
+    public long getHedgedCount() {
+        return this.hedged.get();
+    }
+
+    /**
+     * 对冲请求先于原请求返回的次数
+     */
+    public long getHedgeWinCount() {
+        return this.hedgeWins.get();
+    }
+
+    int getMaxHedges() {
+        return this.maxHedges;
+    }
+
+    boolean accepts(String method) {
+        return "GET".equals(method) || "HEAD".equals(method);
+    }
+
+    /**
+     * 第attempt次请求的目标地址，原请求为第0次，对冲请求依次轮换备用地址
+     *
+     * @param uri     原请求地址
+     * @param attempt 请求序号
+     * @return 目标地址
+     * @throws URISyntaxException e
+     */
+    URI target(URI uri, int attempt) throws URISyntaxException {
+        if (attempt == 0 || this.alternateHosts.isEmpty()) {
+            return uri;
+        }
+        final URI host = this.alternateHosts.get((attempt - 1) % this.alternateHosts.size());
+        return new URIBuilder(uri)
+                .setScheme(host.getScheme())
+                .setHost(host.getHost())
+                .setPort(host.getPort())
+                .build();
+    }
+
+    void onHedge() {
+        this.hedged.incrementAndGet();
+    }
+
+    /**
+     * 记录原请求的耗时
+     *
+     * @param hedgeWon      是否对冲请求先返回，此时耗时为原请求已等待的时间
+     * @param elapsedMillis 原请求耗时
+     */
+    void record(boolean hedgeWon, long elapsedMillis) {
+        if (hedgeWon) {
+            this.hedgeWins.incrementAndGet();
+        }
+        long[] snapshot = null;
+        synchronized (this.samples) {
+            this.samples[this.sampleIndex] = elapsedMillis;
+            this.sampleIndex = (this.sampleIndex + 1) % this.samples.length;
+            this.sampleCount = Math.min(this.sampleCount + 1, this.samples.length);
+            // 每记录约1/10窗口的样本重新计算一次，避免每次请求排序
+            if (this.sampleCount >= MIN_SAMPLES && this.sampleIndex % Math.max(1, this.samples.length / 10) == 0) {
+                snapshot = Arrays.copyOf(this.samples, this.sampleCount);
+            }
+        }
+        if (snapshot != null) {
+            Arrays.sort(snapshot);
+            final int index = (int) Math.ceil(this.percentile / 100D * snapshot.length) - 1;
+            this.delayMillis = snapshot[Math.max(0, Math.min(index, snapshot.length - 1))];
+        }
+    }
+
+    /**
+     * {@link HedgePolicy}构建器
+     */
+    public static class Builder {
+
+        private double percentile = 95D;
+
+        private TimeValue initialDelay = TimeValue.ofMilliseconds(100L);
+
+        private TimeValue minDelay = TimeValue.ofMilliseconds(5L);
+
+        private int maxHedges = 1;
+
+        private int window = 1000;
+
+        private final List<URI> alternateHosts = new ArrayList<>();
+
+        private Builder() {
+        }
+
+        /**
+         * 以最近请求耗时的该百分位作为对冲等待时间，默认95
+         *
+         * @param percentile 百分位，(0, 100]
+         * @return this
+         */
+        public Builder percentile(double percentile) {
+            if (percentile <= 0D || percentile > 100D) {
+                throw new IllegalArgumentException("percentile must be in (0, 100]");
+            }
+            this.percentile = percentile;
+            return this;
+        }
+
+        /**
+         * 样本不足时的对冲等待时间，默认100毫秒
+         *
+         * @param initialDelay 等待时间
+         * @return this
+         */
+        public Builder initialDelay(TimeValue initialDelay) {
+            this.initialDelay = initialDelay;
+            return this;
+        }
+
+        /**
+         * 对冲等待时间下限，默认5毫秒
+         *
+         * @param minDelay 等待时间下限
+         * @return this
+         */
+        public Builder minDelay(TimeValue minDelay) {
+            this.minDelay = minDelay;
+            return this;
+        }
+
+        /**
+         * 单个请求最多发出的对冲请求数，默认1
+         *
+         * @param maxHedges 对冲请求数
+         * @return this
+         */
+        public Builder maxHedges(int maxHedges) {
+            this.maxHedges = maxHedges;
+            return this;
+        }
+
+        /**
+         * 统计耗时使用的最近样本数，默认1000，不小于20
+         *
+         * @param window 样本数
+         * @return this
+         */
+        public Builder window(int window) {
+            if (window < MIN_SAMPLES) {
+                throw new IllegalArgumentException("window must be at least " + MIN_SAMPLES);
+            }
+            this.window = window;
+            return this;
+        }
+
+        /**
+         * 对冲请求使用的备用地址，如：http://backup.chanjx.com:8080，只替换协议、主机及端口
+         *
+         * @param hosts 备用地址
+         * @return this
+         */
+        public Builder alternateHosts(String... hosts) {
+            for (String host : hosts) {
+                this.alternateHosts.add(URI.create(host));
+            }
+            return this;
+        }
+
+        public HedgePolicy build() {
+            return new HedgePolicy(this);
+        }
+    }
+}
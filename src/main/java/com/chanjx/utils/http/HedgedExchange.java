@@ -0,0 +1,159 @@
+package com.chanjx.utils.http;
+
+import com.chanjx.utils.entity.http.HttpResponse;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntFunction;
+
+/**
+ * 一次对冲请求的执行过程
+ * <p>
+ * 先发送原请求，超过{@link HedgePolicy#getDelayMillis()}仍未返回时发送下一个请求；
+ * 任一请求成功即完成并取消其余请求，所有已发出的请求均失败时立即发送下一个，无可发送的请求时以首个异常失败。
+ * </p>
+ *
+ * @author chanjx
+ * @since 2026/10/17
+ **/
+final class HedgedExchange {
+
+    private final HedgePolicy policy;
+
+    private final ScheduledExecutorService scheduler;
+
+    /**
+     * 按请求序号发送请求
+     */
+    private final IntFunction<CompletableFuture<HttpResponse>> exchange;
+
+    private final CompletableFuture<HttpResponse> result = new CompletableFuture<>();
+
+    private final List<CompletableFuture<HttpResponse>> attempts = new ArrayList<>();
+
+    private int launched;
+
+    private int failed;
+
+    private Throwable firstFailure;
+
+    private boolean completed;
+
+    /**
+     * 原请求的发送时间
+     */
+    private long originalStart;
+
+    private ScheduledFuture<?> timer;
+
+    private HedgedExchange(HedgePolicy policy, ScheduledExecutorService scheduler, IntFunction<CompletableFuture<HttpResponse>> exchange) {
+        this.policy = policy;
+        this.scheduler = scheduler;
+        this.exchange = exchange;
+    }
+
+    /**
+     * 开始执行
+     *
+     * @param policy    对冲策略
+     * @param scheduler 发送对冲请求使用的定时器
+     * @param exchange  按请求序号发送请求，0为原请求
+     * @return 先成功返回的响应，取消该Future将取消所有请求
+     */
+    static CompletableFuture<HttpResponse> start(HedgePolicy policy, ScheduledExecutorService scheduler, IntFunction<CompletableFuture<HttpResponse>> exchange) {
+        final HedgedExchange hedgedExchange = new HedgedExchange(policy, scheduler, exchange);
+        hedgedExchange.launch();
+        hedgedExchange.result.whenComplete((response, throwable) -> hedgedExchange.cancelAll());
+        return hedgedExchange.result;
+    }
+
+    private void launch() {
+        final int attempt;
+        synchronized (this) {
+            if (this.result.isDone() || this.launched > this.policy.getMaxHedges()) {
+                return;
+            }
+            attempt = this.launched++;
+        }
+        if (attempt > 0) {
+            this.policy.onHedge();
+        }
+        if (attempt == 0) {
+            this.originalStart = System.nanoTime();
+        }
+        CompletableFuture<HttpResponse> future;
+        try {
+            future = this.exchange.apply(attempt);
+        } catch (RuntimeException e) {
+            future = new CompletableFuture<>();
+            future.completeExceptionally(e);
+        }
+        synchronized (this) {
+            this.attempts.add(future);
+            if (attempt < this.policy.getMaxHedges() && !this.result.isDone()) {
+                this.timer = this.scheduler.schedule(this::launch, this.policy.getDelayMillis(), TimeUnit.MILLISECONDS);
+            }
+        }
+        future.whenComplete((response, throwable) -> {
+            if (throwable == null) {
+                synchronized (this) {
+                    if (this.completed) {
+                        return;
+                    }
+                    this.completed = true;
+                }
+                // 始终记录原请求的耗时：对冲请求先返回时原请求尚未完成，以已等待的时间作为耗时下限，
+                // 避免只统计胜出者使等待时间越来越短；先记录再完成，调用方拿到响应时统计已更新
+                this.policy.record(attempt > 0, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - this.originalStart));
+                this.result.complete(response);
+            } else {
+                onFailure(throwable);
+            }
+        });
+    }
+
+    private void onFailure(Throwable throwable) {
+        boolean launchNow = false;
+        Throwable failure = null;
+        synchronized (this) {
+            this.failed++;
+            if (this.firstFailure == null) {
+                this.firstFailure = throwable instanceof CompletionException && throwable.getCause() != null
+                        ? throwable.getCause()
+                        : throwable;
+            }
+            if (this.failed == this.launched) {
+                if (this.launched <= this.policy.getMaxHedges()) {
+                    // 已发出的请求均失败，不再等待
+                    launchNow = true;
+                    if (this.timer != null) {
+                        this.timer.cancel(false);
+                    }
+                } else {
+                    failure = this.firstFailure;
+                }
+            }
+        }
+        if (launchNow) {
+            launch();
+        } else if (failure != null) {
+            this.result.completeExceptionally(failure);
+        }
+    }
+
+    private void cancelAll() {
+        final List<CompletableFuture<HttpResponse>> attempts;
+        synchronized (this) {
+            if (this.timer != null) {
+                this.timer.cancel(false);
+            }
+            attempts = new ArrayList<>(this.attempts);
+        }
+        attempts.forEach(attempt -> attempt.cancel(true));
+    }
+}
@@ -0,0 +1,473 @@
+package com.chanjx.utils.http;
+
+import com.chanjx.utils.entity.http.CacheStatus;
+import com.chanjx.utils.entity.http.HttpResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.io.FileUtils;
+import org.apache.hc.client5.http.classic.methods.HttpUriRequestBase;
+import org.apache.hc.core5.http.HttpHeaders;
+import org.apache.hc.core5.http.HttpStatus;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 客户端Http响应缓存，按RFC 9111实现私有缓存
+ * <p>
+ * 只缓存GET请求，遵循Cache-Control（max-age、no-cache、no-store）、Expires及Vary，
+ * 无显式新鲜期时按Last-Modified启发式计算；过期后携带If-None-Match、If-Modified-Since重新验证，
+ * 服务端返回304时直接使用缓存的响应体。POST、PUT、DELETE等请求成功后使对应uri的缓存失效。
+ * </p>
+ * <p>
+ * 内存层按LRU淘汰，开启磁盘层后从内存层淘汰的响应体写入内存映射文件，再次命中时读回内存层，
+ * 磁盘层同时按响应体总大小及缓存项数淘汰。
+ * 磁盘层只在实例存续期间有效，关闭时删除。缓存持有响应体的副本，命中时返回的{@link HttpResponse}为共享响应，
+ * 其{@link HttpResponse#getBody()}返回副本，调用方修改不影响缓存。
+ * </p>
+ * <p>
+ * 通过{@link HttpClientEngine.Builder#cache(HttpCache)}开启，一个实例可以被多个{@link HttpClientEngine}共享。
+ * </p>
+ *
+ * @author chanjx
+ * @since 2026/10/17
+ **/
+@Slf4j
+public final class HttpCache implements Closeable {
+
+    private final int maxEntries;
+
+    private final long maxMemoryBytes;
+
+    private final int maxObjectSize;
+
+    private final Path diskDirectory;
+
+    private final long maxDiskBytes;
+
+    private final int maxDiskEntries;
+
+    /**
+     * 内存层，按访问顺序排列
+     */
+    private final LinkedHashMap<String, CacheEntry> memory = new LinkedHashMap<>(16, 0.75f, true);
+
+    /**
+     * 磁盘层，按访问顺序排列
+     */
+    private final LinkedHashMap<String, CacheEntry> disk = new LinkedHashMap<>(16, 0.75f, true);
+
+    private long memoryBytes;
+
+    private long diskBytes;
+
+    private final AtomicLong fileSequence = new AtomicLong();
+
+    private final AtomicLong hits = new AtomicLong();
+
+    private final AtomicLong revalidations = new AtomicLong();
+
+    private final AtomicLong misses = new AtomicLong();
+
+    private HttpCache(Builder builder) throws IOException {
+        this.maxEntries = builder.maxEntries;
+        this.maxMemoryBytes = builder.maxMemoryBytes;
+        this.maxObjectSize = builder.maxObjectSize;
+        this.maxDiskBytes = builder.maxDiskBytes;
+        this.maxDiskEntries = builder.maxDiskEntries;
+        if (builder.diskDirectory != null) {
+            Files.createDirectories(builder.diskDirectory);
+            this.diskDirectory = Files.createTempDirectory(builder.diskDirectory, "chanjx-http-cache");
+        } else {
+            this.diskDirectory = null;
+        }
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * 命中新鲜缓存的次数
+     */
+    public long getHitCount() {
+        return this.hits.get();
+    }
+
+    /**
+     * 经304确认后使用缓存的次数
+     */
+    public long getRevalidatedCount() {
+        return this.revalidations.get();
+    }
+
+    /**
+     * 可缓存的请求未能使用缓存的次数
+     */
+    public long getMissCount() {
+        return this.misses.get();
+    }
+
+    /**
+     * 命中率，即可缓存的请求中使用了缓存响应体（包括经304确认）的比例
+     *
+     * @return 命中率，无请求时返回0
+     */
+    public double getHitRatio() {
+        final long hit = this.hits.get() + this.revalidations.get();
+        final long total = hit + this.misses.get();
+        return total == 0 ? 0D : (double) hit / total;
+    }
+
+    /**
+     * 内存层及磁盘层的缓存项数
+     */
+    public synchronized int size() {
+        return this.memory.size() + this.disk.size();
+    }
+
+    /**
+     * 清空缓存，不重置统计
+     */
+    public void clear() {
+        final List<Path> deleted;
+        synchronized (this) {
+            deleted = diskFiles(this.disk.values());
+            this.memory.clear();
+            this.disk.clear();
+            this.memoryBytes = 0L;
+            this.diskBytes = 0L;
+        }
+        delete(deleted);
+    }
+
+    @Override
+    public void close() {
+        clear();
+        if (this.diskDirectory != null) {
+            FileUtils.deleteQuietly(this.diskDirectory.toFile());
+        }
+    }
+
+    /**
+     * 经缓存执行请求
+     *
+     * @param request  请求，请求头已设置
+     * @param exchange 实际发送请求
+     * @return 响应
+     * @throws IOException e
+     */
+    HttpResponse execute(HttpUriRequestBase request, Exchange exchange) throws IOException {
+        final String key;
+        try {
+            key = request.getUri().toString();
+        } catch (URISyntaxException e) {
+            return exchange.execute(request);
+        }
+        if (!"GET".equals(request.getMethod())) {
+            final HttpResponse response = exchange.execute(request);
+            if (!"HEAD".equals(request.getMethod()) && response.getStatus() < HttpStatus.SC_BAD_REQUEST) {
+                invalidate(key);
+            }
+            return response;
+        }
+        final CacheControl requestControl = CacheControl.parse(request);
+        if (requestControl.has("no-store")
+                || request.containsHeader(HttpHeaders.RANGE)
+                || request.containsHeader(HttpHeaders.IF_NONE_MATCH)
+                || request.containsHeader(HttpHeaders.IF_MODIFIED_SINCE)) {
+            // 调用方自行处理条件请求及Range请求
+            return exchange.execute(request);
+        }
+
+        CacheEntry entry = get(key);
+        if (entry != null && !entry.matches(request)) {
+            entry = null;
+        }
+        final long requestTime = System.currentTimeMillis();
+        if (entry != null && entry.isFresh(requestTime, requestControl)) {
+            this.hits.incrementAndGet();
+            return entry.toResponse(entry.getBody(), requestTime, CacheStatus.HIT);
+        }
+        final boolean conditional = entry != null && entry.hasValidator();
+        if (conditional) {
+            if (entry.getEtag() != null) {
+                request.setHeader(HttpHeaders.IF_NONE_MATCH, entry.getEtag());
+            }
+            if (entry.getLastModified() != null) {
+                request.setHeader(HttpHeaders.IF_MODIFIED_SINCE, entry.getLastModified());
+            }
+        }
+        final HttpResponse response = exchange.execute(request);
+        final long responseTime = System.currentTimeMillis();
+        if (conditional && response.getStatus() == HttpStatus.SC_NOT_MODIFIED) {
+            final CacheEntry updated = entry.revalidated(response.getHeaders(), requestTime, responseTime);
+            put(key, updated);
+            this.revalidations.incrementAndGet();
+            return updated.toResponse(updated.getBody(), responseTime, CacheStatus.REVALIDATED);
+        }
+        this.misses.incrementAndGet();
+        final CacheEntry created = response.getBodyBuffer().remaining() <= this.maxObjectSize
+                ? CacheEntry.of(request, response, requestTime, responseTime)
+                : null;
+        if (created != null) {
+            put(key, created);
+        } else if (response.getStatus() < HttpStatus.SC_INTERNAL_SERVER_ERROR) {
+            // 保留5xx前的缓存项，以便之后继续验证
+            invalidate(key);
+        }
+        return response;
+    }
+
+    /**
+     * 获取缓存项，磁盘层命中时读回内存层
+     *
+     * @param key key
+     * @return 带响应体的缓存项，不存在时返回null
+     */
+    private CacheEntry get(String key) {
+        final CacheEntry onDisk;
+        synchronized (this) {
+            final CacheEntry inMemory = this.memory.get(key);
+            if (inMemory != null) {
+                return inMemory;
+            }
+            onDisk = this.disk.get(key);
+        }
+        if (onDisk == null) {
+            return null;
+        }
+        try {
+            final CacheEntry loaded = onDisk.withBody(read(onDisk.getDiskFile(), onDisk.getBodyLength()));
+            put(key, loaded);
+            return loaded;
+        } catch (IOException e) {
+            // 文件已被淘汰或损坏
+            log.debug("Failed to read cached body: {}", onDisk.getDiskFile(), e);
+            removeDisk(key, onDisk);
+            return null;
+        }
+    }
+
+    private void put(String key, CacheEntry entry) {
+        final List<Path> deleted = new ArrayList<>();
+        final List<Map.Entry<String, CacheEntry>> demoted = new ArrayList<>();
+        synchronized (this) {
+            final CacheEntry previous = this.memory.put(key, entry);
+            if (previous != null) {
+                this.memoryBytes -= previous.getBodyLength();
+            }
+            this.memoryBytes += entry.getBodyLength();
+            final CacheEntry previousDisk = this.disk.remove(key);
+            if (previousDisk != null) {
+                this.diskBytes -= previousDisk.getBodyLength();
+                deleted.add(previousDisk.getDiskFile());
+            }
+            final Iterator<Map.Entry<String, CacheEntry>> it = this.memory.entrySet().iterator();
+            while ((this.memory.size() > this.maxEntries || this.memoryBytes > this.maxMemoryBytes) && it.hasNext()) {
+                final Map.Entry<String, CacheEntry> eldest = it.next();
+                it.remove();
+                this.memoryBytes -= eldest.getValue().getBodyLength();
+                if (this.diskDirectory != null && eldest.getValue().getBodyLength() > 0
+                        && eldest.getValue().getBodyLength() <= this.maxDiskBytes) {
+                    demoted.add(eldest);
+                }
+            }
+        }
+        delete(deleted);
+        demoted.forEach(eldest -> demote(eldest.getKey(), eldest.getValue()));
+    }
+
+    /**
+     * 将从内存层淘汰的响应体写入磁盘层
+     */
+    private void demote(String key, CacheEntry entry) {
+        final Path file = this.diskDirectory.resolve(this.fileSequence.incrementAndGet() + ".body");
+        try {
+            write(file, entry.getBody());
+        } catch (IOException e) {
+            log.debug("Failed to write cached body: {}", file, e);
+            delete(Collections.singletonList(file));
+            return;
+        }
+        final List<Path> deleted = new ArrayList<>();
+        synchronized (this) {
+            if (this.memory.containsKey(key)) {
+                // 写入期间已被重新缓存
+                deleted.add(file);
+            } else {
+                final CacheEntry previous = this.disk.put(key, entry.withDiskFile(file));
+                if (previous != null) {
+                    this.diskBytes -= previous.getBodyLength();
+                    deleted.add(previous.getDiskFile());
+                }
+                this.diskBytes += entry.getBodyLength();
+                final Iterator<CacheEntry> it = this.disk.values().iterator();
+                while ((this.diskBytes > this.maxDiskBytes || this.disk.size() > this.maxDiskEntries) && it.hasNext()) {
+                    final CacheEntry eldest = it.next();
+                    it.remove();
+                    this.diskBytes -= eldest.getBodyLength();
+                    deleted.add(eldest.getDiskFile());
+                }
+            }
+        }
+        delete(deleted);
+    }
+
+    private void invalidate(String key) {
+        final CacheEntry onDisk;
+        synchronized (this) {
+            final CacheEntry inMemory = this.memory.remove(key);
+            if (inMemory != null) {
+                this.memoryBytes -= inMemory.getBodyLength();
+            }
+            onDisk = this.disk.remove(key);
+            if (onDisk != null) {
+                this.diskBytes -= onDisk.getBodyLength();
+            }
+        }
+        if (onDisk != null) {
+            delete(Collections.singletonList(onDisk.getDiskFile()));
+        }
+    }
+
+    private void removeDisk(String key, CacheEntry entry) {
+        synchronized (this) {
+            if (this.disk.remove(key, entry)) {
+                this.diskBytes -= entry.getBodyLength();
+            }
+        }
+        delete(Collections.singletonList(entry.getDiskFile()));
+    }
+
+    private static byte[] read(Path file, int length) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            final MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0L, length);
+            final byte[] body = new byte[length];
+            buffer.get(body);
+            return body;
+        }
+    }
+
+    private static void write(Path file, byte[] body) throws IOException {
+        try (FileChannel channel = FileChannel.open(file,
+                StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            final MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0L, body.length);
+            buffer.put(body);
+        }
+    }
+
+    private static List<Path> diskFiles(Collection<CacheEntry> entries) {
+        final List<Path> files = new ArrayList<>(entries.size());
+        entries.forEach(entry -> files.add(entry.getDiskFile()));
+        return files;
+    }
+
+    private static void delete(List<Path> files) {
+        for (Path file : files) {
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException e) {
+                log.debug("Failed to delete cached body: {}", file, e);
+            }
+        }
+    }
+
+    /**
+     * 实际发送请求
+     */
+    @FunctionalInterface
+    interface Exchange {
+
+        HttpResponse execute(HttpUriRequestBase request) throws IOException;
+    }
+
+    /**
+     * {@link HttpCache}构建器
+     */
+    public static class Builder {
+
+        private int maxEntries = 1000;
+
+        private long maxMemoryBytes = 32L * 1024L * 1024L;
+
+        private int maxObjectSize = 1024 * 1024;
+
+        private Path diskDirectory;
+
+        private long maxDiskBytes;
+
+        private int maxDiskEntries = 10000;
+
+        private Builder() {
+        }
+
+        /**
+         * 内存层最大缓存项数，默认1000
+         *
+         * @param maxEntries 最大缓存项数
+         * @return this
+         */
+        public Builder maxEntries(int maxEntries) {
+            this.maxEntries = maxEntries;
+            return this;
+        }
+
+        /**
+         * 内存层响应体总大小上限，默认32MB
+         *
+         * @param maxMemoryBytes 字节数
+         * @return this
+         */
+        public Builder maxMemoryBytes(long maxMemoryBytes) {
+            this.maxMemoryBytes = maxMemoryBytes;
+            return this;
+        }
+
+        /**
+         * 单个响应体大小上限，超过时不缓存，默认1MB
+         *
+         * @param maxObjectSize 字节数
+         * @return this
+         */
+        public Builder maxObjectSize(int maxObjectSize) {
+            this.maxObjectSize = maxObjectSize;
+            return this;
+        }
+
+        /**
+         * 开启磁盘层，从内存层淘汰的响应体写入该目录下的内存映射文件
+         *
+         * @param directory    目录，实例会在其中创建独立的临时目录
+         * @param maxDiskBytes 磁盘层响应体总大小上限
+         * @return this
+         */
+        public Builder diskCache(Path directory, long maxDiskBytes) {
+            this.diskDirectory = directory;
+            this.maxDiskBytes = maxDiskBytes;
+            return this;
+        }
+
+        /**
+         * 磁盘层最大缓存项数，默认10000，避免大量小响应体使磁盘层的索引无限增长
+         *
+         * @param maxDiskEntries 最大缓存项数
+         * @return this
+         */
+        public Builder maxDiskEntries(int maxDiskEntries) {
+            this.maxDiskEntries = maxDiskEntries;
+            return this;
+        }
+
+        public HttpCache build() throws IOException {
+            return new HttpCache(this);
+        }
+    }
+}
@@ -0,0 +1,1598 @@
+package com.chanjx.utils.http;
+
+import com.chanjx.utils.HttpClientUtils;
+import com.chanjx.utils.StringUtils;
+import com.chanjx.utils.entity.http.BaseFile;
+import com.chanjx.utils.entity.http.DownloadResult;
+import com.chanjx.utils.entity.http.HttpFile;
+import com.chanjx.utils.entity.http.HttpFiles;
+import com.chanjx.utils.entity.http.HttpResponse;
+import com.chanjx.utils.entity.http.StreamingResponse;
+import com.fasterxml.jackson.databind.JavaType;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.collections4.MapUtils;
+import org.apache.hc.client5.http.ClientProtocolException;
+import org.apache.hc.client5.http.ConnectionKeepAliveStrategy;
+import org.apache.hc.client5.http.HttpResponseException;
+import org.apache.hc.client5.http.HttpRoute;
+import org.apache.hc.client5.http.async.methods.SimpleHttpResponse;
+import org.apache.hc.client5.http.async.methods.SimpleResponseConsumer;
+import org.apache.hc.client5.http.classic.methods.*;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.entity.mime.MultipartEntityBuilder;
+import org.apache.hc.client5.http.impl.async.CloseableHttpAsyncClient;
+import org.apache.hc.client5.http.impl.async.H2AsyncClientBuilder;
+import org.apache.hc.client5.http.impl.async.HttpAsyncClientBuilder;
+import org.apache.hc.client5.http.impl.async.HttpAsyncClients;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClientBuilder;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.client5.http.impl.nio.PoolingAsyncClientConnectionManager;
+import org.apache.hc.client5.http.impl.nio.PoolingAsyncClientConnectionManagerBuilder;
+import org.apache.hc.core5.concurrent.DefaultThreadFactory;
+import org.apache.hc.core5.concurrent.FutureCallback;
+import org.apache.hc.core5.http.*;
+import org.apache.hc.core5.http.io.entity.EntityUtils;
+import org.apache.hc.core5.http.io.entity.StringEntity;
+import org.apache.hc.core5.http.message.BasicHttpRequest;
+import org.apache.hc.core5.http.nio.AsyncRequestProducer;
+import org.apache.hc.core5.http.nio.AsyncResponseConsumer;
+import org.apache.hc.core5.http.nio.support.BasicRequestProducer;
+import org.apache.hc.core5.http2.config.H2Config;
+import org.apache.hc.core5.io.CloseMode;
+import org.apache.hc.core5.net.URIBuilder;
+import org.apache.hc.core5.reactor.IOReactorConfig;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+
+import java.io.ByteArrayInputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.function.Function;
+
+import static org.apache.hc.core5.http.ContentType.APPLICATION_JSON;
+import static org.apache.hc.core5.http.ContentType.APPLICATION_XML;
+
+/**
+ * Http客户端实例
+ * <p>
+ * 每个实例持有独立的连接池、超时及连接保活配置，可按上游服务分别创建，避免所有请求争抢同一个连接池。
+ * 实例通过{@link HttpClientUtils#builder()}创建，{@link HttpClientUtils}的静态方法均委托给默认实例。
+ * </p>
+ *
+ * @author chanjx
+ * @since 2026/10/17
+ **/
+@Slf4j
+public class HttpClientEngine implements Closeable {
+
+    /**
+     * 连接池配置
+     */
+    private final PoolingHttpClientConnectionManager connManager;
+
+    /**
+     * 默认请求配置
+     */
+    @Getter
+    private final RequestConfig requestConfig;
+
+    private final CloseableHttpClient client;
+
+    private final ConnectionConfig connectionConfig;
+
+    private final int maxTotal;
+
+    private final int defaultMaxPerRoute;
+
+    private final Map<HttpRoute, Integer> maxPerRoute;
+
+    private final ConnectionKeepAliveStrategy keepAliveStrategy;
+
+    private final TimeValue evictIdleTime;
+
+    private final int ioThreads;
+
+    /**
+     * 传输协议
+     */
+    @Getter
+    private final HttpTransport transport;
+
+    private final H2Config h2Config;
+
+    /**
+     * 是否声明Accept-Encoding并自动解压响应体
+     */
+    private final boolean contentCompression;
+
+    /**
+     * 请求体gzip压缩阈值（字节），小于0时不压缩
+     */
+    private final long requestCompressionThreshold;
+
+    /**
+     * 响应缓存，未开启时为null
+     */
+    @Getter
+    private final HttpCache cache;
+
+    /**
+     * 合并并发的相同请求，未开启时为null
+     */
+    private final SingleFlight singleFlight;
+
+    /**
+     * 请求重试策略，未设置时使用HttpClient默认策略
+     */
+    private final RetryPolicy retryPolicy;
+
+    /**
+     * 对冲请求策略，未开启时为null
+     */
+    @Getter
+    private final HedgePolicy hedgePolicy;
+
+    /**
+     * 发送对冲请求使用的定时器，随对冲策略一同创建
+     */
+    private final ScheduledExecutorService hedgeScheduler;
+
+    /**
+     * 熔断策略，未开启时为null
+     */
+    @Getter
+    private final CircuitBreakerPolicy circuitBreakerPolicy;
+
+    /**
+     * 按路由限制并发请求数，未开启时为null
+     */
+    private final Bulkhead bulkhead;
+
+    /**
+     * 按服务名（小写）索引的负载均衡器
+     */
+    private final Map<String, LoadBalancer> loadBalancers;
+
+    /**
+     * 异步客户端，首次发起异步请求时创建
+     */
+    private volatile CloseableHttpAsyncClient asyncClient;
+
+    /**
+     * 异步请求流式写出请求体使用的线程池，随异步客户端一同创建
+     */
+    private ExecutorService asyncExecutor;
+
+    private HttpClientEngine(Builder builder) {
+        // 连接池配置，路由及路由线路配置
+        final ConnectionConfig.Builder connectionConfig = ConnectionConfig.custom();
+        if (builder.connectTimeout != null) {
+            connectionConfig.setConnectTimeout(builder.connectTimeout);
+        }
+        if (builder.socketTimeout != null) {
+            connectionConfig.setSocketTimeout(builder.socketTimeout);
+        }
+        if (builder.timeToLive != null) {
+            connectionConfig.setTimeToLive(builder.timeToLive);
+        }
+        this.connectionConfig = connectionConfig.build();
+        this.maxTotal = builder.maxTotal;
+        this.defaultMaxPerRoute = builder.defaultMaxPerRoute;
+        this.maxPerRoute = new HashMap<>(builder.maxPerRoute);
+        this.keepAliveStrategy = builder.keepAliveStrategy;
+        this.evictIdleTime = builder.evictIdleTime;
+        this.ioThreads = builder.ioThreads;
+        this.transport = builder.transport;
+        this.h2Config = builder.h2Config.build();
+        this.contentCompression = builder.contentCompression;
+        this.requestCompressionThreshold = builder.requestCompressionThreshold;
+        this.cache = builder.cache;
+        this.singleFlight = builder.singleFlightHeaders == null ? null : new SingleFlight(builder.singleFlightHeaders);
+        this.retryPolicy = builder.retryPolicy;
+        this.hedgePolicy = builder.hedgePolicy;
+        this.hedgeScheduler =
+                this.hedgePolicy == null
+                        ? null
+                        : Executors.newSingleThreadScheduledExecutor(new DefaultThreadFactory("chanjx-http-hedge", true));
+        this.circuitBreakerPolicy = builder.circuitBreakerPolicy;
+        this.bulkhead =
+                builder.maxConcurrentCalls > 0 || !builder.maxConcurrentCallsPerRoute.isEmpty()
+                        ? new Bulkhead(builder.maxConcurrentCalls, builder.maxConcurrentCallsPerRoute)
+                        : null;
+        this.loadBalancers = new HashMap<>(builder.loadBalancers);
+        this.connManager =
+                PoolingHttpClientConnectionManagerBuilder
+                        .create()
+                        .setMaxConnTotal(this.maxTotal)
+                        .setMaxConnPerRoute(this.defaultMaxPerRoute)
+                        .setDefaultConnectionConfig(this.connectionConfig)
+                        .build();
+        this.maxPerRoute.forEach(this.connManager::setMaxPerRoute);
+
+        // 超时时间及连接保活配置
+        this.requestConfig =
+                RequestConfig
+                        .custom()
+                        .setConnectionKeepAlive(builder.keepAlive)
+                        .setConnectionRequestTimeout(builder.connectionRequestTimeout)
+                        .setResponseTimeout(builder.responseTimeout)
+                        .build();
+
+        final HttpClientBuilder clientBuilder =
+                HttpClients
+                        .custom()
+                        .setConnectionManager(this.connManager)
+                        .setDefaultRequestConfig(this.requestConfig);
+        if (this.keepAliveStrategy != null) {
+            clientBuilder.setKeepAliveStrategy(this.keepAliveStrategy);
+        }
+        if (this.evictIdleTime != null) {
+            clientBuilder.evictExpiredConnections().evictIdleConnections(this.evictIdleTime);
+        }
+        if (!this.contentCompression) {
+            clientBuilder.disableContentCompression();
+        }
+        if (this.retryPolicy != null) {
+            clientBuilder.setRetryStrategy(this.retryPolicy);
+        }
+        this.client = clientBuilder.build();
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public HttpResponse doGet(String uri) throws URISyntaxException, IOException {
+        return doGet(uri, null, null);
+    }
+
+    public HttpResponse doGet(String uri, Map<String, String> query) throws URISyntaxException, IOException {
+        return doGet(uri, query, null);
+    }
+
+    public HttpResponse doGet(String uri, Map<String, String> query, Map<String, String> headers) throws URISyntaxException, IOException {
+        final HttpGet httpGet = new HttpGet(setQuery(uri, query));
+        return send(httpGet, headers);
+    }
+
+    /**
+     * 执行Post请求
+     *
+     * @param uri    uri
+     * @param params 请求参数
+     * @return 请求结果
+     */
+    public HttpResponse doPostForm(String uri, Map<String, String> params) throws IOException {
+        return doPostForm(uri, params, null);
+    }
+
+    /**
+     * 执行Post请求
+     *
+     * @param uri     uri
+     * @param params  请求参数
+     * @param headers 请求头信息
+     * @return 请求结果
+     */
+    public HttpResponse doPostForm(String uri, Map<String, String> params, Map<String, String> headers) throws IOException {
+        final HttpPost httpPost = new HttpPost(uri);
+        return send(httpPost, setForm(params, headers, httpPost));
+    }
+
+    public HttpResponse doPostJson(String uri, String jsonStr) throws IOException {
+        return doPostJson(uri, jsonStr, null);
+    }
+
+    public HttpResponse doPostJson(String uri, String jsonStr, Map<String, String> headers) throws IOException {
+        HttpPost httpPost = new HttpPost(uri);
+        setJsonBody(jsonStr, httpPost);
+        return send(httpPost, headers);
+    }
+
+    public HttpResponse doPostJson(String uri, Object body) throws IOException {
+        return doPostJson(uri, body, null);
+    }
+
+    /**
+     * 执行Post请求，实体类直接序列化到请求输出流，以chunked方式发送
+     *
+     * @param uri     uri
+     * @param body    实体类
+     * @param headers 请求头信息
+     * @return 请求结果
+     * @see JacksonEntity
+     */
+    public HttpResponse doPostJson(String uri, Object body, Map<String, String> headers) throws IOException {
+        final HttpPost httpPost = new HttpPost(uri);
+        httpPost.setEntity(JacksonEntity.json(body));
+        return send(httpPost, headers);
+    }
+
+    public HttpResponse doPostXml(String uri, String xmlStr) throws IOException {
+        return doPostXml(uri, xmlStr, null);
+    }
+
+    public HttpResponse doPostXml(String uri, String xmlStr, Map<String, String> headers) throws IOException {
+        HttpPost httpPost = new HttpPost(uri);
+        setXmlBody(xmlStr, httpPost);
+        return send(httpPost, headers);
+    }
+
+    public HttpResponse doPostXml(String uri, Object body) throws IOException {
+        return doPostXml(uri, body, null);
+    }
+
+    public HttpResponse doPostXml(String uri, Object body, Map<String, String> headers) throws IOException {
+        final HttpPost httpPost = new HttpPost(uri);
+        httpPost.setEntity(JacksonEntity.xml(body));
+        return send(httpPost, headers);
+    }
+
+    public HttpResponse doPostRow(String uri, String rowStr, ContentType contentType) throws IOException {
+        return doPostRow(uri, rowStr, null, contentType);
+    }
+
+    public HttpResponse doPostRow(String uri, String rowStr, Map<String, String> headers, ContentType contentType) throws IOException {
+        HttpPost httpPost = new HttpPost(uri);
+        setRowBody(rowStr, httpPost, contentType);
+        return send(httpPost, headers);
+    }
+
+    public HttpResponse doPostMultipartForm(String uri, HttpFile httpFile, Map<String, String> params) throws IOException {
+        return doPostMultipartForm(uri, httpFile, params, null);
+    }
+
+    public HttpResponse doPostMultipartForm(String uri, HttpFile httpFile, Map<String, String> params, Map<String, String> headers) throws IOException {
+        return send(newMultipartPost(uri, null, Collections.singletonList(httpFile), params), headers);
+    }
+
+    public HttpResponse doPostMultipartForm(String uri, HttpFiles httpFiles, Map<String, String> params) throws IOException {
+        return doPostMultipartForm(uri, httpFiles, params, null);
+    }
+
+    public HttpResponse doPostMultipartForm(String uri, HttpFiles httpFiles, Map<String, String> params, Map<String, String> headers) throws IOException {
+        return send(newMultipartPost(uri, httpFiles, null, params), headers);
+    }
+
+    public HttpResponse doPostMultipartForm(String uri, List<HttpFile> httpFiles, Map<String, String> params) throws IOException {
+        return doPostMultipartForm(uri, httpFiles, params, null);
+    }
+
+    public HttpResponse doPostMultipartForm(String uri, List<HttpFile> httpFiles, Map<String, String> params, Map<String, String> headers) throws IOException {
+        return send(newMultipartPost(uri, null, httpFiles, params), headers);
+    }
+
+    public HttpResponse doPostMultipartForm(String uri, HttpFiles httpFiles, List<HttpFile> httpFileList, Map<String, String> params) throws IOException {
+        return doPostMultipartForm(uri, httpFiles, httpFileList, params, null);
+    }
+
+    public HttpResponse doPostMultipartForm(String uri, HttpFiles httpFiles, List<HttpFile> httpFileList, Map<String, String> params, Map<String, String> headers) throws IOException {
+        return send(newMultipartPost(uri, httpFiles, httpFileList, params), headers);
+    }
+
+    public HttpResponse doPutForm(String uri, Map<String, String> params) throws IOException {
+        return doPutForm(uri, params, null);
+    }
+
+    public HttpResponse doPutForm(String uri, Map<String, String> params, Map<String, String> headers) throws IOException {
+        params.values().removeIf(Objects::isNull);
+        final HttpPut httpPut = new HttpPut(uri);
+        return send(httpPut, setForm(params, headers, httpPut));
+    }
+
+    public HttpResponse doPutJson(String uri, String jsonStr) throws IOException {
+        return doPutJson(uri, jsonStr, null);
+    }
+
+    public HttpResponse doPutJson(String uri, String jsonStr, Map<String, String> headers) throws IOException {
+        final HttpPut httpPut = new HttpPut(uri);
+        setJsonBody(jsonStr, httpPut);
+        return send(httpPut, headers);
+    }
+
+    public HttpResponse doPutJson(String uri, Object body) throws IOException {
+        return doPutJson(uri, body, null);
+    }
+
+    public HttpResponse doPutJson(String uri, Object body, Map<String, String> headers) throws IOException {
+        final HttpPut httpPut = new HttpPut(uri);
+        httpPut.setEntity(JacksonEntity.json(body));
+        return send(httpPut, headers);
+    }
+
+    public HttpResponse doPutXml(String uri, String xmlStr) throws IOException {
+        return doPutXml(uri, xmlStr, null);
+    }
+
+    public HttpResponse doPutXml(String uri, String xmlStr, Map<String, String> headers) throws IOException {
+        final HttpPut httpPut = new HttpPut(uri);
+        setXmlBody(xmlStr, httpPut);
+        return send(httpPut, headers);
+    }
+
+    public HttpResponse doPutXml(String uri, Object body) throws IOException {
+        return doPutXml(uri, body, null);
+    }
+
+    public HttpResponse doPutXml(String uri, Object body, Map<String, String> headers) throws IOException {
+        final HttpPut httpPut = new HttpPut(uri);
+        httpPut.setEntity(JacksonEntity.xml(body));
+        return send(httpPut, headers);
+    }
+
+    public HttpResponse doDelete(String uri) throws URISyntaxException, IOException {
+        return doDelete(uri, null, null);
+    }
+
+    public HttpResponse doDelete(String uri, Map<String, String> query) throws URISyntaxException, IOException {
+        return doDelete(uri, query, null);
+    }
+
+    public HttpResponse doDelete(String uri, Map<String, String> query, Map<String, String> headers) throws URISyntaxException, IOException {
+        final HttpDelete httpDelete = new HttpDelete(setQuery(uri, query));
+        return send(httpDelete, headers);
+    }
+
+    /**
+     * 执行Get请求，响应体以流的方式交给处理器，不在内存中缓存
+     *
+     * @param uri     uri
+     * @param query   请求参数
+     * @param headers 请求头信息
+     * @param handler 流式响应处理器
+     * @param <T>     T
+     * @return 处理结果
+     */
+    public <T> T doGet(String uri, Map<String, String> query, Map<String, String> headers, StreamingResponseHandler<T> handler) throws URISyntaxException, IOException {
+        final HttpGet httpGet = new HttpGet(setQuery(uri, query));
+        return send(httpGet, headers, handler);
+    }
+
+    /**
+     * 执行Post请求，响应体以流的方式交给处理器，不在内存中缓存
+     *
+     * @param uri     uri
+     * @param params  请求参数
+     * @param headers 请求头信息
+     * @param handler 流式响应处理器
+     * @param <T>     T
+     * @return 处理结果
+     */
+    public <T> T doPostForm(String uri, Map<String, String> params, Map<String, String> headers, StreamingResponseHandler<T> handler) throws IOException {
+        final HttpPost httpPost = new HttpPost(uri);
+        return send(httpPost, setForm(params, headers, httpPost), handler);
+    }
+
+    /**
+     * 执行Post请求，响应体以流的方式交给处理器，不在内存中缓存
+     *
+     * @param uri     uri
+     * @param jsonStr 请求体
+     * @param headers 请求头信息
+     * @param handler 流式响应处理器
+     * @param <T>     T
+     * @return 处理结果
+     */
+    public <T> T doPostJson(String uri, String jsonStr, Map<String, String> headers, StreamingResponseHandler<T> handler) throws IOException {
+        final HttpPost httpPost = new HttpPost(uri);
+        setJsonBody(jsonStr, httpPost);
+        return send(httpPost, headers, handler);
+    }
+
+    public <T> T doGetForObject(String uri, Class<T> clazz) throws URISyntaxException, IOException {
+        return doGet(uri, null, null, StreamingResponseHandler.decode(clazz));
+    }
+
+    /**
+     * 执行Get请求，响应体直接反序列化为实体类，不经过byte[]或String
+     *
+     * @param uri     uri
+     * @param query   请求参数
+     * @param headers 请求头信息
+     * @param clazz   实体类
+     * @param <T>     T
+     * @return 实体类，响应状态码为204时返回null
+     * @throws HttpResponseException 响应状态码非2xx
+     */
+    public <T> T doGetForObject(String uri, Map<String, String> query, Map<String, String> headers, Class<T> clazz) throws URISyntaxException, IOException {
+        return doGet(uri, query, headers, StreamingResponseHandler.decode(clazz));
+    }
+
+    public <T> T doGetForObject(String uri, Map<String, String> query, Map<String, String> headers, JavaType javaType) throws URISyntaxException, IOException {
+        return doGet(uri, query, headers, StreamingResponseHandler.decode(javaType));
+    }
+
+    public <T> T doPostJsonForObject(String uri, String jsonStr, Class<T> clazz) throws IOException {
+        return doPostJson(uri, jsonStr, null, StreamingResponseHandler.decode(clazz));
+    }
+
+    /**
+     * 执行Post请求，响应体直接反序列化为实体类，不经过byte[]或String
+     *
+     * @param uri     uri
+     * @param jsonStr 请求体
+     * @param headers 请求头信息
+     * @param clazz   实体类
+     * @param <T>     T
+     * @return 实体类，响应状态码为204时返回null
+     * @throws HttpResponseException 响应状态码非2xx
+     */
+    public <T> T doPostJsonForObject(String uri, String jsonStr, Map<String, String> headers, Class<T> clazz) throws IOException {
+        return doPostJson(uri, jsonStr, headers, StreamingResponseHandler.decode(clazz));
+    }
+
+    public <T> T doPostJsonForObject(String uri, String jsonStr, Map<String, String> headers, JavaType javaType) throws IOException {
+        return doPostJson(uri, jsonStr, headers, StreamingResponseHandler.decode(javaType));
+    }
+
+    /**
+     * 执行Post请求，实体类直接序列化到请求输出流，响应体直接反序列化为实体类
+     *
+     * @param uri     uri
+     * @param body    请求实体类
+     * @param headers 请求头信息
+     * @param clazz   响应实体类
+     * @param <T>     T
+     * @return 实体类，响应状态码为204时返回null
+     * @throws HttpResponseException 响应状态码非2xx
+     */
+    public <T> T doPostJsonForObject(String uri, Object body, Map<String, String> headers, Class<T> clazz) throws IOException {
+        final HttpPost httpPost = new HttpPost(uri);
+        httpPost.setEntity(JacksonEntity.json(body));
+        return send(httpPost, headers, StreamingResponseHandler.decode(clazz));
+    }
+
+    public <T> T doPostJsonForObject(String uri, Object body, Map<String, String> headers, JavaType javaType) throws IOException {
+        final HttpPost httpPost = new HttpPost(uri);
+        httpPost.setEntity(JacksonEntity.json(body));
+        return send(httpPost, headers, StreamingResponseHandler.decode(javaType));
+    }
+
+    public <T> T doPostXmlForObject(String uri, String xmlStr, Class<T> clazz) throws IOException {
+        return doPostXmlForObject(uri, xmlStr, null, clazz);
+    }
+
+    public <T> T doPostXmlForObject(String uri, String xmlStr, Map<String, String> headers, Class<T> clazz) throws IOException {
+        final HttpPost httpPost = new HttpPost(uri);
+        setXmlBody(xmlStr, httpPost);
+        return send(httpPost, headers, StreamingResponseHandler.decode(clazz));
+    }
+
+    public <T> T doPostXmlForObject(String uri, String xmlStr, Map<String, String> headers, JavaType javaType) throws IOException {
+        final HttpPost httpPost = new HttpPost(uri);
+        setXmlBody(xmlStr, httpPost);
+        return send(httpPost, headers, StreamingResponseHandler.decode(javaType));
+    }
+
+    /**
+     * 执行任意请求，响应体以流的方式交给处理器，不在内存中缓存
+     *
+     * @param request 请求
+     * @param headers 请求头信息
+     * @param handler 流式响应处理器
+     * @param <T>     T
+     * @return 处理结果
+     */
+    public <T> T execute(HttpUriRequestBase request, Map<String, String> headers, StreamingResponseHandler<T> handler) throws IOException {
+        return send(request, headers, handler);
+    }
+
+    public DownloadResult download(String uri, Path target) throws URISyntaxException, IOException {
+        return download(uri, target, null, false);
+    }
+
+    public DownloadResult download(String uri, Path target, Map<String, String> headers) throws URISyntaxException, IOException {
+        return download(uri, target, headers, false);
+    }
+
+    /**
+     * 下载文件，响应体通过{@link FileChannel}直接写入磁盘，不在内存中缓存
+     * <p>
+     * 开启断点续传且目标文件已存在时，以Range请求下载剩余部分：
+     * 服务端返回206时追加写入，返回200（不支持Range）时覆盖写入，返回416表示文件已完整。
+     * </p>
+     *
+     * @param uri     uri
+     * @param target  目标文件
+     * @param headers 请求头信息
+     * @param resume  是否断点续传
+     * @return 下载结果
+     * @throws HttpResponseException 响应状态码非2xx时抛出，目标文件不会被修改
+     */
+    public DownloadResult download(String uri, Path target, Map<String, String> headers, boolean resume) throws URISyntaxException, IOException {
+        final long existing = resume && Files.isRegularFile(target) ? Files.size(target) : 0L;
+        final Map<String, String> requestHeaders = headers == null ? new HashMap<>() : new HashMap<>(headers);
+        if (existing > 0) {
+            requestHeaders.put(HttpHeaders.RANGE, "bytes=" + existing + "-");
+        }
+        final long start = System.nanoTime();
+        final HttpGet httpGet = new HttpGet(setQuery(uri, null));
+        return send(httpGet, requestHeaders, response -> {
+            final int status = response.getStatus();
+            if (status == HttpStatus.SC_REQUESTED_RANGE_NOT_SATISFIABLE && existing > 0
+                    && existing == contentRangeTotal(response.getHeaders(HttpHeaders.CONTENT_RANGE))) {
+                // 本地文件已完整
+                return new DownloadResult(status, target, 0L, existing, true, System.nanoTime() - start);
+            }
+            if (status < HttpStatus.SC_SUCCESS || status >= HttpStatus.SC_REDIRECTION) {
+                throw new HttpResponseException(status, "Download failed: " + uri);
+            }
+            final boolean append = status == HttpStatus.SC_PARTIAL_CONTENT;
+            if (append && contentRangeStart(response.getHeaders(HttpHeaders.CONTENT_RANGE)) != existing) {
+                throw new HttpResponseException(status, "Unexpected Content-Range: " + uri);
+            }
+            final long position = append ? existing : 0L;
+            try (FileChannel fileChannel = FileChannel.open(target,
+                    StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+                if (!append) {
+                    fileChannel.truncate(0L);
+                }
+                final ReadableByteChannel channel = response.getChannel();
+                long written = 0L;
+                long transferred;
+                while ((transferred = fileChannel.transferFrom(channel, position + written, Long.MAX_VALUE)) > 0) {
+                    written += transferred;
+                }
+                return new DownloadResult(status, target, written, position + written, append, System.nanoTime() - start);
+            }
+        });
+    }
+
+    public CompletableFuture<HttpResponse> doGetAsync(String uri) throws URISyntaxException {
+        return doGetAsync(uri, null, null);
+    }
+
+    public CompletableFuture<HttpResponse> doGetAsync(String uri, Map<String, String> query) throws URISyntaxException {
+        return doGetAsync(uri, query, null);
+    }
+
+    /**
+     * 异步执行Get请求，请求由IO线程驱动，不阻塞调用线程
+     *
+     * @param uri     uri
+     * @param query   请求参数
+     * @param headers 请求头信息
+     * @return 请求结果
+     * @throws URISyntaxException e
+     */
+    public CompletableFuture<HttpResponse> doGetAsync(String uri, Map<String, String> query, Map<String, String> headers) throws URISyntaxException {
+        final HttpGet httpGet = new HttpGet(setQuery(uri, query));
+        return sendAsync(httpGet, headers);
+    }
+
+    public CompletableFuture<HttpResponse> doPostFormAsync(String uri, Map<String, String> params) {
+        return doPostFormAsync(uri, params, null);
+    }
+
+    public CompletableFuture<HttpResponse> doPostFormAsync(String uri, Map<String, String> params, Map<String, String> headers) {
+        final HttpPost httpPost = new HttpPost(uri);
+        return sendAsync(httpPost, setForm(params, headers, httpPost));
+    }
+
+    public CompletableFuture<HttpResponse> doPostJsonAsync(String uri, String jsonStr) {
+        return doPostJsonAsync(uri, jsonStr, null);
+    }
+
+    public CompletableFuture<HttpResponse> doPostJsonAsync(String uri, String jsonStr, Map<String, String> headers) {
+        final HttpPost httpPost = new HttpPost(uri);
+        setJsonBody(jsonStr, httpPost);
+        return sendAsync(httpPost, headers);
+    }
+
+    public CompletableFuture<HttpResponse> doPostJsonAsync(String uri, Object body) {
+        return doPostJsonAsync(uri, body, null);
+    }
+
+    public CompletableFuture<HttpResponse> doPostJsonAsync(String uri, Object body, Map<String, String> headers) {
+        final HttpPost httpPost = new HttpPost(uri);
+        httpPost.setEntity(JacksonEntity.json(body));
+        return sendAsync(httpPost, headers);
+    }
+
+    public CompletableFuture<HttpResponse> doPostMultipartFormAsync(String uri, HttpFile httpFile, Map<String, String> params) {
+        return doPostMultipartFormAsync(uri, httpFile, params, null);
+    }
+
+    public CompletableFuture<HttpResponse> doPostMultipartFormAsync(String uri, HttpFile httpFile, Map<String, String> params, Map<String, String> headers) {
+        return sendAsync(newMultipartPost(uri, null, Collections.singletonList(httpFile), params), headers);
+    }
+
+    public CompletableFuture<HttpResponse> doPostMultipartFormAsync(String uri, HttpFiles httpFiles, Map<String, String> params) {
+        return doPostMultipartFormAsync(uri, httpFiles, params, null);
+    }
+
+    public CompletableFuture<HttpResponse> doPostMultipartFormAsync(String uri, HttpFiles httpFiles, Map<String, String> params, Map<String, String> headers) {
+        return sendAsync(newMultipartPost(uri, httpFiles, null, params), headers);
+    }
+
+    public CompletableFuture<HttpResponse> doPostMultipartFormAsync(String uri, List<HttpFile> httpFiles, Map<String, String> params) {
+        return doPostMultipartFormAsync(uri, httpFiles, params, null);
+    }
+
+    public CompletableFuture<HttpResponse> doPostMultipartFormAsync(String uri, List<HttpFile> httpFiles, Map<String, String> params, Map<String, String> headers) {
+        return sendAsync(newMultipartPost(uri, null, httpFiles, params), headers);
+    }
+
+    public CompletableFuture<HttpResponse> doPostMultipartFormAsync(String uri, HttpFiles httpFiles, List<HttpFile> httpFileList, Map<String, String> params) {
+        return doPostMultipartFormAsync(uri, httpFiles, httpFileList, params, null);
+    }
+
+    public CompletableFuture<HttpResponse> doPostMultipartFormAsync(String uri, HttpFiles httpFiles, List<HttpFile> httpFileList, Map<String, String> params, Map<String, String> headers) {
+        return sendAsync(newMultipartPost(uri, httpFiles, httpFileList, params), headers);
+    }
+
+    public CompletableFuture<HttpResponse> doPutJsonAsync(String uri, String jsonStr) {
+        return doPutJsonAsync(uri, jsonStr, null);
+    }
+
+    public CompletableFuture<HttpResponse> doPutJsonAsync(String uri, String jsonStr, Map<String, String> headers) {
+        final HttpPut httpPut = new HttpPut(uri);
+        setJsonBody(jsonStr, httpPut);
+        return sendAsync(httpPut, headers);
+    }
+
+    public CompletableFuture<HttpResponse> doPutJsonAsync(String uri, Object body) {
+        return doPutJsonAsync(uri, body, null);
+    }
+
+    public CompletableFuture<HttpResponse> doPutJsonAsync(String uri, Object body, Map<String, String> headers) {
+        final HttpPut httpPut = new HttpPut(uri);
+        httpPut.setEntity(JacksonEntity.json(body));
+        return sendAsync(httpPut, headers);
+    }
+
+    public CompletableFuture<HttpResponse> doDeleteAsync(String uri) throws URISyntaxException {
+        return doDeleteAsync(uri, null, null);
+    }
+
+    public CompletableFuture<HttpResponse> doDeleteAsync(String uri, Map<String, String> query) throws URISyntaxException {
+        return doDeleteAsync(uri, query, null);
+    }
+
+    public CompletableFuture<HttpResponse> doDeleteAsync(String uri, Map<String, String> query, Map<String, String> headers) throws URISyntaxException {
+        final HttpDelete httpDelete = new HttpDelete(setQuery(uri, query));
+        return sendAsync(httpDelete, headers);
+    }
+
+    /**
+     * 关闭连接池，关闭后实例不可再用
+     */
+    @Override
+    public void close() {
+        this.client.close(CloseMode.GRACEFUL);
+        if (this.hedgeScheduler != null) {
+            this.hedgeScheduler.shutdownNow();
+        }
+        synchronized (this) {
+            if (this.asyncClient != null) {
+                this.asyncClient.close(CloseMode.GRACEFUL);
+                this.asyncExecutor.shutdown();
+            }
+        }
+    }
+
+    /**
+     * 设置表单请求体
+     *
+     * @param params  请求参数
+     * @param headers 请求头
+     * @param method  Http请求
+     * @return 补充Content-Type后的请求头
+     */
+    private static Map<String, String> setForm(Map<String, String> params, Map<String, String> headers, HttpUriRequestBase method) {
+        final ContentType contentType;
+        if (MapUtils.isEmpty(headers)) {
+            contentType = ContentType.APPLICATION_FORM_URLENCODED;
+            headers = new HashMap<String, String>() {{
+                put(HttpHeaders.CONTENT_TYPE, contentType.toString());
+            }};
+        } else {
+            final String mimeType = headers.get(HttpHeaders.CONTENT_TYPE);
+            contentType =
+                    StringUtils.isNotBlank(mimeType)
+                            ? ContentType.parse(mimeType)
+                            : ContentType.APPLICATION_FORM_URLENCODED;
+            headers.put(HttpHeaders.CONTENT_TYPE, contentType.toString());
+        }
+        HttpClientUtils.setParams(params, method, contentType.getCharset());
+        return headers;
+    }
+
+    /**
+     * 构建multipart/form-data请求
+     *
+     * @param uri          uri
+     * @param httpFiles    同一key下的多个文件，可为null
+     * @param httpFileList 各自指定key的文件，可为null
+     * @param params       文本参数
+     * @return HttpPost
+     */
+    private static HttpPost newMultipartPost(String uri, HttpFiles httpFiles, List<HttpFile> httpFileList, Map<String, String> params) {
+        final MultipartEntityBuilder builder = MultipartEntityBuilder.create();
+        if (httpFiles != null) {
+            addBinaryBody(builder, httpFiles);
+        }
+        if (httpFileList != null) {
+            httpFileList.forEach(httpFile -> addBinaryBody(builder, httpFile));
+        }
+        return HttpClientUtils.setParams(uri, params, builder);
+    }
+
+    private static URI setQuery(String uri, Map<String, String> query) throws URISyntaxException {
+        final URIBuilder uriBuilder = new URIBuilder(new URI(uri));
+        uriBuilder.setCharset(StandardCharsets.UTF_8);
+        if (MapUtils.isNotEmpty(query)) {
+            query.values().removeIf(Objects::isNull);
+            query.forEach(uriBuilder::addParameter);
+        }
+        return uriBuilder.build();
+    }
+
+    private static void setJsonBody(String jsonStr, HttpUriRequestBase method) {
+        setRowBody(jsonStr, method, APPLICATION_JSON);
+    }
+
+    private static void setXmlBody(String xmlStr, HttpUriRequestBase method) {
+        setRowBody(xmlStr, method, APPLICATION_XML);
+    }
+
+    private static void setRowBody(String rowStr, HttpUriRequestBase method, ContentType contentType) {
+        final StringEntity stringEntity = new StringEntity(rowStr, contentType);
+        method.setEntity(stringEntity);
+    }
+
+    /**
+     * 发送请求
+     *
+     * @param request request
+     * @param headers 请求头
+     * @return 请求字符串结果
+     */
+    private HttpResponse send(HttpUriRequestBase request, Map<String, String> headers) throws IOException {
+        if (this.singleFlight == null && this.cache == null) {
+            return exchange(request, headers);
+        }
+        // 合并请求及缓存均需根据请求头判断
+        setHeaders(request, headers);
+        if (this.singleFlight != null) {
+            return this.singleFlight.execute(request, flightRequest -> sendCached(flightRequest, headers));
+        }
+        return sendCached(request, headers);
+    }
+
+    private HttpResponse sendCached(HttpUriRequestBase request, Map<String, String> headers) throws IOException {
+        if (this.cache != null) {
+            return this.cache.execute(request, cacheRequest -> exchange(cacheRequest, headers));
+        }
+        return exchange(request, headers);
+    }
+
+    private HttpResponse exchange(HttpUriRequestBase request, Map<String, String> headers) throws IOException {
+        if (this.transport == HttpTransport.HTTP_2 || isHedged(request)) {
+            // HTTP/2仅由异步客户端支持，同步调用等待异步结果
+            return await(sendAsync(request, headers));
+        }
+        prepare(request, headers);
+        final RoutePermit permit = acquire(request);
+        try {
+            final HttpResponse httpResponse = this.client.execute(request, response -> {
+                // 获取请求返回消息
+                final HttpEntity entity = response.getEntity();
+                return new HttpResponse(
+                        response.getCode(),
+                        response.getHeaders(),
+                        entity == null ? new byte[0] : EntityUtils.toByteArray(entity),
+                        contentType(response));
+            });
+            permit.onResponse(httpResponse.getStatus());
+            return httpResponse;
+        } catch (IOException | RuntimeException e) {
+            permit.onFailure(e);
+            throw e;
+        }
+    }
+
+    /**
+     * 发送请求，响应体以流的方式交给处理器
+     *
+     * @param request request
+     * @param headers 请求头
+     * @param handler 流式响应处理器
+     * @param <T>     T
+     * @return 处理结果
+     */
+    private <T> T send(HttpUriRequestBase request, Map<String, String> headers, StreamingResponseHandler<T> handler) throws IOException {
+        if (this.transport == HttpTransport.HTTP_2) {
+            return await(sendAsync(request, headers, new StreamingResponseConsumer<>(handler, asyncExecutor(), this.contentCompression), Function.identity()));
+        }
+        prepare(request, headers);
+        final RoutePermit permit = acquire(request);
+        try {
+            return this.client.execute(request, response -> {
+                // 收到响应头即按状态码记录熔断结果，舱壁名额及节点统计在处理器读完响应体后释放，处理器的异常不计入失败
+                permit.onHeaders(response.getCode());
+                final HttpEntity entity = response.getEntity();
+                try (InputStream body = entity == null ? new ByteArrayInputStream(new byte[0]) : entity.getContent()) {
+                    return handler.handle(new StreamingResponse(response.getCode(), response.getHeaders(), body, contentType(response)));
+                } finally {
+                    permit.onResponse(response.getCode());
+                }
+            });
+        } catch (IOException | RuntimeException e) {
+            // 只统计发送请求及接收响应头时的异常
+            if (!permit.hasResponse()) {
+                permit.onFailure(e);
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * 异步发送请求
+     *
+     * @param request request
+     * @param headers 请求头
+     * @return 请求结果，取消该Future将同时取消底层请求
+     */
+    private CompletableFuture<HttpResponse> sendAsync(HttpUriRequestBase request, Map<String, String> headers) {
+        if (!isHedged(request)) {
+            return sendAsyncOnce(request, headers);
+        }
+        final URI uri;
+        try {
+            uri = request.getUri();
+        } catch (URISyntaxException e) {
+            final CompletableFuture<HttpResponse> failed = new CompletableFuture<>();
+            failed.completeExceptionally(e);
+            return failed;
+        }
+        return HedgedExchange.start(this.hedgePolicy, this.hedgeScheduler, attempt -> {
+            if (attempt == 0) {
+                return sendAsyncOnce(request, headers);
+            }
+            // 对冲请求使用独立的请求对象，避免与原请求并发修改请求头
+            final HttpUriRequestBase hedge;
+            try {
+                hedge = new HttpUriRequestBase(request.getMethod(), this.hedgePolicy.target(uri, attempt));
+            } catch (URISyntaxException e) {
+                final CompletableFuture<HttpResponse> failed = new CompletableFuture<>();
+                failed.completeExceptionally(e);
+                return failed;
+            }
+            hedge.setHeaders(request.getHeaders());
+            hedge.setEntity(request.getEntity());
+            return sendAsyncOnce(hedge, headers);
+        });
+    }
+
+    /**
+     * 选择负载均衡节点并申请熔断及舱壁名额，被拒绝时请求不会占用连接池中的连接
+     *
+     * @param request request，地址为服务名时替换为所选节点的地址
+     * @return 请求名额
+     * @throws IOException 熔断器打开或舱壁已满
+     */
+    private RoutePermit acquire(HttpUriRequestBase request) throws IOException {
+        if (this.circuitBreakerPolicy == null && this.bulkhead == null && this.loadBalancers.isEmpty()) {
+            return RoutePermit.NONE;
+        }
+        try {
+            URI uri = request.getUri();
+            LoadBalancer.Endpoint endpoint = null;
+            final LoadBalancer loadBalancer = uri.getHost() == null ? null : this.loadBalancers.get(uri.getHost().toLowerCase(Locale.ROOT));
+            if (loadBalancer != null) {
+                endpoint = loadBalancer.choose();
+                uri = endpoint.resolve(uri);
+                request.setUri(uri);
+            }
+            return RoutePermit.acquire(uri, this.circuitBreakerPolicy, this.bulkhead, endpoint);
+        } catch (URISyntaxException e) {
+            throw new ClientProtocolException(e.getMessage(), e);
+        }
+    }
+
+    private boolean isHedged(HttpUriRequestBase request) {
+        return this.hedgePolicy != null && this.hedgePolicy.accepts(request.getMethod());
+    }
+
+    private CompletableFuture<HttpResponse> sendAsyncOnce(HttpUriRequestBase request, Map<String, String> headers) {
+        return sendAsync(request, headers, SimpleResponseConsumer.create(), response -> {
+            final Header contentEncoding = response.getFirstHeader(HttpHeaders.CONTENT_ENCODING);
+            if (!this.contentCompression || contentEncoding == null || !ContentCoding.isDecodable(contentEncoding.getValue())) {
+                return new HttpResponse(response.getCode(), response.getHeaders(), response.getBodyBytes(), contentType(response));
+            }
+            try {
+                return new HttpResponse(
+                        response.getCode(),
+                        ContentCoding.stripHeaders(response.getHeaders()),
+                        ContentCoding.decode(response.getBodyBytes(), contentEncoding.getValue()),
+                        contentType(response));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    /**
+     * 异步发送请求
+     *
+     * @param request          request
+     * @param headers          请求头
+     * @param responseConsumer 响应消费者
+     * @param mapper           响应结果转换
+     * @param <R>              响应消费者结果
+     * @param <T>              T
+     * @return 请求结果，取消该Future将同时取消底层请求
+     */
+    private <R, T> CompletableFuture<T> sendAsync(HttpUriRequestBase request,
+                                                  Map<String, String> headers,
+                                                  AsyncResponseConsumer<R> responseConsumer,
+                                                  Function<R, T> mapper) {
+        prepare(request, headers);
+        if (this.contentCompression && !request.containsHeader(HttpHeaders.ACCEPT_ENCODING)) {
+            // 异步客户端不会自动声明及解压，由响应消费者解压
+            request.setHeader(HttpHeaders.ACCEPT_ENCODING, ContentCoding.ACCEPT_ENCODING);
+        }
+        final CompletableFuture<T> result = new CompletableFuture<>();
+        final CloseableHttpAsyncClient asyncClient = asyncClient();
+        final AsyncRequestProducer requestProducer;
+        final RoutePermit permit;
+        try {
+            permit = acquire(request);
+        } catch (IOException e) {
+            result.completeExceptionally(e);
+            return result;
+        }
+        result.whenComplete((response, throwable) -> permit.onComplete(throwable));
+        try {
+            final BasicHttpRequest asyncRequest = new BasicHttpRequest(request.getMethod(), request.getUri());
+            asyncRequest.setHeaders(request.getHeaders());
+            requestProducer = new BasicRequestProducer(asyncRequest, ClassicEntityProducer.of(request.getEntity(), this.asyncExecutor));
+        } catch (URISyntaxException | IOException e) {
+            result.completeExceptionally(e);
+            return result;
+        }
+        final Future<R> future = asyncClient.execute(
+                requestProducer,
+                permit.wrap(responseConsumer),
+                new FutureCallback<R>() {
+                    @Override
+                    public void completed(R response) {
+                        try {
+                            result.complete(mapper.apply(response));
+                        } catch (UncheckedIOException e) {
+                            result.completeExceptionally(e.getCause());
+                        } catch (RuntimeException e) {
+                            result.completeExceptionally(e);
+                        }
+                    }
+
+                    @Override
+                    public void failed(Exception ex) {
+                        result.completeExceptionally(ex);
+                    }
+
+                    @Override
+                    public void cancelled() {
+                        result.cancel(false);
+                    }
+                });
+        result.whenComplete((response, throwable) -> {
+            if (result.isCancelled()) {
+                future.cancel(true);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * 解析Content-Range的起始位置，如：bytes 100-199/200
+     */
+    private static long contentRangeStart(List<Header> contentRange) {
+        if (contentRange.isEmpty()) {
+            return -1L;
+        }
+        final String value = contentRange.get(0).getValue().trim();
+        final int dash = value.indexOf('-');
+        return dash > 6 ? Long.parseLong(value.substring(6, dash).trim()) : -1L;
+    }
+
+    /**
+     * 解析Content-Range中"/"之后的文件总大小，未知时返回-1
+     */
+    private static long contentRangeTotal(List<Header> contentRange) {
+        if (contentRange.isEmpty()) {
+            return -1L;
+        }
+        final String value = contentRange.get(0).getValue().trim();
+        final String total = value.substring(value.lastIndexOf('/') + 1).trim();
+        return "*".equals(total) ? -1L : Long.parseLong(total);
+    }
+
+    private static ContentType contentType(MessageHeaders response) {
+        final Header header = response.getFirstHeader(HttpHeaders.CONTENT_TYPE);
+        return header == null ? null : ContentType.parse(header.getValue());
+    }
+
+    /**
+     * 等待异步请求结果
+     *
+     * @param future 异步请求
+     * @param <T>    T
+     * @return 请求结果
+     * @throws IOException 请求失败或等待被中断
+     */
+    private static <T> T await(CompletableFuture<T> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException(e.getMessage());
+        } catch (ExecutionException e) {
+            final Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new IOException(cause);
+        }
+    }
+
+    private Executor asyncExecutor() {
+        asyncClient();
+        return this.asyncExecutor;
+    }
+
+    /**
+     * 获取异步客户端，首次调用时创建并启动IO反应器
+     *
+     * @return {@link CloseableHttpAsyncClient}
+     */
+    private CloseableHttpAsyncClient asyncClient() {
+        CloseableHttpAsyncClient asyncClient = this.asyncClient;
+        if (asyncClient == null) {
+            synchronized (this) {
+                asyncClient = this.asyncClient;
+                if (asyncClient == null) {
+                    final IOReactorConfig ioReactorConfig = IOReactorConfig.custom().setIoThreadCount(this.ioThreads).build();
+                    if (this.transport == HttpTransport.HTTP_2) {
+                        // HTTP/2下每个路由仅维持一个多路复用连接，无需连接池
+                        final H2AsyncClientBuilder clientBuilder =
+                                HttpAsyncClients
+                                        .customHttp2()
+                                        .setH2Config(this.h2Config)
+                                        .setDefaultConnectionConfig(this.connectionConfig)
+                                        .setDefaultRequestConfig(this.requestConfig)
+                                        .setIOReactorConfig(ioReactorConfig);
+                        if (this.evictIdleTime != null) {
+                            clientBuilder.evictIdleConnections(this.evictIdleTime);
+                        }
+                        if (this.retryPolicy != null) {
+                            clientBuilder.setRetryStrategy(this.retryPolicy);
+                        }
+                        asyncClient = clientBuilder.build();
+                    } else {
+                        final PoolingAsyncClientConnectionManager asyncConnManager =
+                                PoolingAsyncClientConnectionManagerBuilder
+                                        .create()
+                                        .setMaxConnTotal(this.maxTotal)
+                                        .setMaxConnPerRoute(this.defaultMaxPerRoute)
+                                        .setDefaultConnectionConfig(this.connectionConfig)
+                                        .build();
+                        this.maxPerRoute.forEach(asyncConnManager::setMaxPerRoute);
+                        final HttpAsyncClientBuilder clientBuilder =
+                                HttpAsyncClients
+                                        .custom()
+                                        .setConnectionManager(asyncConnManager)
+                                        .setDefaultRequestConfig(this.requestConfig)
+                                        .setIOReactorConfig(ioReactorConfig);
+                        if (this.keepAliveStrategy != null) {
+                            clientBuilder.setKeepAliveStrategy(this.keepAliveStrategy);
+                        }
+                        if (this.evictIdleTime != null) {
+                            clientBuilder.evictExpiredConnections().evictIdleConnections(this.evictIdleTime);
+                        }
+                        if (this.retryPolicy != null) {
+                            clientBuilder.setRetryStrategy(this.retryPolicy);
+                        }
+                        asyncClient = clientBuilder.build();
+                    }
+                    this.asyncExecutor = Executors.newCachedThreadPool(new DefaultThreadFactory("chanjx-http-async-entity", true));
+                    asyncClient.start();
+                    this.asyncClient = asyncClient;
+                }
+            }
+        }
+        return asyncClient;
+    }
+
+    /**
+     * 设置请求头，并按配置压缩请求体
+     *
+     * @param request request
+     * @param headers 请求头
+     */
+    private void prepare(HttpUriRequestBase request, Map<String, String> headers) {
+        setHeaders(request, headers);
+        request.setEntity(ContentCoding.compress(request.getEntity(), this.requestCompressionThreshold));
+    }
+
+    private static void setHeaders(HttpUriRequestBase request, Map<String, String> headers) {
+        // 设置请求头
+        if (headers != null) {
+            headers.forEach(request::setHeader);
+        }
+    }
+
+    private static void addBinaryBody(MultipartEntityBuilder builder, HttpFiles httpFiles) {
+        for (BaseFile baseFile : httpFiles.getFiles()) {
+            builder.addPart(httpFiles.getKey(), baseFile.toContentBody());
+        }
+    }
+
+    private static void addBinaryBody(MultipartEntityBuilder builder, HttpFile httpFile) {
+        builder.addPart(httpFile.getKey(), httpFile.toContentBody());
+    }
+
+    /**
+     * {@link HttpClientEngine}构建器，未设置的项沿用{@link HttpClientUtils}原有的默认配置
+     */
+    public static class Builder {
+
+        private int maxTotal = 256;
+
+        private int defaultMaxPerRoute = 128;
+
+        private final Map<HttpRoute, Integer> maxPerRoute = new HashMap<>();
+
+        private Timeout connectTimeout;
+
+        private Timeout socketTimeout;
+
+        private Timeout connectionRequestTimeout = Timeout.ofMilliseconds(30L);
+
+        private Timeout responseTimeout = Timeout.ofMilliseconds(15L);
+
+        private TimeValue keepAlive = TimeValue.ofSeconds(5L);
+
+        private ConnectionKeepAliveStrategy keepAliveStrategy;
+
+        private TimeValue timeToLive;
+
+        private TimeValue evictIdleTime;
+
+        private int ioThreads = Runtime.getRuntime().availableProcessors();
+
+        private HttpTransport transport = HttpTransport.HTTP_1_1;
+
+        private final H2Config.Builder h2Config = H2Config.custom();
+
+        private boolean contentCompression = true;
+
+        private long requestCompressionThreshold = -1L;
+
+        private HttpCache cache;
+
+        private String[] singleFlightHeaders;
+
+        private CircuitBreakerPolicy circuitBreakerPolicy;
+
+        private int maxConcurrentCalls;
+
+        private final Map<String, Integer> maxConcurrentCallsPerRoute = new HashMap<>();
+
+        private final Map<String, LoadBalancer> loadBalancers = new HashMap<>();
+
+        private RetryPolicy retryPolicy;
+
+        private HedgePolicy hedgePolicy;
+
+        private Builder() {
+        }
+
+        /**
+         * 连接池最大连接数
+         *
+         * @param maxTotal 最大连接数
+         * @return this
+         */
+        public Builder maxTotal(int maxTotal) {
+            this.maxTotal = maxTotal;
+            return this;
+        }
+
+        /**
+         * 每个路由默认最大连接数
+         *
+         * @param defaultMaxPerRoute 每个路由最大连接数
+         * @return this
+         */
+        public Builder defaultMaxPerRoute(int defaultMaxPerRoute) {
+            this.defaultMaxPerRoute = defaultMaxPerRoute;
+            return this;
+        }
+
+        /**
+         * 指定路由的最大连接数
+         *
+         * @param uri 目标地址，如：https://api.chanjx.com
+         * @param max 最大连接数
+         * @return this
+         */
+        public Builder maxPerRoute(String uri, int max) {
+            final URI target = URI.create(uri);
+            final boolean secure = URIScheme.HTTPS.same(target.getScheme());
+            final int port = target.getPort() > 0 ? target.getPort() : secure ? 443 : 80;
+            final HttpHost host = new HttpHost(target.getScheme(), target.getHost(), port);
+            this.maxPerRoute.put(new HttpRoute(host, null, secure), max);
+            return this;
+        }
+
+        /**
+         * 建立连接超时时间
+         *
+         * @param connectTimeout 超时时间
+         * @return this
+         */
+        public Builder connectTimeout(Timeout connectTimeout) {
+            this.connectTimeout = connectTimeout;
+            return this;
+        }
+
+        /**
+         * Socket读超时时间
+         *
+         * @param socketTimeout 超时时间
+         * @return this
+         */
+        public Builder socketTimeout(Timeout socketTimeout) {
+            this.socketTimeout = socketTimeout;
+            return this;
+        }
+
+        /**
+         * 从连接池获取连接的超时时间
+         *
+         * @param connectionRequestTimeout 超时时间
+         * @return this
+         */
+        public Builder connectionRequestTimeout(Timeout connectionRequestTimeout) {
+            this.connectionRequestTimeout = connectionRequestTimeout;
+            return this;
+        }
+
+        /**
+         * 等待响应的超时时间
+         *
+         * @param responseTimeout 超时时间
+         * @return this
+         */
+        public Builder responseTimeout(Timeout responseTimeout) {
+            this.responseTimeout = responseTimeout;
+            return this;
+        }
+
+        /**
+         * 服务端未声明Keep-Alive时，连接的默认保活时间
+         *
+         * @param keepAlive 保活时间
+         * @return this
+         */
+        public Builder keepAlive(TimeValue keepAlive) {
+            this.keepAlive = keepAlive;
+            return this;
+        }
+
+        /**
+         * 自定义连接保活策略，优先于{@link #keepAlive(TimeValue)}
+         *
+         * @param keepAliveStrategy 保活策略
+         * @return this
+         */
+        public Builder keepAliveStrategy(ConnectionKeepAliveStrategy keepAliveStrategy) {
+            this.keepAliveStrategy = keepAliveStrategy;
+            return this;
+        }
+
+        /**
+         * 连接最大存活时间，超过后不再复用
+         *
+         * @param timeToLive 存活时间
+         * @return this
+         */
+        public Builder timeToLive(TimeValue timeToLive) {
+            this.timeToLive = timeToLive;
+            return this;
+        }
+
+        /**
+         * 后台定时清理过期连接及空闲超过指定时间的连接
+         *
+         * @param evictIdleTime 最大空闲时间
+         * @return this
+         */
+        public Builder evictIdleConnections(TimeValue evictIdleTime) {
+            this.evictIdleTime = evictIdleTime;
+            return this;
+        }
+
+        /**
+         * 异步客户端IO线程数，默认为CPU核数
+         *
+         * @param ioThreads IO线程数
+         * @return this
+         */
+        public Builder ioThreads(int ioThreads) {
+            this.ioThreads = ioThreads;
+            return this;
+        }
+
+        /**
+         * 传输协议，默认{@link HttpTransport#HTTP_1_1}。
+         * 使用{@link HttpTransport#HTTP_2}时同步请求同样经由异步客户端发送，连接池相关配置不再生效
+         *
+         * @param transport 传输协议
+         * @return this
+         */
+        public Builder transport(HttpTransport transport) {
+            this.transport = transport;
+            return this;
+        }
+
+        /**
+         * HTTP/2单个连接允许的最大并发流数
+         *
+         * @param maxConcurrentStreams 最大并发流数
+         * @return this
+         */
+        public Builder maxConcurrentStreams(int maxConcurrentStreams) {
+            this.h2Config.setMaxConcurrentStreams(maxConcurrentStreams);
+            return this;
+        }
+
+        /**
+         * 是否声明Accept-Encoding并自动解压gzip、deflate响应体，默认开启
+         *
+         * @param contentCompression 是否开启
+         * @return this
+         */
+        public Builder contentCompression(boolean contentCompression) {
+            this.contentCompression = contentCompression;
+            return this;
+        }
+
+        /**
+         * 文本类请求体（json、xml、表单等）不小于阈值时以gzip压缩发送，长度未知的请求体总是压缩，默认不压缩。
+         * 需确认服务端支持Content-Encoding: gzip的请求体
+         *
+         * @param threshold 压缩阈值（字节），小于0时不压缩
+         * @return this
+         */
+        public Builder requestCompressionThreshold(long threshold) {
+            this.requestCompressionThreshold = threshold;
+            return this;
+        }
+
+        /**
+         * 开启响应缓存，只对返回{@link HttpResponse}的同步请求生效，流式及异步请求不经过缓存
+         *
+         * @param cache 响应缓存
+         * @return this
+         */
+        public Builder cache(HttpCache cache) {
+            this.cache = cache;
+            return this;
+        }
+
+        /**
+         * 开启请求合并：并发的相同GET、HEAD请求只发送一次，所有调用方共享同一个{@link HttpResponse}，
+         * 适用于缓存过期时大量线程同时请求同一地址的场景，只对返回{@link HttpResponse}的同步请求生效
+         *
+         * @param keyHeaders 除方法及uri外，取值也需相同才合并的请求头，如Authorization
+         * @return this
+         */
+        public Builder singleFlight(String... keyHeaders) {
+            this.singleFlightHeaders = keyHeaders;
+            return this;
+        }
+
+        /**
+         * 请求重试策略，同步及异步客户端均生效，未设置时使用HttpClient默认策略
+         *
+         * @param retryPolicy 重试策略
+         * @return this
+         */
+        public Builder retryPolicy(RetryPolicy retryPolicy) {
+            this.retryPolicy = retryPolicy;
+            return this;
+        }
+
+        /**
+         * 开启对冲请求，只对GET、HEAD请求生效，开启后同步的GET、HEAD请求同样经由异步客户端发送
+         *
+         * @param hedgePolicy 对冲策略
+         * @return this
+         */
+        public Builder hedgePolicy(HedgePolicy hedgePolicy) {
+            this.hedgePolicy = hedgePolicy;
+            return this;
+        }
+
+        /**
+         * 开启按路由熔断，同步及异步请求均生效
+         *
+         * @param circuitBreakerPolicy 熔断策略
+         * @return this
+         */
+        public Builder circuitBreaker(CircuitBreakerPolicy circuitBreakerPolicy) {
+            this.circuitBreakerPolicy = circuitBreakerPolicy;
+            return this;
+        }
+
+        /**
+         * 每个路由的最大并发请求数，超出时以{@link BulkheadFullException}立即失败，不等待连接池，默认不限制
+         *
+         * @param maxConcurrentCalls 最大并发请求数，不大于0时不限制
+         * @return this
+         */
+        public Builder bulkhead(int maxConcurrentCalls) {
+            this.maxConcurrentCalls = maxConcurrentCalls;
+            return this;
+        }
+
+        /**
+         * 指定路由的最大并发请求数
+         *
+         * @param uri                目标地址，如：https://api.chanjx.com
+         * @param maxConcurrentCalls 最大并发请求数，不大于0时不限制
+         * @return this
+         */
+        public Builder bulkhead(String uri, int maxConcurrentCalls) {
+            this.maxConcurrentCallsPerRoute.put(RoutePermit.route(URI.create(uri)), maxConcurrentCalls);
+            return this;
+        }
+
+        /**
+         * 开启客户端负载均衡，地址主机名为{@link LoadBalancer#getServiceName()}的请求分发到该服务的各节点，
+         * 如：doGet("http://user-service/users/1")，可多次调用以注册多个服务
+         *
+         * @param loadBalancer 负载均衡器
+         * @return this
+         */
+        public Builder loadBalancer(LoadBalancer loadBalancer) {
+            this.loadBalancers.put(loadBalancer.getServiceName().toLowerCase(Locale.ROOT), loadBalancer);
+            return this;
+        }
+
+        public HttpClientEngine build() {
+            return new HttpClientEngine(this);
+        }
+    }
+}
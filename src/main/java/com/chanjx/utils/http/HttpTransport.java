@@ -0,0 +1,21 @@
+package com.chanjx.utils.http;
+
+/**
+ * 客户端使用的传输协议
+ *
+ * @author chanjx
+ * @since 2026/10/17
+ **/
+public enum HttpTransport {
+
+    /**
+     * HTTP/1.1，每个连接同一时刻只处理一个请求，并发依赖连接池中的多个连接
+     */
+    HTTP_1_1,
+
+    /**
+     * HTTP/2，同一路由的请求以多路复用的方式共用少量连接；http协议使用h2c（prior knowledge），https协议通过ALPN协商
+     */
+    HTTP_2,
+
+}
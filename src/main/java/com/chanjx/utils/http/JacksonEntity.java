@@ -0,0 +1,137 @@
+package com.chanjx.utils.http;
+
+import com.chanjx.utils.JsonUtils;
+import com.chanjx.utils.XmlUtils;
+import org.apache.hc.core5.http.ContentType;
+import org.apache.hc.core5.http.io.entity.AbstractHttpEntity;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * 将实体类直接序列化到请求输出流的请求体，不经过String
+ * <p>
+ * 默认以chunked方式发送，序列化结果直接写入连接；每次发送都重新序列化，因此可重复发送（如重试）。
+ * 服务端要求Content-Length时使用{@link #buffered()}，只序列化一次并缓存结果。
+ * </p>
+ *
+ * @author chanjx
+ * @since 2026/10/17
+ **/
+public class JacksonEntity extends AbstractHttpEntity {
+
+    private final Object body;
+
+    private final BodyWriter bodyWriter;
+
+    /**
+     * 非chunked方式发送时缓存的序列化结果
+     */
+    private byte[] bytes;
+
+    private JacksonEntity(Object body, ContentType contentType, BodyWriter bodyWriter, boolean chunked) {
+        super(contentType, null, chunked);
+        this.body = body;
+        this.bodyWriter = bodyWriter;
+    }
+
+    /**
+     * json请求体
+     *
+     * @param body 实体类
+     * @return {@link JacksonEntity}
+     */
+    public static JacksonEntity json(Object body) {
+        return new JacksonEntity(body, ContentType.APPLICATION_JSON, JsonUtils::obj2Json, true);
+    }
+
+    /**
+     * json请求体，忽略实体类为空的字段
+     *
+     * @param body 实体类
+     * @return {@link JacksonEntity}
+     */
+    public static JacksonEntity jsonNonNull(Object body) {
+        return new JacksonEntity(body, ContentType.APPLICATION_JSON, JsonUtils::obj2JsonNonNull, true);
+    }
+
+    /**
+     * xml请求体，以UTF-8编码
+     *
+     * @param body 实体类
+     * @return {@link JacksonEntity}
+     */
+    public static JacksonEntity xml(Object body) {
+        return new JacksonEntity(body, ContentType.APPLICATION_XML, XmlUtils::obj2Xml, true);
+    }
+
+    /**
+     * 转为非chunked方式发送，首次发送时序列化并缓存结果，以便设置Content-Length
+     *
+     * @return 新的请求体
+     */
+    public JacksonEntity buffered() {
+        return new JacksonEntity(this.body, ContentType.parse(getContentType()), this.bodyWriter, false);
+    }
+
+    @Override
+    public boolean isRepeatable() {
+        return true;
+    }
+
+    @Override
+    public long getContentLength() {
+        if (isChunked()) {
+            return -1L;
+        }
+        try {
+            return toByteArray().length;
+        } catch (IOException e) {
+            // 序列化失败时按长度未知处理，异常在写出时抛出
+            return -1L;
+        }
+    }
+
+    @Override
+    public InputStream getContent() throws IOException {
+        return new ByteArrayInputStream(toByteArray());
+    }
+
+    @Override
+    public void writeTo(OutputStream outStream) throws IOException {
+        if (isChunked()) {
+            this.bodyWriter.write(this.body, outStream);
+        } else {
+            outStream.write(toByteArray());
+        }
+    }
+
+    @Override
+    public boolean isStreaming() {
+        return false;
+    }
+
+    @Override
+    public void close() {
+        // 无需释放资源
+    }
+
+    private byte[] toByteArray() throws IOException {
+        byte[] bytes = this.bytes;
+        if (bytes == null) {
+            final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+            this.bodyWriter.write(this.body, outputStream);
+            this.bytes = bytes = outputStream.toByteArray();
+        }
+        return bytes;
+    }
+
+    @FunctionalInterface
+    private interface BodyWriter {
+
+        void write(Object body, OutputStream outputStream) throws IOException;
+    }
+}
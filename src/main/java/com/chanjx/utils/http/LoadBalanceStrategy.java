@@ -0,0 +1,26 @@
+package com.chanjx.utils.http;
+
+/**
+ * 客户端负载均衡策略
+ *
+ * @author chanjx
+ * @since 2026/10/17
+ **/
+public enum LoadBalanceStrategy {
+
+    /**
+     * 轮询
+     */
+    ROUND_ROBIN,
+
+    /**
+     * 选择进行中请求数最少的节点，数量相同时轮询
+     */
+    LEAST_OUTSTANDING,
+
+    /**
+     * 随机取两个节点，选择 (进行中请求数 + 1) * 平均耗时 较小的一个，兼顾负载与延迟且无需扫描全部节点
+     */
+    POWER_OF_TWO_CHOICES,
+
+}
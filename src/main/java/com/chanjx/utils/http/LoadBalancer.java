@@ -0,0 +1,395 @@
+package com.chanjx.utils.http;
+
+import org.apache.hc.core5.util.TimeValue;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 客户端负载均衡：将发往逻辑服务名的请求分发到该服务的多个节点
+ * <p>
+ * 请求地址的主机名为服务名时生效，如：http://user-service/users/1，发送时替换为所选节点的协议、主机、端口，
+ * 节点地址带路径时作为前缀，如节点http://10.0.0.1:8080/api实际请求http://10.0.0.1:8080/api/users/1。
+ * 节点连续失败（{@link java.io.IOException}或5xx响应）达到maxFailures次时被摘除ejectDuration，
+ * 全部节点均被摘除时仍在所有节点中选择；被该节点的熔断器拒绝同样计为失败，舱壁已满不计入。
+ * </p>
+ * <p>
+ * 通过{@link HttpClientEngine.Builder#loadBalancer(LoadBalancer)}设置，同步及异步请求均生效；
+ * 每次发送（包括对冲请求）单独选择节点，HttpClient内部的重试仍发往同一节点。
+ * 开启熔断或舱壁时按实际节点分别统计。
+ * </p>
+ *
+ * @author chanjx
+ * @since 2026/10/17
+ **/
+public final class LoadBalancer {
+
+    /**
+     * 平均耗时的平滑系数，越大越偏向最近的请求
+     */
+    private static final double EWMA_ALPHA = 0.3D;
+
+    private final String serviceName;
+
+    private final LoadBalanceStrategy strategy;
+
+    private final List<Endpoint> endpoints;
+
+    private final int maxFailures;
+
+    private final long ejectNanos;
+
+    private final double decayNanos;
+
+    private final AtomicInteger next = new AtomicInteger();
+
+    private LoadBalancer(Builder builder) {
+        this.serviceName = builder.serviceName;
+        this.strategy = builder.strategy;
+        final List<Endpoint> endpoints = new ArrayList<>(builder.endpoints.size());
+        for (String endpoint : builder.endpoints) {
+            endpoints.add(new Endpoint(URI.create(endpoint)));
+        }
+        this.endpoints = Collections.unmodifiableList(endpoints);
+        this.maxFailures = builder.maxFailures;
+        this.ejectNanos = builder.ejectDuration.toNanoseconds();
+        this.decayNanos = Math.max(1L, builder.latencyDecay.toNanoseconds());
+    }
+
+    /**
+     * @param serviceName 逻辑服务名，作为请求地址的主机名使用，不区分大小写
+     * @return {@link Builder}
+     */
+    public static Builder builder(String serviceName) {
+        return new Builder(serviceName);
+    }
+
+    public String getServiceName() {
+        return this.serviceName;
+    }
+
+    public LoadBalanceStrategy getStrategy() {
+        return this.strategy;
+    }
+
+    /**
+     * 服务节点及其当前状态
+     *
+     * @return 不可修改的节点列表
+     */
+    public List<Endpoint> getEndpoints() {
+        return this.endpoints;
+    }
+
+    /**
+     * 按策略选择节点
+     *
+     * @return 节点
+     */
+    Endpoint choose() {
+        final int size = this.endpoints.size();
+        if (size == 1) {
+            return this.endpoints.get(0);
+        }
+        final long now = System.nanoTime();
+        switch (this.strategy) {
+            case LEAST_OUTSTANDING:
+                return leastOutstanding(now);
+            case POWER_OF_TWO_CHOICES:
+                return powerOfTwoChoices(now);
+            default:
+                return roundRobin(now);
+        }
+    }
+
+    private Endpoint roundRobin(long now) {
+        final int size = this.endpoints.size();
+        final int start = nextIndex();
+        for (int i = 0; i < size; i++) {
+            final Endpoint endpoint = this.endpoints.get((start + i) % size);
+            if (!endpoint.isEjected(now)) {
+                return endpoint;
+            }
+        }
+        return this.endpoints.get(start);
+    }
+
+    private Endpoint leastOutstanding(long now) {
+        final int size = this.endpoints.size();
+        // 从轮询位置开始扫描，进行中请求数相同时依次选择不同节点
+        final int start = nextIndex();
+        Endpoint best = null;
+        Endpoint fallback = null;
+        for (int i = 0; i < size; i++) {
+            final Endpoint endpoint = this.endpoints.get((start + i) % size);
+            if (fallback == null || endpoint.getInFlight() < fallback.getInFlight()) {
+                fallback = endpoint;
+            }
+            if (!endpoint.isEjected(now) && (best == null || endpoint.getInFlight() < best.getInFlight())) {
+                best = endpoint;
+            }
+        }
+        return best != null ? best : fallback;
+    }
+
+    private Endpoint powerOfTwoChoices(long now) {
+        final int size = this.endpoints.size();
+        final ThreadLocalRandom random = ThreadLocalRandom.current();
+        final int first = random.nextInt(size);
+        final int second = (first + 1 + random.nextInt(size - 1)) % size;
+        final Endpoint a = this.endpoints.get(first);
+        final Endpoint b = this.endpoints.get(second);
+        final boolean aEjected = a.isEjected(now);
+        final boolean bEjected = b.isEjected(now);
+        if (aEjected && bEjected) {
+            return roundRobin(now);
+        }
+        if (aEjected) {
+            return b;
+        }
+        if (bEjected) {
+            return a;
+        }
+        return a.score(now) <= b.score(now) ? a : b;
+    }
+
+    private int nextIndex() {
+        return (this.next.getAndIncrement() & Integer.MAX_VALUE) % this.endpoints.size();
+    }
+
+    /**
+     * 服务节点
+     */
+    public final class Endpoint {
+
+        private final URI uri;
+
+        /**
+         * 替换请求地址时使用的前缀：协议://主机:端口/路径，不含末尾的"/"
+         */
+        private final String base;
+
+        private final AtomicInteger inFlight = new AtomicInteger();
+
+        private volatile double latencyNanos;
+
+        private volatile long latencyUpdatedAt;
+
+        private int consecutiveFailures;
+
+        /**
+         * 摘除截止时间，0表示未摘除
+         */
+        private volatile long ejectedUntil;
+
+        private Endpoint(URI uri) {
+            if (uri.getScheme() == null || uri.getHost() == null) {
+                throw new IllegalArgumentException("endpoint must be an absolute uri: " + uri);
+            }
+            this.uri = uri;
+            final String path = uri.getRawPath() == null ? "" : uri.getRawPath();
+            this.base = uri.getScheme().toLowerCase(Locale.ROOT) + "://" + uri.getRawAuthority()
+                    + (path.endsWith("/") ? path.substring(0, path.length() - 1) : path);
+        }
+
+        public URI getUri() {
+            return this.uri;
+        }
+
+        /**
+         * 进行中的请求数
+         */
+        public int getInFlight() {
+            return this.inFlight.get();
+        }
+
+        /**
+         * 请求耗时的指数加权平均值，尚无请求时为0
+         *
+         * @return 毫秒
+         */
+        public double getLatencyMillis() {
+            return this.latencyNanos / TimeUnit.MILLISECONDS.toNanos(1L);
+        }
+
+        /**
+         * 是否因连续失败被摘除
+         */
+        public boolean isEjected() {
+            return isEjected(System.nanoTime());
+        }
+
+        boolean isEjected(long now) {
+            final long until = this.ejectedUntil;
+            return until != 0L && now - until < 0L;
+        }
+
+        /**
+         * 将逻辑服务地址替换为该节点的地址
+         *
+         * @param logical 逻辑服务地址
+         * @return 实际请求地址
+         */
+        URI resolve(URI logical) {
+            final String path = logical.getRawPath() == null ? "" : logical.getRawPath();
+            final String query = logical.getRawQuery() == null ? "" : "?" + logical.getRawQuery();
+            return URI.create(this.base + path + query);
+        }
+
+        void onStart() {
+            this.inFlight.incrementAndGet();
+        }
+
+        /**
+         * 请求结束
+         *
+         * @param failure      是否失败
+         * @param elapsedNanos 耗时
+         */
+        void onFinish(boolean failure, long elapsedNanos) {
+            this.inFlight.decrementAndGet();
+            synchronized (this) {
+                final double latency = this.latencyNanos;
+                this.latencyNanos = latency == 0D ? elapsedNanos : latency + EWMA_ALPHA * (elapsedNanos - latency);
+                this.latencyUpdatedAt = System.nanoTime();
+                if (failure) {
+                    onFailure();
+                } else {
+                    this.consecutiveFailures = 0;
+                }
+            }
+        }
+
+        /**
+         * 请求被该节点的熔断器拒绝，计入连续失败但不统计耗时；舱壁已满为本地并发限制，不调用该方法
+         */
+        synchronized void onRejected() {
+            onFailure();
+        }
+
+        private void onFailure() {
+            if (++this.consecutiveFailures >= LoadBalancer.this.maxFailures) {
+                this.consecutiveFailures = 0;
+                final long until = System.nanoTime() + LoadBalancer.this.ejectNanos;
+                this.ejectedUntil = until == 0L ? 1L : until;
+            }
+        }
+
+        /**
+         * 请求被取消，不统计结果
+         */
+        void onCancel() {
+            this.inFlight.decrementAndGet();
+        }
+
+        /**
+         * 负载评分，越小越优先；平均耗时随未被选中的时间衰减，避免偶尔变慢的节点再也不被选中
+         */
+        private double score(long now) {
+            final double latency = this.latencyNanos * Math.exp(-(now - this.latencyUpdatedAt) / LoadBalancer.this.decayNanos);
+            return (this.inFlight.get() + 1) * (latency + 1D);
+        }
+
+        @Override
+        public String toString() {
+            return this.uri.toString();
+        }
+    }
+
+    /**
+     * {@link LoadBalancer}构建器
+     */
+    public static class Builder {
+
+        private final String serviceName;
+
+        private final List<String> endpoints = new ArrayList<>();
+
+        private LoadBalanceStrategy strategy = LoadBalanceStrategy.POWER_OF_TWO_CHOICES;
+
+        private int maxFailures = 5;
+
+        private TimeValue ejectDuration = TimeValue.ofSeconds(30L);
+
+        private TimeValue latencyDecay = TimeValue.ofSeconds(10L);
+
+        private Builder(String serviceName) {
+            if (serviceName == null || serviceName.isEmpty()) {
+                throw new IllegalArgumentException("serviceName must not be empty");
+            }
+            this.serviceName = serviceName;
+        }
+
+        /**
+         * 服务节点地址，如：http://10.0.0.1:8080、http://10.0.0.2:8080/api
+         *
+         * @param endpoints 节点地址
+         * @return this
+         */
+        public Builder endpoints(String... endpoints) {
+            Collections.addAll(this.endpoints, endpoints);
+            return this;
+        }
+
+        /**
+         * 负载均衡策略，默认{@link LoadBalanceStrategy#POWER_OF_TWO_CHOICES}
+         *
+         * @param strategy 策略
+         * @return this
+         */
+        public Builder strategy(LoadBalanceStrategy strategy) {
+            this.strategy = strategy;
+            return this;
+        }
+
+        /**
+         * 节点连续失败该次数后摘除，默认5
+         *
+         * @param maxFailures 连续失败次数
+         * @return this
+         */
+        public Builder maxFailures(int maxFailures) {
+            if (maxFailures < 1) {
+                throw new IllegalArgumentException("maxFailures must be positive");
+            }
+            this.maxFailures = maxFailures;
+            return this;
+        }
+
+        /**
+         * 节点摘除时长，默认30秒，到期后重新参与选择
+         *
+         * @param ejectDuration 摘除时长
+         * @return this
+         */
+        public Builder ejectDuration(TimeValue ejectDuration) {
+            this.ejectDuration = ejectDuration;
+            return this;
+        }
+
+        /**
+         * {@link LoadBalanceStrategy#POWER_OF_TWO_CHOICES}比较时平均耗时的衰减时间常数，默认10秒，
+         * 节点未被选中的时间越长，其平均耗时被视为越小，从而重新获得被选中的机会
+         *
+         * @param latencyDecay 衰减时间常数
+         * @return this
+         */
+        public Builder latencyDecay(TimeValue latencyDecay) {
+            this.latencyDecay = latencyDecay;
+            return this;
+        }
+
+        public LoadBalancer build() {
+            if (this.endpoints.isEmpty()) {
+                throw new IllegalArgumentException("endpoints must not be empty");
+            }
+            return new LoadBalancer(this);
+        }
+    }
+}
@@ -0,0 +1,212 @@
+package com.chanjx.utils.http;
+
+import org.apache.hc.client5.http.impl.DefaultHttpRequestRetryStrategy;
+import org.apache.hc.client5.http.protocol.HttpClientContext;
+import org.apache.hc.core5.http.HttpHeaders;
+import org.apache.hc.core5.http.HttpRequest;
+import org.apache.hc.core5.http.HttpResponse;
+import org.apache.hc.core5.http.HttpStatus;
+import org.apache.hc.core5.http.protocol.HttpContext;
+import org.apache.hc.core5.util.TimeValue;
+
+import javax.net.ssl.SSLException;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.ConnectException;
+import java.net.NoRouteToHostException;
+import java.net.UnknownHostException;
+import java.util.*;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 请求重试策略，在HttpClient默认策略的基础上增加指数退避及随机抖动
+ * <p>
+ * 第n次重试前等待 min(maxDelay, baseDelay * 2^(n-1))，开启抖动时在[0, 该值]内随机取值（full jitter），
+ * 避免大量客户端同时重试；响应带Retry-After时优先使用，但不超过maxDelay。
+ * 默认只重试幂等请求（GET、HEAD、PUT、DELETE等），连接超时、域名解析失败、SSL异常等不重试。
+ * </p>
+ * <p>
+ * 通过{@link HttpClientEngine.Builder#retryPolicy(RetryPolicy)}设置，同步及异步客户端均生效；
+ * 请求体不可重复读取（如输入流上传）时不会重试。
+ * </p>
+ *
+ * @author chanjx
+ * @since 2026/10/17
+ **/
+public class RetryPolicy extends DefaultHttpRequestRetryStrategy {
+
+    private final TimeValue baseDelay;
+
+    private final TimeValue maxDelay;
+
+    private final boolean jitter;
+
+    private final boolean retryNonIdempotent;
+
+    private RetryPolicy(Builder builder) {
+        super(builder.maxRetries, builder.baseDelay, builder.nonRetriableExceptions, builder.retriableStatus);
+        this.baseDelay = builder.baseDelay;
+        this.maxDelay = builder.maxDelay;
+        this.jitter = builder.jitter;
+        this.retryNonIdempotent = builder.retryNonIdempotent;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    @Override
+    public boolean retryRequest(HttpResponse response, int execCount, HttpContext context) {
+        if (!super.retryRequest(response, execCount, context)) {
+            return false;
+        }
+        final HttpRequest request = HttpClientContext.adapt(context).getRequest();
+        return request == null || handleAsIdempotent(request);
+    }
+
+    @Override
+    public TimeValue getRetryInterval(HttpResponse response, int execCount, HttpContext context) {
+        if (response.containsHeader(HttpHeaders.RETRY_AFTER)) {
+            final TimeValue retryAfter = super.getRetryInterval(response, execCount, context);
+            return retryAfter.compareTo(this.maxDelay) > 0 ? this.maxDelay : retryAfter;
+        }
+        return backoff(execCount);
+    }
+
+    @Override
+    public TimeValue getRetryInterval(HttpRequest request, IOException exception, int execCount, HttpContext context) {
+        return backoff(execCount);
+    }
+
+    @Override
+    protected boolean handleAsIdempotent(HttpRequest request) {
+        return this.retryNonIdempotent || super.handleAsIdempotent(request);
+    }
+
+    /**
+     * 第execCount次执行失败后的等待时间
+     *
+     * @param execCount 已执行次数，从1开始
+     * @return 等待时间
+     */
+    TimeValue backoff(int execCount) {
+        final long base = this.baseDelay.toMilliseconds();
+        final long max = this.maxDelay.toMilliseconds();
+        final int shift = Math.min(Math.max(execCount - 1, 0), 30);
+        final long delay = base > max >> shift ? max : Math.min(max, base << shift);
+        return TimeValue.ofMilliseconds(this.jitter ? ThreadLocalRandom.current().nextLong(delay + 1) : delay);
+    }
+
+    /**
+     * {@link RetryPolicy}构建器
+     */
+    public static class Builder {
+
+        private int maxRetries = 3;
+
+        private TimeValue baseDelay = TimeValue.ofMilliseconds(100L);
+
+        private TimeValue maxDelay = TimeValue.ofSeconds(10L);
+
+        private boolean jitter = true;
+
+        private boolean retryNonIdempotent;
+
+        private final Set<Integer> retriableStatus = new HashSet<>(Arrays.asList(
+                HttpStatus.SC_TOO_MANY_REQUESTS, HttpStatus.SC_SERVICE_UNAVAILABLE));
+
+        private final List<Class<? extends IOException>> nonRetriableExceptions = new ArrayList<>(Arrays.asList(
+                InterruptedIOException.class,
+                UnknownHostException.class,
+                ConnectException.class,
+                NoRouteToHostException.class,
+                SSLException.class));
+
+        private Builder() {
+        }
+
+        /**
+         * 最大重试次数，默认3次
+         *
+         * @param maxRetries 最大重试次数
+         * @return this
+         */
+        public Builder maxRetries(int maxRetries) {
+            this.maxRetries = maxRetries;
+            return this;
+        }
+
+        /**
+         * 首次重试的退避时间，默认100毫秒，之后每次翻倍
+         *
+         * @param baseDelay 退避时间
+         * @return this
+         */
+        public Builder baseDelay(TimeValue baseDelay) {
+            this.baseDelay = baseDelay;
+            return this;
+        }
+
+        /**
+         * 退避时间上限，默认10秒
+         *
+         * @param maxDelay 退避时间上限
+         * @return this
+         */
+        public Builder maxDelay(TimeValue maxDelay) {
+            this.maxDelay = maxDelay;
+            return this;
+        }
+
+        /**
+         * 是否在退避时间内随机取值，默认开启
+         *
+         * @param jitter 是否开启
+         * @return this
+         */
+        public Builder jitter(boolean jitter) {
+            this.jitter = jitter;
+            return this;
+        }
+
+        /**
+         * 需要重试的响应状态码，替换默认的429、503
+         *
+         * @param status 状态码
+         * @return this
+         */
+        public Builder retryOnStatus(int... status) {
+            this.retriableStatus.clear();
+            for (int code : status) {
+                this.retriableStatus.add(code);
+            }
+            return this;
+        }
+
+        /**
+         * 是否重试POST等非幂等请求，默认不重试
+         *
+         * @param retryNonIdempotent 是否重试
+         * @return this
+         */
+        public Builder retryNonIdempotent(boolean retryNonIdempotent) {
+            this.retryNonIdempotent = retryNonIdempotent;
+            return this;
+        }
+
+        /**
+         * 追加不重试的异常类型
+         *
+         * @param exception 异常类型
+         * @return this
+         */
+        public Builder nonRetriable(Class<? extends IOException> exception) {
+            this.nonRetriableExceptions.add(exception);
+            return this;
+        }
+
+        public RetryPolicy build() {
+            return new RetryPolicy(this);
+        }
+    }
+}
@@ -0,0 +1,265 @@
+package com.chanjx.utils.http;
+
+import org.apache.hc.core5.concurrent.FutureCallback;
+import org.apache.hc.core5.http.EntityDetails;
+import org.apache.hc.core5.http.Header;
+import org.apache.hc.core5.http.HttpException;
+import org.apache.hc.core5.http.HttpResponse;
+import org.apache.hc.core5.http.HttpStatus;
+import org.apache.hc.core5.http.URIScheme;
+import org.apache.hc.core5.http.nio.AsyncResponseConsumer;
+import org.apache.hc.core5.http.nio.CapacityChannel;
+import org.apache.hc.core5.http.protocol.HttpContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 一次请求占用的熔断、舱壁名额及负载均衡节点，请求结束时必须调用且只生效一次{@link #onResponse(int)}、
+ * {@link #onFailure(Throwable)}或{@link #onComplete(Throwable)}
+ * <p>
+ * 流式读取响应体时，收到响应头即可通过{@link #onHeaders(int)}记录熔断结果，
+ * 舱壁名额及节点统计仍在读完响应体后调用{@link #onResponse(int)}时释放。
+ * </p>
+ *
+ * @author chanjx
+ * @since 2026/10/17
+ **/
+final class RoutePermit {
+
+    /**
+     * 未开启熔断及舱壁时使用
+     */
+    static final RoutePermit NONE = new RoutePermit(null, null, null, null);
+
+    private final CircuitBreakerPolicy policy;
+
+    private final CircuitBreaker breaker;
+
+    private final Semaphore semaphore;
+
+    private final LoadBalancer.Endpoint endpoint;
+
+    private final long start = System.nanoTime();
+
+    private final AtomicBoolean done = new AtomicBoolean();
+
+    /**
+     * 熔断结果是否已记录
+     */
+    private final AtomicBoolean recorded = new AtomicBoolean();
+
+    /**
+     * 异步请求最后收到的响应状态码
+     */
+    private volatile int status;
+
+    private RoutePermit(CircuitBreakerPolicy policy, CircuitBreaker breaker, Semaphore semaphore, LoadBalancer.Endpoint endpoint) {
+        this.policy = policy;
+        this.breaker = breaker;
+        this.semaphore = semaphore;
+        this.endpoint = endpoint;
+    }
+
+    /**
+     * 申请发送请求，先检查熔断器再占用舱壁名额
+     *
+     * @param uri      请求地址
+     * @param policy   熔断策略，可为null
+     * @param bulkhead 舱壁，可为null
+     * @param endpoint 负载均衡选择的节点，uri已替换为该节点的地址，可为null
+     * @return 请求名额
+     * @throws IOException 熔断器打开或舱壁已满
+     */
+    static RoutePermit acquire(URI uri, CircuitBreakerPolicy policy, Bulkhead bulkhead, LoadBalancer.Endpoint endpoint) throws IOException {
+        if (policy == null && bulkhead == null && endpoint == null) {
+            return NONE;
+        }
+        final String route = route(uri);
+        final CircuitBreaker breaker = policy == null ? null : policy.breaker(route);
+        if (breaker != null) {
+            try {
+                breaker.acquire();
+            } catch (CircuitBreakerOpenException e) {
+                if (endpoint != null) {
+                    endpoint.onRejected();
+                }
+                throw e;
+            }
+        }
+        final Semaphore semaphore;
+        try {
+            semaphore = bulkhead == null ? null : bulkhead.acquire(route);
+        } catch (BulkheadFullException e) {
+            // 舱壁已满只说明本地并发达到上限，不计入节点失败
+            if (breaker != null) {
+                breaker.cancel();
+            }
+            throw e;
+        }
+        if (endpoint != null) {
+            endpoint.onStart();
+        }
+        return new RoutePermit(policy, breaker, semaphore, endpoint);
+    }
+
+    /**
+     * 路由标识：协议://主机:端口
+     *
+     * @param uri 地址
+     * @return 路由
+     */
+    static String route(URI uri) {
+        final String scheme = uri.getScheme() == null ? URIScheme.HTTP.id : uri.getScheme().toLowerCase(Locale.ROOT);
+        final int port = uri.getPort() > 0 ? uri.getPort() : URIScheme.HTTPS.same(scheme) ? 443 : 80;
+        final String host = uri.getHost() == null ? "" : uri.getHost().toLowerCase(Locale.ROOT);
+        return scheme + "://" + host + ":" + port;
+    }
+
+    /**
+     * 收到响应头，按状态码记录熔断结果，不释放舱壁名额及节点统计
+     *
+     * @param status 响应状态码
+     */
+    void onHeaders(int status) {
+        if (this == NONE) {
+            return;
+        }
+        record(this.policy != null && this.policy.isFailure(status), false, System.nanoTime() - this.start);
+    }
+
+    /**
+     * 是否已收到响应头或已结束
+     */
+    boolean hasResponse() {
+        return this.recorded.get() || this.done.get();
+    }
+
+    /**
+     * 请求收到响应
+     *
+     * @param status 响应状态码
+     */
+    void onResponse(int status) {
+        finish(this.policy != null && this.policy.isFailure(status), status >= HttpStatus.SC_SERVER_ERROR, false);
+    }
+
+    /**
+     * 请求失败，取消不计入失败
+     *
+     * @param throwable 异常
+     */
+    void onFailure(Throwable throwable) {
+        final Throwable cause = throwable instanceof CompletionException && throwable.getCause() != null
+                ? throwable.getCause()
+                : throwable;
+        finish(true, true, cause instanceof CancellationException);
+    }
+
+    /**
+     * 异步请求结束，成功时使用{@link #wrap(AsyncResponseConsumer)}记录的状态码
+     *
+     * @param throwable 异常，成功时为null
+     */
+    void onComplete(Throwable throwable) {
+        if (throwable == null) {
+            onResponse(this.status);
+        } else {
+            onFailure(throwable);
+        }
+    }
+
+    /**
+     * 包装异步响应消费者以记录响应状态码
+     *
+     * @param consumer 响应消费者
+     * @param <T>      T
+     * @return 响应消费者
+     */
+    <T> AsyncResponseConsumer<T> wrap(AsyncResponseConsumer<T> consumer) {
+        if (this.policy == null && this.endpoint == null) {
+            return consumer;
+        }
+        return new AsyncResponseConsumer<T>() {
+            @Override
+            public void consumeResponse(HttpResponse response, EntityDetails entityDetails, HttpContext context, FutureCallback<T> resultCallback) throws HttpException, IOException {
+                RoutePermit.this.status = response.getCode();
+                consumer.consumeResponse(response, entityDetails, context, resultCallback);
+            }
+
+            @Override
+            public void informationResponse(HttpResponse response, HttpContext context) throws HttpException, IOException {
+                consumer.informationResponse(response, context);
+            }
+
+            @Override
+            public void failed(Exception cause) {
+                consumer.failed(cause);
+            }
+
+            @Override
+            public void updateCapacity(CapacityChannel capacityChannel) throws IOException {
+                consumer.updateCapacity(capacityChannel);
+            }
+
+            @Override
+            public void consume(ByteBuffer src) throws IOException {
+                consumer.consume(src);
+            }
+
+            @Override
+            public void streamEnd(List<? extends Header> trailers) throws HttpException, IOException {
+                consumer.streamEnd(trailers);
+            }
+
+            @Override
+            public void releaseResources() {
+                consumer.releaseResources();
+            }
+        };
+    }
+
+    /**
+     * @param failure         是否计为熔断失败
+     * @param endpointFailure 是否计为节点失败
+     * @param cancelled       是否取消
+     */
+    private void finish(boolean failure, boolean endpointFailure, boolean cancelled) {
+        if (this == NONE || !this.done.compareAndSet(false, true)) {
+            return;
+        }
+        final long elapsed = System.nanoTime() - this.start;
+        if (this.semaphore != null) {
+            this.semaphore.release();
+        }
+        record(failure, cancelled, elapsed);
+        if (this.endpoint != null) {
+            if (cancelled) {
+                this.endpoint.onCancel();
+            } else {
+                this.endpoint.onFinish(endpointFailure, elapsed);
+            }
+        }
+    }
+
+    /**
+     * 记录熔断结果，只生效一次
+     */
+    private void record(boolean failure, boolean cancelled, long elapsed) {
+        if (this.breaker == null || !this.recorded.compareAndSet(false, true)) {
+            return;
+        }
+        if (cancelled) {
+            this.breaker.cancel();
+        } else {
+            this.breaker.record(failure, elapsed);
+        }
+    }
+}
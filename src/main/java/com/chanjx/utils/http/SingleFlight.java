@@ -0,0 +1,108 @@
+package com.chanjx.utils.http;
+
+import com.chanjx.utils.entity.http.HttpResponse;
+import org.apache.hc.client5.http.classic.methods.HttpUriRequestBase;
+import org.apache.hc.core5.http.Header;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.URISyntaxException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * 合并并发的相同请求：同一时刻相同的GET、HEAD请求只发送一次，其余调用方等待并共享同一个响应
+ * <p>
+ * 请求的方法、uri（含查询参数）及指定请求头的取值均相同时视为相同请求。
+ * 合并后的响应为{@link HttpResponse#asShared()}，各调用方通过{@link HttpResponse#getBody()}拿到的是副本，互不影响。
+ * </p>
+ *
+ * @author chanjx
+ * @since 2026/10/17
+ **/
+final class SingleFlight {
+
+    /**
+     * 参与比较的请求头
+     */
+    private final String[] keyHeaders;
+
+    private final ConcurrentMap<String, CompletableFuture<HttpResponse>> calls = new ConcurrentHashMap<>();
+
+    SingleFlight(String[] keyHeaders) {
+        this.keyHeaders = keyHeaders.clone();
+    }
+
+    /**
+     * 执行请求，存在相同的进行中请求时等待其结果
+     *
+     * @param request  请求，请求头已设置
+     * @param exchange 实际发送请求
+     * @return 响应
+     * @throws IOException e
+     */
+    HttpResponse execute(HttpUriRequestBase request, HttpCache.Exchange exchange) throws IOException {
+        final String method = request.getMethod();
+        if (!"GET".equals(method) && !"HEAD".equals(method)) {
+            return exchange.execute(request);
+        }
+        final String key;
+        try {
+            key = key(request);
+        } catch (URISyntaxException e) {
+            return exchange.execute(request);
+        }
+        final CompletableFuture<HttpResponse> call = new CompletableFuture<>();
+        final CompletableFuture<HttpResponse> inFlight = this.calls.putIfAbsent(key, call);
+        if (inFlight != null) {
+            return await(inFlight);
+        }
+        try {
+            final HttpResponse response = exchange.execute(request).asShared();
+            call.complete(response);
+            return response;
+        } catch (IOException | RuntimeException | Error e) {
+            call.completeExceptionally(e);
+            throw e;
+        } finally {
+            this.calls.remove(key, call);
+        }
+    }
+
+    private String key(HttpUriRequestBase request) throws URISyntaxException {
+        final StringBuilder key = new StringBuilder(request.getMethod()).append(' ').append(request.getUri());
+        for (String name : this.keyHeaders) {
+            key.append('\n').append(name).append(':');
+            for (Header header : request.getHeaders(name)) {
+                key.append(header.getValue()).append(',');
+            }
+        }
+        return key.toString();
+    }
+
+    /**
+     * 等待进行中的请求，当前线程被中断时不影响其他等待方
+     */
+    private static HttpResponse await(CompletableFuture<HttpResponse> inFlight) throws IOException {
+        try {
+            return inFlight.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException(e.getMessage());
+        } catch (ExecutionException e) {
+            final Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IOException(cause);
+        }
+    }
+}
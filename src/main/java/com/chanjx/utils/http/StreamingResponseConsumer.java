@@ -0,0 +1,111 @@
+package com.chanjx.utils.http;
+
+import com.chanjx.utils.entity.http.StreamingResponse;
+import org.apache.hc.core5.concurrent.FutureCallback;
+import org.apache.hc.core5.http.*;
+import org.apache.hc.core5.http.nio.AsyncResponseConsumer;
+import org.apache.hc.core5.http.nio.CapacityChannel;
+import org.apache.hc.core5.http.nio.support.classic.AbstractClassicEntityConsumer;
+import org.apache.hc.core5.http.protocol.HttpContext;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+/**
+ * 将异步客户端的响应以阻塞流的方式交给{@link StreamingResponseHandler}处理
+ * <p>
+ * IO线程只负责将数据写入有界缓冲区，处理器在独立线程中读取，缓冲区写满时暂停读取Socket。
+ * </p>
+ *
+ * @param <T> 处理结果
+ * @author chanjx
+ * @since 2026/10/17
+ **/
+class StreamingResponseConsumer<T> implements AsyncResponseConsumer<T> {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final StreamingResponseHandler<T> handler;
+
+    private final Executor executor;
+
+    /**
+     * 是否按Content-Encoding解压响应体
+     */
+    private final boolean decompress;
+
+    private volatile AbstractClassicEntityConsumer<T> entityConsumer;
+
+    StreamingResponseConsumer(StreamingResponseHandler<T> handler, Executor executor, boolean decompress) {
+        this.handler = handler;
+        this.executor = executor;
+        this.decompress = decompress;
+    }
+
+    @Override
+    public void consumeResponse(HttpResponse response, EntityDetails entityDetails, HttpContext context, FutureCallback<T> resultCallback) throws HttpException, IOException {
+        final Header contentEncoding = response.getFirstHeader(HttpHeaders.CONTENT_ENCODING);
+        final boolean decode = this.decompress && entityDetails != null
+                && contentEncoding != null && ContentCoding.isDecodable(contentEncoding.getValue());
+        final Header[] headers = decode ? ContentCoding.stripHeaders(response.getHeaders()) : response.getHeaders();
+        final Header header = response.getFirstHeader(HttpHeaders.CONTENT_TYPE);
+        final ContentType contentType = header == null ? null : ContentType.parse(header.getValue());
+        if (entityDetails == null) {
+            // 无响应体时同样在独立线程中执行处理器，避免阻塞IO线程
+            this.executor.execute(() -> {
+                try {
+                    final InputStream empty = new ByteArrayInputStream(new byte[0]);
+                    resultCallback.completed(this.handler.handle(new StreamingResponse(response.getCode(), headers, empty, contentType)));
+                } catch (Exception e) {
+                    resultCallback.failed(e);
+                }
+            });
+            return;
+        }
+        this.entityConsumer = new AbstractClassicEntityConsumer<T>(BUFFER_SIZE, this.executor) {
+            @Override
+            protected T consumeData(ContentType ignored, InputStream inputStream) throws IOException {
+                final InputStream body = decode ? ContentCoding.decode(inputStream, contentEncoding.getValue()) : inputStream;
+                return handler.handle(new StreamingResponse(response.getCode(), headers, body, contentType));
+            }
+        };
+        this.entityConsumer.streamStart(entityDetails, resultCallback);
+    }
+
+    @Override
+    public void informationResponse(HttpResponse response, HttpContext context) {
+    }
+
+    @Override
+    public void updateCapacity(CapacityChannel capacityChannel) throws IOException {
+        this.entityConsumer.updateCapacity(capacityChannel);
+    }
+
+    @Override
+    public void consume(ByteBuffer src) throws IOException {
+        this.entityConsumer.consume(src);
+    }
+
+    @Override
+    public void streamEnd(List<? extends Header> trailers) throws HttpException, IOException {
+        this.entityConsumer.streamEnd(trailers);
+    }
+
+    @Override
+    public void failed(Exception cause) {
+        if (this.entityConsumer != null) {
+            this.entityConsumer.failed(cause);
+        }
+    }
+
+    @Override
+    public void releaseResources() {
+        if (this.entityConsumer != null) {
+            this.entityConsumer.releaseResources();
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.chanjx.utils.http;
+
+import com.chanjx.utils.entity.http.StreamingResponse;
+import com.fasterxml.jackson.databind.JavaType;
+import org.apache.hc.client5.http.HttpResponseException;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * 流式响应处理器，响应体以流的方式交给调用方处理，内存占用与响应体大小无关
+ *
+ * @param <T> 处理结果
+ * @author chanjx
+ * @since 2026/10/17
+ **/
+@FunctionalInterface
+public interface StreamingResponseHandler<T> {
+
+    /**
+     * 处理响应，处理器返回后响应体将被关闭，未读完的内容会被丢弃
+     *
+     * @param response 流式响应
+     * @return 处理结果
+     * @throws IOException e
+     */
+    T handle(StreamingResponse response) throws IOException;
+
+    /**
+     * 将响应体写入文件的处理器
+     *
+     * @param target 目标文件
+     * @return 写入字节数
+     */
+    static StreamingResponseHandler<Long> toFile(Path target) {
+        return response -> response.transferTo(target);
+    }
+
+    /**
+     * 将响应体直接反序列化为实体类的处理器，按Content-Type选择json或xml解析
+     *
+     * @param clazz 实体类
+     * @param <T>   T
+     * @return 处理器，响应状态码非2xx时抛出{@link HttpResponseException}，204时返回null
+     */
+    static <T> StreamingResponseHandler<T> decode(Class<T> clazz) {
+        return new DecodingResponseHandler<>(clazz);
+    }
+
+    /**
+     * 将响应体直接反序列化为泛型实体类的处理器，按Content-Type选择json或xml解析
+     *
+     * @param javaType 实体类型
+     * @param <T>      T
+     * @return 处理器，响应状态码非2xx时抛出{@link HttpResponseException}，204时返回null
+     */
+    static <T> StreamingResponseHandler<T> decode(JavaType javaType) {
+        return new DecodingResponseHandler<>(javaType);
+    }
+}
@@ -0,0 +1,213 @@
+package com.chanjx.test;
+
+import com.chanjx.utils.HttpClientUtils;
+import com.chanjx.utils.http.BulkheadFullException;
+import com.chanjx.utils.http.CircuitBreakerOpenException;
+import com.chanjx.utils.http.CircuitBreakerPolicy;
+import com.chanjx.utils.http.CircuitState;
+import com.chanjx.utils.http.HttpClientEngine;
+import org.apache.commons.io.IOUtils;
+import org.apache.hc.core5.http.ContentType;
+import org.apache.hc.core5.http.HttpStatus;
+import org.apache.hc.core5.http.impl.bootstrap.HttpServer;
+import org.apache.hc.core5.http.impl.bootstrap.ServerBootstrap;
+import org.apache.hc.core5.http.io.entity.StringEntity;
+import org.apache.hc.core5.io.CloseMode;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 熔断及舱壁测试，localhost及127.0.0.1视为两个路由
+ *
+ * @author chanjx
+ * @since 2026/10/17
+ **/
+public class CircuitBreakerTest {
+
+    private static final AtomicInteger HITS = new AtomicInteger();
+
+    private static final AtomicBoolean HEALTHY = new AtomicBoolean();
+
+    private static volatile CountDownLatch gate = new CountDownLatch(0);
+
+    private static HttpServer server;
+
+    private static String baseUri;
+
+    private static String otherUri;
+
+    @BeforeAll
+    static void start() throws IOException {
+        server = ServerBootstrap.bootstrap()
+                .setListenerPort(0)
+                .register("/flaky", (request, response, context) -> {
+                    HITS.incrementAndGet();
+                    response.setCode(HEALTHY.get() ? HttpStatus.SC_OK : HttpStatus.SC_INTERNAL_SERVER_ERROR);
+                    response.setEntity(new StringEntity("flaky", ContentType.TEXT_PLAIN));
+                })
+                .register("/slow", (request, response, context) -> {
+                    HITS.incrementAndGet();
+                    sleep(100L);
+                    response.setCode(HttpStatus.SC_OK);
+                    response.setEntity(new StringEntity("slow", ContentType.TEXT_PLAIN));
+                })
+                .register("/gate", (request, response, context) -> {
+                    HITS.incrementAndGet();
+                    try {
+                        gate.await(5L, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    response.setCode(HttpStatus.SC_OK);
+                    response.setEntity(new StringEntity("gate", ContentType.TEXT_PLAIN));
+                })
+                .create();
+        server.start();
+        baseUri = "http://localhost:" + server.getLocalPort();
+        otherUri = "http://127.0.0.1:" + server.getLocalPort();
+    }
+
+    @AfterAll
+    static void stop() {
+        server.close(CloseMode.IMMEDIATE);
+    }
+
+    @BeforeEach
+    void reset() {
+        HITS.set(0);
+        HEALTHY.set(false);
+    }
+
+    @Test
+    void openAndRecover() throws URISyntaxException, IOException, InterruptedException {
+        final List<String> transitions = new CopyOnWriteArrayList<>();
+        final CircuitBreakerPolicy policy = CircuitBreakerPolicy.builder()
+                .windowSize(10)
+                .minimumCalls(4)
+                .openDuration(TimeValue.ofMilliseconds(200L))
+                .halfOpenCalls(2)
+                .listener((route, from, to) -> transitions.add(from + "->" + to))
+                .build();
+        try (HttpClientEngine engine = builder().circuitBreaker(policy).build()) {
+            for (int i = 0; i < 4; i++) {
+                assertEquals(500, engine.doGet(baseUri + "/flaky").getStatus());
+            }
+            assertEquals(CircuitState.OPEN, policy.getState(baseUri));
+            // 打开后直接失败，请求不再发出
+            assertThrows(CircuitBreakerOpenException.class, () -> engine.doGet(baseUri + "/flaky"));
+            final CompletionException async = assertThrows(CompletionException.class, () -> engine.doGetAsync(baseUri + "/flaky").join());
+            assertInstanceOf(CircuitBreakerOpenException.class, async.getCause());
+            assertEquals(4, HITS.get());
+            // 其他路由不受影响
+            assertEquals(500, engine.doGet(otherUri + "/flaky").getStatus());
+            assertEquals(CircuitState.CLOSED, policy.getState(otherUri));
+
+            // 半开探测仍失败，重新打开
+            Thread.sleep(250L);
+            assertEquals(500, engine.doGet(baseUri + "/flaky").getStatus());
+            assertEquals(500, engine.doGet(baseUri + "/flaky").getStatus());
+            assertEquals(CircuitState.OPEN, policy.getState(baseUri));
+
+            // 上游恢复后关闭
+            HEALTHY.set(true);
+            Thread.sleep(250L);
+            assertEquals(200, engine.doGet(baseUri + "/flaky").getStatus());
+            assertEquals(CircuitState.HALF_OPEN, policy.getState(baseUri));
+            assertEquals(200, engine.doGetAsync(baseUri + "/flaky").join().getStatus());
+            assertEquals(CircuitState.CLOSED, policy.getState(baseUri));
+        }
+        assertEquals(Arrays.asList(
+                "CLOSED->OPEN", "OPEN->HALF_OPEN", "HALF_OPEN->OPEN", "OPEN->HALF_OPEN", "HALF_OPEN->CLOSED"), transitions);
+    }
+
+    @Test
+    void slowCalls() throws URISyntaxException {
+        final CircuitBreakerPolicy policy = CircuitBreakerPolicy.builder()
+                .minimumCalls(2)
+                .slowCallDuration(TimeValue.ofMilliseconds(50L))
+                .slowCallRateThreshold(50F)
+                .build();
+        try (HttpClientEngine engine = builder().circuitBreaker(policy).build()) {
+            assertEquals(200, engine.doGetAsync(baseUri + "/slow").join().getStatus());
+            assertEquals(200, engine.doGetAsync(baseUri + "/slow").join().getStatus());
+            assertEquals(CircuitState.OPEN, policy.getState(baseUri));
+            assertThrows(CompletionException.class, () -> engine.doGetAsync(baseUri + "/slow").join());
+            assertEquals(2, HITS.get());
+        }
+    }
+
+    @Test
+    void bulkhead() throws URISyntaxException, IOException {
+        gate = new CountDownLatch(1);
+        try (HttpClientEngine engine = builder().bulkhead(2).bulkhead(otherUri, 0).build()) {
+            final List<CompletableFuture<?>> pending = new ArrayList<>();
+            pending.add(engine.doGetAsync(baseUri + "/gate"));
+            pending.add(engine.doGetAsync(baseUri + "/gate"));
+            // 已达上限，立即失败
+            final long start = System.nanoTime();
+            assertThrows(BulkheadFullException.class, () -> engine.doGet(baseUri + "/gate"));
+            final CompletionException async = assertThrows(CompletionException.class, () -> engine.doGetAsync(baseUri + "/gate").join());
+            assertInstanceOf(BulkheadFullException.class, async.getCause());
+            assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < 1000L);
+            // 不限制的路由不受影响
+            pending.add(engine.doGetAsync(otherUri + "/gate"));
+            gate.countDown();
+            pending.forEach(CompletableFuture::join);
+            assertEquals(3, HITS.get());
+            // 请求结束后释放名额
+            assertEquals(200, engine.doGet(baseUri + "/gate").getStatus());
+        }
+    }
+
+    @Test
+    void bulkheadHeldWhileStreaming() throws URISyntaxException, IOException {
+        HEALTHY.set(true);
+        try (HttpClientEngine engine = builder().bulkhead(1).build()) {
+            // 处理器读取响应体期间连接仍被占用，名额不应提前释放
+            final String body = engine.doGet(baseUri + "/flaky", new HashMap<>(), new HashMap<>(), response -> {
+                assertThrows(BulkheadFullException.class, () -> engine.doGet(baseUri + "/flaky"));
+                return IOUtils.toString(response.getBody(), StandardCharsets.UTF_8);
+            });
+            assertEquals("flaky", body);
+            assertEquals(200, engine.doGet(baseUri + "/flaky").getStatus());
+        }
+    }
+
+    private static HttpClientEngine.Builder builder() {
+        return HttpClientUtils.builder()
+                .responseTimeout(Timeout.ofSeconds(5L))
+                .connectionRequestTimeout(Timeout.ofSeconds(5L));
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package com.chanjx.test;
+
+import com.chanjx.utils.JsonUtils;
+import com.chanjx.utils.http.JacksonEntity;
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.io.output.CountingOutputStream;
+import org.apache.commons.io.output.NullOutputStream;
+import org.apache.hc.client5.http.entity.GzipCompressingEntity;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * 请求体gzip压缩基准测试，对比不同大小的json请求体压缩前后的线路字节数及CPU耗时
+ * <p>
+ * wireBytes为每次操作写出的字节数；每次操作的耗时即为序列化（及压缩、解压）的CPU开销。
+ * </p>
+ * <p>
+ * 运行：mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=com.chanjx.test.CompressionBenchmark
+ * </p>
+ *
+ * @author chanjx
+ * @since 2026/10/17
+ **/
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CompressionBenchmark {
+
+    /**
+     * 请求体包含的元素数，序列化后约为2KB、25KB、250KB、2.5MB
+     */
+    @Param({"10", "100", "1000", "10000"})
+    public int items;
+
+    private List<Map<String, Object>> body;
+
+    private byte[] gzipBody;
+
+    @Setup
+    public void setup() throws IOException {
+        this.body = new ArrayList<>();
+        for (int i = 0; i < this.items; i++) {
+            final Map<String, Object> item = new LinkedHashMap<>();
+            item.put("orderNo", "202610170000" + i);
+            item.put("amount", i * 100);
+            item.put("status", i % 3 == 0 ? "SUCCESS" : "PENDING");
+            item.put("remark", "chanjx-" + i);
+            this.body.add(item);
+        }
+        final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        new GzipCompressingEntity(JacksonEntity.json(this.body)).writeTo(outputStream);
+        this.gzipBody = outputStream.toByteArray();
+    }
+
+    /**
+     * 单次操作写出的字节数
+     */
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class Wire {
+
+        public long wireBytes;
+    }
+
+    @Benchmark
+    public long identity(Wire wire) throws IOException {
+        final CountingOutputStream outputStream = new CountingOutputStream(NullOutputStream.INSTANCE);
+        JacksonEntity.json(this.body).writeTo(outputStream);
+        wire.wireBytes = outputStream.getByteCount();
+        return outputStream.getByteCount();
+    }
+
+    @Benchmark
+    public long gzip(Wire wire) throws IOException {
+        final CountingOutputStream outputStream = new CountingOutputStream(NullOutputStream.INSTANCE);
+        new GzipCompressingEntity(JacksonEntity.json(this.body)).writeTo(outputStream);
+        wire.wireBytes = outputStream.getByteCount();
+        return outputStream.getByteCount();
+    }
+
+    @Benchmark
+    public long gunzip() throws IOException {
+        try (GZIPInputStream inputStream = new GZIPInputStream(new ByteArrayInputStream(this.gzipBody))) {
+            return IOUtils.consume(inputStream);
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(CompressionBenchmark.class.getSimpleName()).build()).run();
+    }
+}
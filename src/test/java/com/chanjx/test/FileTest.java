@@ -1,15 +1,39 @@
 package com.chanjx.test;
 
+import com.chanjx.utils.FileUtils;
+import com.chanjx.utils.entity.file.MimeTypeResult;
+import com.chanjx.utils.entity.http.BaseFile;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
 import lombok.experimental.Accessors;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.RandomStringUtils;
 import org.apache.hc.core5.http.ContentType;
+import org.apache.tika.Tika;
 import org.junit.jupiter.api.Test;
 
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
 import java.io.Serializable;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 /**
  * @author chanjx
@@ -29,6 +53,128 @@ public class FileTest {
         System.out.println(s);
     }
 
+    @Test
+    public void mimeType() throws IOException {
+        final byte[] png = {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n', 0, 0, 0, 0x0D, 'I', 'H', 'D', 'R'};
+        assertEquals("image/png", new BaseFile(png, "a.png").getMimeType());
+        // 缓存命中时结果一致
+        assertEquals("image/png", FileUtils.getMimeType(png, "b.png"));
+
+        final byte[] text = "hello".getBytes(StandardCharsets.UTF_8);
+        final BaseFile streamFile = new BaseFile(new ByteArrayInputStream(text), "hello.txt");
+        assertEquals("text/plain", streamFile.getMimeType());
+        // 识别文件类型后流仍可从头读取
+        assertArrayEquals(text, streamFile.getFileBytes());
+        // 读入内存后可重复上传
+        streamFile.toContentBody();
+        streamFile.toContentBody();
+    }
+
+    @Test
+    public void contentOnlyMimeType() throws IOException {
+        // 字节数组及输入流来源的文件只按内容识别，结果不受文件名影响
+        final Tika tika = new Tika();
+        final byte[] json = "{\"name\":\"chanjx\"}".getBytes(StandardCharsets.UTF_8);
+        final String expected = tika.detect(json);
+        assertEquals(expected, new BaseFile(json, "a.json").getMimeType());
+        assertEquals(expected, new BaseFile(new ByteArrayInputStream(json), "a.json").getMimeType());
+        assertEquals(expected, new BaseFile(json, "a.xml").getMimeType());
+    }
+
+    @Test
+    public void singleUseStream() throws IOException {
+        final BaseFile streamFile = new BaseFile(new ByteArrayInputStream("hello".getBytes(StandardCharsets.UTF_8)), "hello.txt");
+        streamFile.toContentBody();
+        assertThrows(IllegalStateException.class, streamFile::toContentBody);
+        assertThrows(IllegalStateException.class, streamFile::openStream);
+        assertThrows(IllegalStateException.class, streamFile::getFileBytes);
+        // 输入流只能通过openStream()等方法取走
+        assertThrows(NoSuchMethodException.class, () -> BaseFile.class.getMethod("getInputStream"));
+    }
+
+    @Test
+    public void missingFile() {
+        final File missing = new File(FileUtils.getTempDirectory(), "chanjx-missing-" + System.nanoTime());
+        assertThrows(FileNotFoundException.class, () -> new BaseFile(missing));
+        assertThrows(FileNotFoundException.class, () -> new BaseFile(missing.toPath(), "a.txt", "text/plain"));
+        assertThrows(FileNotFoundException.class, () -> new BaseFile(FileUtils.getTempDirectory()));
+    }
+
+    @Test
+    public void magicMimeType() throws IOException {
+        // 快速识别结果需与Tika一致
+        final Tika tika = new Tika();
+        final String[] fileNames = {null, "a", "a.jpg", "a.png", "a.pdf", "a.ai", "a.zip", "a.docx", "a.json", "a.txt", "a.csv", "a.xml"};
+        for (byte[] sample : MimeTypeSamples.all()) {
+            for (String fileName : fileNames) {
+                final String expected = tika.detect(sample, fileName);
+                assertEquals(expected, FileUtils.getMimeType(sample, fileName), fileName);
+                assertEquals(expected, FileUtils.getMimeType(ByteBuffer.wrap(sample), fileName), fileName);
+            }
+            assertEquals(tika.detect(sample), FileUtils.getMimeType(sample));
+            assertEquals(tika.detect(sample), FileUtils.getMimeType(new ByteArrayInputStream(sample)));
+        }
+    }
+
+    @Test
+    public void cachedMimeType() throws IOException {
+        // 内容不同但签名相同的文件共用缓存，结果仍需与Tika一致
+        final Tika tika = new Tika();
+        final String[] samples = {
+                "id,name\n1,chanjx\n",
+                "name,enable\nkevin,true\n",
+                "<?xml version=\"1.0\" encoding=\"UTF-8\"?><root><name>chanjx</name></root>",
+                "<?xml version=\"1.0\" encoding=\"UTF-8\"?><svg xmlns=\"http://www.w3.org/2000/svg\"/>",
+                "<?xml version=\"1.0\" encoding=\"UTF-8\"?><!-- svg --><root/>",
+                "#!/bin/sh\necho hello\n",
+                "#!/bin/sh\necho world\n",
+                "{\"name\":\"chanjx\"}",
+                "[1, 2, 3]",
+        };
+        for (String fileName : new String[]{"a.csv", "a.xml", "a.md", "a.geojson", "a"}) {
+            for (String sample : samples) {
+                final byte[] bytes = sample.getBytes(StandardCharsets.UTF_8);
+                assertEquals(tika.detect(bytes, fileName), FileUtils.getMimeType(bytes, fileName), fileName + " " + sample);
+            }
+        }
+    }
+
+    @Test
+    public void batchMimeType() throws IOException {
+        final Path root = Files.createTempDirectory("chanjx");
+        try {
+            final Map<Path, String> expected = new HashMap<>();
+            final Tika tika = new Tika();
+            int i = 0;
+            for (Map.Entry<String, byte[]> sample : MimeTypeSamples.samples().entrySet()) {
+                final Path dir = Files.createDirectories(root.resolve("dir" + (i++ % 3)));
+                final Path file = Files.write(dir.resolve(sample.getKey() + ".bin"), sample.getValue());
+                expected.put(file, tika.detect(sample.getValue(), file.getFileName().toString()));
+            }
+            final Map<Path, String> actual = new HashMap<>();
+            final ExecutorService executor = Executors.newFixedThreadPool(4);
+            try (Stream<MimeTypeResult> results = FileUtils.getMimeTypes(root, executor, 2)) {
+                results.forEach(result -> {
+                    assertTrue(result.isSuccess());
+                    actual.put(result.getPath(), result.getMimeType());
+                });
+            } finally {
+                executor.shutdown();
+            }
+            assertEquals(expected, actual);
+
+            // 读取失败的文件单独返回异常
+            final Path missing = root.resolve("missing.txt");
+            try (Stream<MimeTypeResult> results = FileUtils.getMimeTypes(Collections.singletonList(missing))) {
+                final MimeTypeResult result = results.findFirst().orElseThrow(IllegalStateException::new);
+                assertEquals(missing, result.getPath());
+                assertFalse(result.isSuccess());
+            }
+        } finally {
+            FileUtils.deleteDirectory(root.toFile());
+        }
+    }
+
     @Data
     @EqualsAndHashCode(callSuper = false)
     @Accessors(chain = true)
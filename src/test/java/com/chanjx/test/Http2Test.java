@@ -0,0 +1,184 @@
+package com.chanjx.test;
+
+import com.chanjx.utils.HttpClientUtils;
+import com.chanjx.utils.entity.http.HttpResponse;
+import com.chanjx.utils.http.HttpClientEngine;
+import com.chanjx.utils.http.HttpTransport;
+import org.apache.commons.io.IOUtils;
+import org.apache.hc.core5.http.ContentType;
+import org.apache.hc.core5.http.EntityDetails;
+import org.apache.hc.core5.http.HttpRequest;
+import org.apache.hc.core5.http.Message;
+import org.apache.hc.core5.http.URIScheme;
+import org.apache.hc.core5.http.impl.bootstrap.HttpAsyncServer;
+import org.apache.hc.core5.http.nio.AsyncRequestConsumer;
+import org.apache.hc.core5.http.nio.AsyncServerRequestHandler;
+import org.apache.hc.core5.http.nio.entity.AsyncEntityProducers;
+import org.apache.hc.core5.http.nio.entity.DiscardingEntityConsumer;
+import org.apache.hc.core5.http.nio.support.BasicRequestConsumer;
+import org.apache.hc.core5.http.nio.support.BasicResponseProducer;
+import org.apache.hc.core5.http.protocol.HttpContext;
+import org.apache.hc.core5.http.protocol.HttpCoreContext;
+import org.apache.hc.core5.http2.HttpVersionPolicy;
+import org.apache.hc.core5.http2.config.H2Config;
+import org.apache.hc.core5.http2.impl.nio.bootstrap.H2ServerBootstrap;
+import org.apache.hc.core5.io.CloseMode;
+import org.apache.hc.core5.reactor.ListenerEndpoint;
+import org.apache.hc.core5.util.Timeout;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.net.URISyntaxException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * HTTP/2多路复用测试，分别启动h2c及HTTP/1.1服务端对比
+ *
+ * @author chanjx
+ * @since 2026/10/17
+ **/
+public class Http2Test {
+
+    private static final int REQUESTS = 200;
+
+    private static final long DELAY_MILLIS = 50L;
+
+    private static final Set<SocketAddress> CONNECTIONS = ConcurrentHashMap.newKeySet();
+
+    private static final ScheduledExecutorService SCHEDULER = Executors.newSingleThreadScheduledExecutor();
+
+    private static HttpAsyncServer h2Server;
+
+    private static HttpAsyncServer http1Server;
+
+    private static String h2Uri;
+
+    private static String http1Uri;
+
+    @BeforeAll
+    static void start() throws ExecutionException, InterruptedException {
+        h2Server = newServer(HttpVersionPolicy.FORCE_HTTP_2);
+        h2Uri = listen(h2Server);
+        http1Server = newServer(HttpVersionPolicy.FORCE_HTTP_1);
+        http1Uri = listen(http1Server);
+    }
+
+    @AfterAll
+    static void stop() {
+        h2Server.close(CloseMode.IMMEDIATE);
+        http1Server.close(CloseMode.IMMEDIATE);
+        SCHEDULER.shutdownNow();
+    }
+
+    private static HttpAsyncServer newServer(HttpVersionPolicy versionPolicy) {
+        final HttpAsyncServer server = H2ServerBootstrap.bootstrap()
+                .setVersionPolicy(versionPolicy)
+                .setH2Config(H2Config.custom().setMaxConcurrentStreams(REQUESTS).build())
+                .register("*", new AsyncServerRequestHandler<Message<HttpRequest, Void>>() {
+                    @Override
+                    public AsyncRequestConsumer<Message<HttpRequest, Void>> prepare(HttpRequest request, EntityDetails entityDetails, HttpContext context) {
+                        return new BasicRequestConsumer<>(entityDetails != null ? new DiscardingEntityConsumer<>() : null);
+                    }
+
+                    @Override
+                    public void handle(Message<HttpRequest, Void> message, ResponseTrigger responseTrigger, HttpContext context) {
+                        // 记录客户端连接，延迟响应以制造并发
+                        CONNECTIONS.add(HttpCoreContext.adapt(context).getEndpointDetails().getRemoteAddress());
+                        final String version = HttpCoreContext.adapt(context).getProtocolVersion().format();
+                        SCHEDULER.schedule(() -> {
+                            try {
+                                responseTrigger.submitResponse(
+                                        new BasicResponseProducer(200, AsyncEntityProducers.create(version, ContentType.TEXT_PLAIN)),
+                                        context);
+                            } catch (Exception e) {
+                                throw new IllegalStateException(e);
+                            }
+                        }, DELAY_MILLIS, TimeUnit.MILLISECONDS);
+                    }
+                })
+                .create();
+        server.start();
+        return server;
+    }
+
+    private static String listen(HttpAsyncServer server) throws ExecutionException, InterruptedException {
+        final Future<ListenerEndpoint> endpoint = server.listen(new InetSocketAddress("localhost", 0), URIScheme.HTTP);
+        return "http://localhost:" + ((InetSocketAddress) endpoint.get().getAddress()).getPort();
+    }
+
+    @BeforeEach
+    void reset() {
+        CONNECTIONS.clear();
+    }
+
+    @Test
+    void doGet() throws URISyntaxException, IOException {
+        try (HttpClientEngine engine = newEngine(HttpTransport.HTTP_2)) {
+            final HttpResponse response = engine.doGet(h2Uri + "/version");
+            assertEquals(200, response.getStatus());
+            assertEquals("HTTP/2.0", response.getStrBody());
+        }
+    }
+
+    @Test
+    void doGetStreaming() throws URISyntaxException, IOException {
+        try (HttpClientEngine engine = newEngine(HttpTransport.HTTP_2)) {
+            final String body = engine.doGet(h2Uri + "/version", null, null,
+                    response -> IOUtils.toString(response.getBody(), response.getCharset()));
+            assertEquals("HTTP/2.0", body);
+        }
+    }
+
+    @Test
+    void multiplexing() throws URISyntaxException {
+        final long http1Millis;
+        final int http1Connections;
+        try (HttpClientEngine engine = newEngine(HttpTransport.HTTP_1_1)) {
+            http1Millis = fanOut(engine, http1Uri);
+            http1Connections = CONNECTIONS.size();
+        }
+        CONNECTIONS.clear();
+        final long http2Millis;
+        try (HttpClientEngine engine = newEngine(HttpTransport.HTTP_2)) {
+            http2Millis = fanOut(engine, h2Uri);
+        }
+        System.out.println("HTTP/1.1: " + REQUESTS + " requests, " + http1Connections + " connections, " + http1Millis + " ms");
+        System.out.println("HTTP/2  : " + REQUESTS + " requests, " + CONNECTIONS.size() + " connections, " + http2Millis + " ms");
+        // 所有请求共用同一个连接
+        assertEquals(1, CONNECTIONS.size());
+        assertTrue(http1Connections > 1);
+        assertTrue(http2Millis < http1Millis);
+    }
+
+    private static HttpClientEngine newEngine(HttpTransport transport) {
+        return HttpClientUtils.builder()
+                .transport(transport)
+                .maxConcurrentStreams(REQUESTS)
+                .maxTotal(16)
+                .defaultMaxPerRoute(16)
+                .connectionRequestTimeout(Timeout.ofSeconds(30L))
+                .responseTimeout(Timeout.ofSeconds(30L))
+                .build();
+    }
+
+    private static long fanOut(HttpClientEngine engine, String baseUri) throws URISyntaxException {
+        final long start = System.nanoTime();
+        final List<CompletableFuture<HttpResponse>> futures = new ArrayList<>();
+        for (int i = 0; i < REQUESTS; i++) {
+            futures.add(engine.doGetAsync(baseUri + "/" + i));
+        }
+        futures.forEach(future -> assertEquals(200, future.join().getStatus()));
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+    }
+}
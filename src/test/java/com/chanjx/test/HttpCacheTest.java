@@ -0,0 +1,198 @@
+package com.chanjx.test;
+
+import com.chanjx.utils.HttpClientUtils;
+import com.chanjx.utils.entity.http.CacheStatus;
+import com.chanjx.utils.entity.http.HttpResponse;
+import com.chanjx.utils.http.HttpCache;
+import com.chanjx.utils.http.HttpClientEngine;
+import org.apache.hc.core5.http.ContentType;
+import org.apache.hc.core5.http.Header;
+import org.apache.hc.core5.http.HttpHeaders;
+import org.apache.hc.core5.http.HttpStatus;
+import org.apache.hc.core5.http.impl.bootstrap.HttpServer;
+import org.apache.hc.core5.http.impl.bootstrap.ServerBootstrap;
+import org.apache.hc.core5.http.io.entity.StringEntity;
+import org.apache.hc.core5.io.CloseMode;
+import org.apache.hc.core5.util.Timeout;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 响应缓存测试
+ *
+ * @author chanjx
+ * @since 2026/10/17
+ **/
+public class HttpCacheTest {
+
+    /**
+     * 服务端实际处理的请求数
+     */
+    private static final AtomicInteger REQUESTS = new AtomicInteger();
+
+    private static HttpServer server;
+
+    private static String baseUri;
+
+    private HttpCache cache;
+
+    private HttpClientEngine engine;
+
+    @BeforeAll
+    static void start() throws IOException {
+        server = ServerBootstrap.bootstrap()
+                .setListenerPort(0)
+                .register("/fresh", (request, response, context) -> {
+                    REQUESTS.incrementAndGet();
+                    response.setCode(200);
+                    response.setHeader(HttpHeaders.CACHE_CONTROL, "max-age=60");
+                    response.setEntity(new StringEntity(request.getMethod() + " " + request.getPath(), ContentType.TEXT_PLAIN));
+                })
+                .register("/etag", (request, response, context) -> {
+                    // 每次都需验证，ETag未变化时返回304
+                    REQUESTS.incrementAndGet();
+                    response.setHeader(HttpHeaders.CACHE_CONTROL, "no-cache");
+                    response.setHeader(HttpHeaders.ETAG, "\"v1\"");
+                    final Header ifNoneMatch = request.getFirstHeader(HttpHeaders.IF_NONE_MATCH);
+                    if (ifNoneMatch != null && "\"v1\"".equals(ifNoneMatch.getValue())) {
+                        response.setCode(HttpStatus.SC_NOT_MODIFIED);
+                        return;
+                    }
+                    response.setCode(200);
+                    response.setEntity(new StringEntity("etag", ContentType.TEXT_PLAIN));
+                })
+                .register("/no-store", (request, response, context) -> {
+                    REQUESTS.incrementAndGet();
+                    response.setCode(200);
+                    response.setHeader(HttpHeaders.CACHE_CONTROL, "no-store");
+                    response.setEntity(new StringEntity("no-store", ContentType.TEXT_PLAIN));
+                })
+                .create();
+        server.start();
+        baseUri = "http://localhost:" + server.getLocalPort();
+    }
+
+    @AfterAll
+    static void stop() {
+        server.close(CloseMode.IMMEDIATE);
+    }
+
+    @BeforeEach
+    void reset() throws IOException {
+        REQUESTS.set(0);
+        this.cache = HttpCache.builder().build();
+        this.engine = newEngine(this.cache);
+    }
+
+    @Test
+    void fresh() throws URISyntaxException, IOException {
+        final HttpResponse miss = this.engine.doGet(baseUri + "/fresh");
+        assertEquals(CacheStatus.MISS, miss.getCacheStatus());
+        final HttpResponse hit = this.engine.doGet(baseUri + "/fresh");
+        assertTrue(hit.isCacheHit());
+        assertEquals(CacheStatus.HIT, hit.getCacheStatus());
+        assertEquals("GET /fresh", hit.getStrBody());
+        assertFalse(hit.getHeaders(HttpHeaders.AGE).isEmpty());
+        assertEquals(1, REQUESTS.get());
+
+        // 修改取到的响应体不影响缓存
+        miss.getBody()[0] = 'X';
+        hit.getBody()[0] = 'X';
+        assertEquals("GET /fresh", this.engine.doGet(baseUri + "/fresh").getStrBody());
+        assertEquals(1, REQUESTS.get());
+
+        // 请求no-cache时重新请求
+        final HttpResponse noCache = this.engine.doGet(baseUri + "/fresh", null,
+                new HashMap<>(Collections.singletonMap(HttpHeaders.CACHE_CONTROL, "no-cache")));
+        assertEquals(CacheStatus.MISS, noCache.getCacheStatus());
+        assertEquals(2, REQUESTS.get());
+
+        // 非GET请求使缓存失效
+        this.engine.doPostJson(baseUri + "/fresh", "{}");
+        assertEquals(CacheStatus.MISS, this.engine.doGet(baseUri + "/fresh").getCacheStatus());
+        assertEquals(4, REQUESTS.get());
+        assertEquals(2L, this.cache.getHitCount());
+        assertEquals(3L, this.cache.getMissCount());
+        assertEquals(0.4D, this.cache.getHitRatio());
+    }
+
+    @Test
+    void revalidate() throws URISyntaxException, IOException {
+        assertEquals(CacheStatus.MISS, this.engine.doGet(baseUri + "/etag").getCacheStatus());
+        final HttpResponse revalidated = this.engine.doGet(baseUri + "/etag");
+        assertEquals(CacheStatus.REVALIDATED, revalidated.getCacheStatus());
+        assertEquals(200, revalidated.getStatus());
+        assertEquals("etag", revalidated.getStrBody());
+        assertEquals(2, REQUESTS.get());
+        assertEquals(1L, this.cache.getRevalidatedCount());
+    }
+
+    @Test
+    void noStore() throws URISyntaxException, IOException {
+        this.engine.doGet(baseUri + "/no-store");
+        assertEquals(CacheStatus.MISS, this.engine.doGet(baseUri + "/no-store").getCacheStatus());
+        assertEquals(2, REQUESTS.get());
+        assertEquals(0, this.cache.size());
+    }
+
+    @Test
+    void disk() throws URISyntaxException, IOException {
+        final Path directory = Files.createTempDirectory("chanjx");
+        try (HttpCache diskCache = HttpCache.builder().maxEntries(1).diskCache(directory, 1024 * 1024).build();
+             HttpClientEngine diskEngine = newEngine(diskCache)) {
+            diskEngine.doGet(baseUri + "/fresh?i=1");
+            // 第一个响应被淘汰到磁盘层
+            diskEngine.doGet(baseUri + "/fresh?i=2");
+            assertEquals(2, diskCache.size());
+            final HttpResponse fromDisk = diskEngine.doGet(baseUri + "/fresh?i=1");
+            assertEquals(CacheStatus.HIT, fromDisk.getCacheStatus());
+            assertEquals("GET /fresh?i=1", fromDisk.getStrBody());
+            fromDisk.getBody()[0] = 'X';
+            assertEquals("GET /fresh?i=1", diskEngine.doGet(baseUri + "/fresh?i=1").getStrBody());
+            assertEquals(CacheStatus.HIT, diskEngine.doGet(baseUri + "/fresh?i=2").getCacheStatus());
+            assertEquals(2, REQUESTS.get());
+        } finally {
+            assertTrue(Files.notExists(directory) || Files.list(directory).count() == 0);
+            Files.deleteIfExists(directory);
+        }
+    }
+
+    @Test
+    void diskEntries() throws URISyntaxException, IOException {
+        final Path directory = Files.createTempDirectory("chanjx");
+        try (HttpCache diskCache = HttpCache.builder().maxEntries(1).diskCache(directory, 1024 * 1024).maxDiskEntries(2).build();
+             HttpClientEngine diskEngine = newEngine(diskCache)) {
+            // 小响应体远未达到磁盘层大小上限，仍按缓存项数淘汰
+            for (int i = 0; i < 5; i++) {
+                diskEngine.doGet(baseUri + "/fresh?i=" + i);
+            }
+            assertEquals(3, diskCache.size());
+            assertEquals(CacheStatus.HIT, diskEngine.doGet(baseUri + "/fresh?i=3").getCacheStatus());
+            assertEquals(5, REQUESTS.get());
+        } finally {
+            Files.deleteIfExists(directory);
+        }
+    }
+
+    private static HttpClientEngine newEngine(HttpCache cache) {
+        return HttpClientUtils.builder()
+                .cache(cache)
+                .responseTimeout(Timeout.ofSeconds(5L))
+                .connectionRequestTimeout(Timeout.ofSeconds(5L))
+                .build();
+    }
+}
@@ -0,0 +1,497 @@
+package com.chanjx.test;
+
+import com.chanjx.utils.HttpClientUtils;
+import com.chanjx.utils.JsonUtils;
+import com.chanjx.utils.XmlUtils;
+import com.chanjx.utils.entity.http.DownloadResult;
+import com.chanjx.utils.entity.http.HttpFile;
+import com.chanjx.utils.entity.http.HttpResponse;
+import com.chanjx.utils.http.HttpClientEngine;
+import com.chanjx.utils.http.JacksonEntity;
+import com.chanjx.utils.http.StreamingResponseHandler;
+import com.fasterxml.jackson.databind.type.TypeFactory;
+import org.apache.commons.io.IOUtils;
+import org.apache.hc.client5.http.HttpResponseException;
+import org.apache.hc.core5.http.ContentType;
+import org.apache.hc.core5.http.Header;
+import org.apache.hc.core5.http.HttpHeaders;
+import org.apache.hc.core5.http.HttpStatus;
+import org.apache.hc.core5.http.ParseException;
+import org.apache.hc.core5.http.impl.bootstrap.HttpServer;
+import org.apache.hc.core5.http.impl.bootstrap.ServerBootstrap;
+import org.apache.hc.core5.http.io.entity.ByteArrayEntity;
+import org.apache.hc.core5.http.io.entity.EntityUtils;
+import org.apache.hc.core5.http.io.entity.InputStreamEntity;
+import org.apache.hc.core5.io.CloseMode;
+import org.apache.hc.core5.util.Timeout;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.net.URISyntaxException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @author chanjx
+ * @since 2026/10/17
+ **/
+public class HttpClientEngineTest {
+
+    /**
+     * 流式响应测试使用的响应体大小
+     */
+    private static final int LARGE_SIZE = 8 * 1024 * 1024;
+
+    private static HttpServer server;
+
+    private static HttpClientEngine engine;
+
+    private static String baseUri;
+
+    private static volatile int requestWireBytes;
+
+    private static volatile String requestEncoding;
+
+    @BeforeAll
+    static void start() throws IOException {
+        // 将请求方法、路径及请求体原样返回
+        server = ServerBootstrap.bootstrap()
+                .setListenerPort(0)
+                .register("/large", (request, response, context) -> {
+                    response.setCode(200);
+                    response.setEntity(new InputStreamEntity(new LargeInputStream(LARGE_SIZE), LARGE_SIZE, ContentType.APPLICATION_OCTET_STREAM));
+                })
+                .register("/range", (request, response, context) -> {
+                    // 支持单个"bytes=start-"形式的Range请求
+                    final Header range = request.getFirstHeader(HttpHeaders.RANGE);
+                    final long start = range == null ? 0L : Long.parseLong(range.getValue().replaceAll("\\D", ""));
+                    if (start >= LARGE_SIZE) {
+                        response.setCode(HttpStatus.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+                        response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + LARGE_SIZE);
+                        return;
+                    }
+                    final LargeInputStream body = new LargeInputStream(LARGE_SIZE);
+                    body.skip(start);
+                    if (range != null) {
+                        response.setCode(HttpStatus.SC_PARTIAL_CONTENT);
+                        response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + (LARGE_SIZE - 1) + "/" + LARGE_SIZE);
+                    } else {
+                        response.setCode(HttpStatus.SC_OK);
+                    }
+                    response.setEntity(new InputStreamEntity(body, LARGE_SIZE - start, ContentType.APPLICATION_OCTET_STREAM));
+                })
+                .register("/decode/json", (request, response, context) -> {
+                    response.setCode(200);
+                    response.setEntity(new ByteArrayEntity("{\"name\":\"chanjx\",\"tags\":[\"a\",\"b\"]}".getBytes(StandardCharsets.UTF_8), ContentType.APPLICATION_JSON));
+                })
+                .register("/decode/gbk", (request, response, context) -> {
+                    final Charset gbk = Charset.forName("GBK");
+                    response.setCode(200);
+                    response.setEntity(new ByteArrayEntity("{\"name\":\"陈\"}".getBytes(gbk), ContentType.create("application/json", gbk)));
+                })
+                .register("/decode/xml", (request, response, context) -> {
+                    // 非UTF-8编码，由xml声明指定
+                    final Charset gbk = Charset.forName("GBK");
+                    response.setCode(200);
+                    response.setEntity(new ByteArrayEntity("<?xml version=\"1.0\" encoding=\"GBK\"?><root><name>陈</name></root>".getBytes(gbk), ContentType.create("application/xml", gbk)));
+                })
+                .register("/gzip", (request, response, context) -> {
+                    // 记录请求体在线路上的大小，解压后以gzip原样返回
+                    final byte[] wire = EntityUtils.toByteArray(request.getEntity());
+                    final Header encoding = request.getFirstHeader(HttpHeaders.CONTENT_ENCODING);
+                    requestWireBytes = wire.length;
+                    requestEncoding = encoding == null ? null : encoding.getValue();
+                    final byte[] body = requestEncoding == null ? wire : IOUtils.toByteArray(new GZIPInputStream(new ByteArrayInputStream(wire)));
+                    final Header accept = request.getFirstHeader(HttpHeaders.ACCEPT_ENCODING);
+                    response.setCode(200);
+                    if (accept != null && accept.getValue().contains("gzip")) {
+                        final ByteArrayOutputStream gzip = new ByteArrayOutputStream();
+                        try (GZIPOutputStream outputStream = new GZIPOutputStream(gzip)) {
+                            outputStream.write(body);
+                        }
+                        response.setEntity(new ByteArrayEntity(gzip.toByteArray(), ContentType.APPLICATION_JSON, "gzip"));
+                    } else {
+                        response.setEntity(new ByteArrayEntity(body, ContentType.APPLICATION_JSON));
+                    }
+                })
+                .register("/length", (request, response, context) -> {
+                    // 返回请求体的Content-Length及Transfer-Encoding
+                    final Header length = request.getFirstHeader(HttpHeaders.CONTENT_LENGTH);
+                    final Header transferEncoding = request.getFirstHeader(HttpHeaders.TRANSFER_ENCODING);
+                    final long received = EntityUtils.toByteArray(request.getEntity()).length;
+                    final String echo = (length == null ? null : length.getValue()) + " "
+                            + (transferEncoding == null ? null : transferEncoding.getValue()) + " " + received;
+                    response.setCode(200);
+                    response.setEntity(new ByteArrayEntity(echo.getBytes(StandardCharsets.UTF_8), ContentType.TEXT_PLAIN));
+                })
+                .register("/decode/missing", (request, response, context) -> response.setCode(HttpStatus.SC_NOT_FOUND))
+                .register("*", (request, response, context) -> {
+                    final byte[] body = request.getEntity() == null
+                            ? new byte[0]
+                            : EntityUtils.toByteArray(request.getEntity());
+                    final String echo = request.getMethod() + " " + request.getPath() + "\n" + new String(body, StandardCharsets.UTF_8);
+                    response.setCode(200);
+                    response.setEntity(new ByteArrayEntity(echo.getBytes(StandardCharsets.UTF_8), ContentType.TEXT_PLAIN));
+                })
+                .create();
+        server.start();
+        baseUri = "http://localhost:" + server.getLocalPort();
+        engine = HttpClientUtils.builder()
+                .maxTotal(16)
+                .defaultMaxPerRoute(8)
+                .maxPerRoute(baseUri, 16)
+                .connectTimeout(Timeout.ofSeconds(3L))
+                .responseTimeout(Timeout.ofSeconds(5L))
+                .connectionRequestTimeout(Timeout.ofSeconds(5L))
+                .build();
+    }
+
+    @AfterAll
+    static void stop() {
+        engine.close();
+        server.close(CloseMode.IMMEDIATE);
+    }
+
+    @Test
+    void doGet() throws URISyntaxException, IOException {
+        final HttpResponse response = engine.doGet(baseUri + "/hello", new HashMap<>(Collections.singletonMap("name", "chanjx")));
+        assertEquals(200, response.getStatus());
+        assertEquals("GET /hello?name=chanjx\n", response.getStrBody());
+    }
+
+    @Test
+    void doGetAsync() throws URISyntaxException {
+        final List<CompletableFuture<HttpResponse>> futures = new ArrayList<>();
+        for (int i = 0; i < 64; i++) {
+            futures.add(engine.doGetAsync(baseUri + "/async/" + i));
+        }
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0])).join();
+        for (int i = 0; i < futures.size(); i++) {
+            assertEquals("GET /async/" + i + "\n", futures.get(i).join().getStrBody());
+        }
+    }
+
+    @Test
+    void doPostJsonAsync() {
+        final HttpResponse response = engine.doPostJsonAsync(baseUri + "/json", "{\"name\":\"chanjx\"}").join();
+        assertEquals("POST /json\n{\"name\":\"chanjx\"}", response.getStrBody());
+    }
+
+    @Test
+    void doPostObject() throws IOException, ParseException {
+        final Map<String, Object> body = new LinkedHashMap<>();
+        body.put("name", "chanjx");
+        body.put("tags", Arrays.asList("a", "b"));
+        final String json = JsonUtils.obj2Json(body);
+        assertEquals("POST /object\n" + json, engine.doPostJson(baseUri + "/object", (Object) body).getStrBody());
+        assertEquals("POST /object\n" + json, engine.doPostJsonAsync(baseUri + "/object", (Object) body).join().getStrBody());
+        assertEquals("PUT /object\n" + XmlUtils.obj2Xml(body), engine.doPutXml(baseUri + "/object", (Object) body).getStrBody());
+
+        // 可重复写出，buffered后长度已知
+        final JacksonEntity entity = JacksonEntity.json(body);
+        assertTrue(entity.isChunked());
+        assertTrue(entity.isRepeatable());
+        assertEquals(json, EntityUtils.toString(entity));
+        assertEquals(json, EntityUtils.toString(entity));
+        final JacksonEntity buffered = entity.buffered();
+        assertFalse(buffered.isChunked());
+        assertEquals(json.getBytes(StandardCharsets.UTF_8).length, buffered.getContentLength());
+    }
+
+    @Test
+    void compression() throws IOException {
+        final List<Map<String, Object>> body = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            final Map<String, Object> item = new LinkedHashMap<>();
+            item.put("id", i);
+            item.put("name", "chanjx-" + i);
+            item.put("enable", i % 2 == 0);
+            body.add(item);
+        }
+        final String json = JsonUtils.obj2Json(body);
+        final int jsonBytes = json.getBytes(StandardCharsets.UTF_8).length;
+        try (HttpClientEngine gzipEngine = HttpClientUtils.builder()
+                .requestCompressionThreshold(1024L)
+                .responseTimeout(Timeout.ofSeconds(5L))
+                .connectionRequestTimeout(Timeout.ofSeconds(5L))
+                .build()) {
+            // 同步客户端
+            final HttpResponse response = gzipEngine.doPostJson(baseUri + "/gzip", json);
+            assertEquals("gzip", requestEncoding);
+            assertTrue(requestWireBytes < jsonBytes / 4, "wire bytes: " + requestWireBytes + "/" + jsonBytes);
+            assertEquals(json, response.getStrBody());
+            assertTrue(response.getHeaders(HttpHeaders.CONTENT_ENCODING).isEmpty());
+
+            // 异步客户端
+            final HttpResponse asyncResponse = gzipEngine.doPostJsonAsync(baseUri + "/gzip", (Object) body).join();
+            assertEquals("gzip", requestEncoding);
+            assertEquals(json, asyncResponse.getStrBody());
+            assertTrue(asyncResponse.getHeaders(HttpHeaders.CONTENT_ENCODING).isEmpty());
+            final List<?> decoded = gzipEngine.doPostJsonForObject(baseUri + "/gzip", body, null, List.class);
+            assertEquals(body.size(), decoded.size());
+
+            // 低于阈值不压缩
+            gzipEngine.doPostJson(baseUri + "/gzip", "{}");
+            assertEquals(null, requestEncoding);
+            assertEquals(2, requestWireBytes);
+        }
+    }
+
+    @Test
+    void doPostMultipartFormAsync() throws IOException {
+        final HttpFile httpFile = new HttpFile("hello".getBytes(StandardCharsets.UTF_8), "hello.txt", "text/plain", "file");
+        final HttpResponse response = engine.doPostMultipartFormAsync(
+                baseUri + "/upload",
+                httpFile,
+                new HashMap<>(Collections.singletonMap("name", "chanjx"))).join();
+        final String body = response.getStrBody();
+        assertTrue(body.startsWith("POST /upload\n"));
+        assertTrue(body.contains("filename=\"hello.txt\""));
+        assertTrue(body.contains("chanjx"));
+    }
+
+    @Test
+    void doPostMultipartFormAsyncContentLength() throws IOException {
+        // 超过内存发送上限的请求体以流的方式写出，长度已知时仍应使用Content-Length
+        final Path source = Files.createTempFile("chanjx", ".bin");
+        try {
+            Files.write(source, new byte[256 * 1024]);
+            final HttpFile pathFile = new HttpFile(source, "large.bin", "application/octet-stream", "file");
+            final String[] echo = engine.doPostMultipartFormAsync(baseUri + "/length", pathFile, new HashMap<>())
+                    .join().getStrBody().split(" ");
+            assertEquals("null", echo[1]);
+            assertEquals(echo[0], echo[2]);
+        } finally {
+            Files.delete(source);
+        }
+    }
+
+    @Test
+    void doPostMultipartFormStreaming() throws IOException {
+        final Path source = Files.createTempFile("chanjx", ".txt");
+        try {
+            Files.write(source, "from file".getBytes(StandardCharsets.UTF_8));
+            final HttpFile pathFile = new HttpFile(source, "path.txt", "text/plain", "file");
+            final HttpFile streamFile = new HttpFile(new ByteArrayInputStream("from stream".getBytes(StandardCharsets.UTF_8)), "stream.txt", "text/plain", "stream");
+            final String body = engine.doPostMultipartForm(baseUri + "/upload", Arrays.asList(pathFile, streamFile), new HashMap<>()).getStrBody();
+            assertTrue(body.contains("filename=\"path.txt\""));
+            assertTrue(body.contains("from file"));
+            assertTrue(body.contains("filename=\"stream.txt\""));
+            assertTrue(body.contains("from stream"));
+        } finally {
+            Files.delete(source);
+        }
+    }
+
+    @Test
+    void builderMatchesDefaultEngine() throws URISyntaxException, IOException {
+        // 独立配置的实例与静态方法使用的默认实例结果一致；先由独立实例请求，避免默认的短超时受服务端预热影响
+        final Map<String, String> query = new HashMap<>(Collections.singletonMap("name", "chanjx"));
+        try (HttpClientEngine custom = HttpClientUtils.builder()
+                .maxTotal(4)
+                .defaultMaxPerRoute(2)
+                .connectTimeout(Timeout.ofSeconds(3L))
+                .responseTimeout(Timeout.ofSeconds(5L))
+                .connectionRequestTimeout(Timeout.ofSeconds(5L))
+                .build()) {
+            final HttpResponse expected = custom.doGet(baseUri + "/builder", query);
+            final HttpResponse actual = HttpClientUtils.doGet(baseUri + "/builder", query);
+            assertEquals("GET /builder?name=chanjx\n", expected.getStrBody());
+            assertEquals(expected.getStatus(), actual.getStatus());
+            assertEquals(expected.getStrBody(), actual.getStrBody());
+            assertEquals(expected.getMimeType(), actual.getMimeType());
+
+            final HttpResponse expectedPost = custom.doPostJson(baseUri + "/builder", "{\"name\":\"chanjx\"}");
+            final HttpResponse actualPost = HttpClientUtils.doPostJson(baseUri + "/builder", "{\"name\":\"chanjx\"}");
+            assertEquals(expectedPost.getStatus(), actualPost.getStatus());
+            assertEquals(expectedPost.getStrBody(), actualPost.getStrBody());
+        }
+    }
+
+    @Test
+    void sharedBody() {
+        // 未共享的响应不复制响应体，共享的响应每次返回副本
+        final byte[] body = "hello".getBytes(StandardCharsets.UTF_8);
+        final HttpResponse response = new HttpResponse(200, new Header[0], body, ContentType.TEXT_PLAIN);
+        assertFalse(response.isShared());
+        assertSame(body, response.getBody());
+        final HttpResponse shared = response.asShared();
+        assertTrue(shared.isShared());
+        assertSame(shared, shared.asShared());
+        assertNotSame(body, shared.getBody());
+        assertArrayEquals(body, shared.getBody());
+        assertEquals(response, shared);
+    }
+
+    @Test
+    void serializable() throws URISyntaxException, IOException, ClassNotFoundException {
+        final HttpResponse response = engine.doGet(baseUri + "/decode/xml");
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(response);
+        }
+        final HttpResponse copy;
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            copy = (HttpResponse) in.readObject();
+        }
+        assertEquals(response.getStatus(), copy.getStatus());
+        assertEquals(Charset.forName("GBK"), copy.getCharset());
+        assertEquals(response.getStrBody(), copy.getStrBody());
+        assertEquals(response.getHeaders().size(), copy.getHeaders().size());
+        assertEquals(response.getHeaders(HttpHeaders.CONTENT_TYPE).get(0).getValue(), copy.getHeaders(HttpHeaders.CONTENT_TYPE).get(0).getValue());
+    }
+
+    @Test
+    void doGetForObject() throws URISyntaxException, IOException {
+        final Map<String, Object> json = engine.doGetForObject(baseUri + "/decode/json", null, null,
+                TypeFactory.defaultInstance().constructMapType(HashMap.class, String.class, Object.class));
+        assertEquals("chanjx", json.get("name"));
+        assertEquals(Arrays.asList("a", "b"), json.get("tags"));
+
+        // 非UTF编码的json按Content-Type的charset解码
+        assertEquals("陈", engine.doGetForObject(baseUri + "/decode/gbk", Map.class).get("name"));
+
+        final Map<?, ?> xml = engine.doGetForObject(baseUri + "/decode/xml", Map.class);
+        assertEquals("陈", xml.get("name"));
+
+        final HttpResponseException e = assertThrows(HttpResponseException.class,
+                () -> engine.doGetForObject(baseUri + "/decode/missing", Map.class));
+        assertEquals(HttpStatus.SC_NOT_FOUND, e.getStatusCode());
+    }
+
+    @Test
+    void doGetStreaming() throws URISyntaxException, IOException {
+        final long size = engine.doGet(baseUri + "/large", null, null, response -> {
+            assertEquals(200, response.getStatus());
+            assertEquals("application/octet-stream", response.getMimeType());
+            final InputStream body = response.getBody();
+            long count = 0;
+            int b;
+            while ((b = body.read()) != -1) {
+                assertEquals(count % 251, b);
+                count++;
+            }
+            return count;
+        });
+        assertEquals(LARGE_SIZE, size);
+    }
+
+    @Test
+    void doGetToFile() throws URISyntaxException, IOException {
+        final Path target = Files.createTempFile("chanjx", ".bin");
+        try {
+            final long size = engine.doGet(baseUri + "/large", null, null, StreamingResponseHandler.toFile(target));
+            assertEquals(LARGE_SIZE, size);
+            assertEquals(LARGE_SIZE, Files.size(target));
+        } finally {
+            Files.delete(target);
+        }
+    }
+
+    @Test
+    void download() throws URISyntaxException, IOException {
+        final Path target = Files.createTempFile("chanjx", ".bin");
+        try {
+            final DownloadResult result = engine.download(baseUri + "/range", target);
+            assertEquals(200, result.getStatus());
+            assertFalse(result.isResumed());
+            assertEquals(LARGE_SIZE, result.getBytes());
+            assertTrue(result.getBytesPerSecond() > 0);
+            assertContent(target);
+        } finally {
+            Files.delete(target);
+        }
+    }
+
+    @Test
+    void downloadResume() throws URISyntaxException, IOException {
+        final Path target = Files.createTempFile("chanjx", ".bin");
+        try {
+            // 模拟中断后残留的前1MB
+            final int partial = 1024 * 1024;
+            final byte[] head = new byte[partial];
+            for (int i = 0; i < partial; i++) {
+                head[i] = (byte) (i % 251);
+            }
+            Files.write(target, head);
+
+            final DownloadResult result = engine.download(baseUri + "/range", target, null, true);
+            assertEquals(206, result.getStatus());
+            assertTrue(result.isResumed());
+            assertEquals(LARGE_SIZE - partial, result.getBytes());
+            assertEquals(LARGE_SIZE, result.getFileSize());
+            assertContent(target);
+
+            // 文件已完整时不再重复下载
+            final DownloadResult complete = engine.download(baseUri + "/range", target, null, true);
+            assertEquals(416, complete.getStatus());
+            assertEquals(0L, complete.getBytes());
+            assertContent(target);
+        } finally {
+            Files.delete(target);
+        }
+    }
+
+    private static void assertContent(Path target) throws IOException {
+        assertEquals(LARGE_SIZE, Files.size(target));
+        try (InputStream inputStream = new BufferedInputStream(Files.newInputStream(target))) {
+            for (int i = 0; i < LARGE_SIZE; i++) {
+                assertEquals(i % 251, inputStream.read());
+            }
+        }
+    }
+
+    /**
+     * 按需生成内容的输入流，第n个字节为n % 251
+     */
+    private static class LargeInputStream extends InputStream {
+
+        private final long size;
+
+        private long position;
+
+        LargeInputStream(long size) {
+            this.size = size;
+        }
+
+        @Override
+        public int read() {
+            return this.position < this.size ? (int) (this.position++ % 251) : -1;
+        }
+
+        @Override
+        public long skip(long n) {
+            final long skipped = Math.min(n, this.size - this.position);
+            this.position += skipped;
+            return skipped;
+        }
+    }
+}
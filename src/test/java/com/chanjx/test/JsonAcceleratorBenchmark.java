@@ -0,0 +1,88 @@
+package com.chanjx.test;
+
+import com.chanjx.utils.JsonUtils;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JsonUtils字节码加速基准测试，每组测试在独立JVM中通过{@link JsonUtils#ACCELERATOR_PROPERTY}启用对应模块
+ * <p>
+ * 运行：mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=com.chanjx.test.JsonAcceleratorBenchmark
+ * </p>
+ *
+ * @author chanjx
+ * @since 2026/10/17
+ **/
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class JsonAcceleratorBenchmark {
+
+    private static final String AFTERBURNER = "-D" + JsonUtils.ACCELERATOR_PROPERTY + "=afterburner";
+
+    private static final String BLACKBIRD = "-D" + JsonUtils.ACCELERATOR_PROPERTY + "=blackbird";
+
+    private List<FileTest.Hello> hellos;
+
+    private byte[] json;
+
+    @Setup
+    public void setup() throws JsonProcessingException {
+        this.hellos = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            this.hellos.add(new FileTest.Hello().setName("chanjx" + i).setEnable(i % 2 == 0).setCreateTime(LocalDateTime.now()));
+        }
+        this.json = JsonUtils.obj2JsonBytes(this.hellos);
+    }
+
+    @Benchmark
+    @Fork(1)
+    public byte[] writeReflection() throws JsonProcessingException {
+        return JsonUtils.obj2JsonBytes(this.hellos);
+    }
+
+    @Benchmark
+    @Fork(value = 1, jvmArgsAppend = AFTERBURNER)
+    public byte[] writeAfterburner() throws JsonProcessingException {
+        return JsonUtils.obj2JsonBytes(this.hellos);
+    }
+
+    @Benchmark
+    @Fork(value = 1, jvmArgsAppend = BLACKBIRD)
+    public byte[] writeBlackbird() throws JsonProcessingException {
+        return JsonUtils.obj2JsonBytes(this.hellos);
+    }
+
+    @Benchmark
+    @Fork(1)
+    public List<FileTest.Hello> readReflection() throws IOException {
+        return JsonUtils.json2Obj(this.json, JsonUtils.getJavaType(List.class, FileTest.Hello.class));
+    }
+
+    @Benchmark
+    @Fork(value = 1, jvmArgsAppend = AFTERBURNER)
+    public List<FileTest.Hello> readAfterburner() throws IOException {
+        return JsonUtils.json2Obj(this.json, JsonUtils.getJavaType(List.class, FileTest.Hello.class));
+    }
+
+    @Benchmark
+    @Fork(value = 1, jvmArgsAppend = BLACKBIRD)
+    public List<FileTest.Hello> readBlackbird() throws IOException {
+        return JsonUtils.json2Obj(this.json, JsonUtils.getJavaType(List.class, FileTest.Hello.class));
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(JsonAcceleratorBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,47 @@
+package com.chanjx.test;
+
+import com.chanjx.utils.JsonUtils;
+import com.chanjx.utils.JsonUtils.MapperKey;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 字节码加速测试，由surefire的json-accelerator执行在设置了{@link JsonUtils#ACCELERATOR_PROPERTY}=auto的JVM中运行
+ *
+ * @author chanjx
+ * @since 2026/10/17
+ **/
+public class JsonAcceleratorTest {
+
+    private static final String AFTERBURNER_MODULE = "com.fasterxml.jackson.module.afterburner.AfterburnerModule";
+
+    private static final String BLACKBIRD_MODULE = "com.fasterxml.jackson.module.blackbird.BlackbirdModule";
+
+    @Test
+    void accelerate() {
+        assertEquals("auto", System.getProperty(JsonUtils.ACCELERATOR_PROPERTY));
+        assertTrue(JsonUtils.isAccelerated());
+        final String expected = System.getProperty("java.specification.version").startsWith("1.")
+                ? AFTERBURNER_MODULE
+                : BLACKBIRD_MODULE;
+        // 其余Mapper均由默认Mapper拷贝，加速模块一同生效
+        for (MapperKey mapperKey : MapperKey.values()) {
+            assertTrue(JsonUtils.copy(mapperKey).getRegisteredModuleIds().contains(expected), mapperKey.name());
+        }
+    }
+
+    @Test
+    void roundTrip() throws IOException {
+        final FileTest.Hello hello = new FileTest.Hello()
+                .setName("chanjx")
+                .setEnable(true)
+                .setCreateTime(LocalDateTime.now().truncatedTo(ChronoUnit.MILLIS));
+        assertEquals(hello, JsonUtils.json2Obj(JsonUtils.obj2Json(hello), FileTest.Hello.class));
+    }
+}
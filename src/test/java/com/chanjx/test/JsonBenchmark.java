@@ -0,0 +1,90 @@
+package com.chanjx.test;
+
+import com.chanjx.utils.JsonUtils;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.type.TypeFactory;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JsonUtils基准测试，对比缓存ObjectReader/ObjectWriter与直接使用ObjectMapper
+ * <p>
+ * 运行：mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=com.chanjx.test.JsonBenchmark
+ * </p>
+ *
+ * @author chanjx
+ * @since 2026/10/17
+ **/
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JsonBenchmark {
+
+    /**
+     * 与JsonUtils默认配置相同的Mapper
+     */
+    private final ObjectMapper mapper = JsonUtils.copy();
+
+    private FileTest.Hello hello;
+
+    private String helloJson;
+
+    private String listJson;
+
+    @Setup
+    public void setup() throws JsonProcessingException {
+        this.hello = new FileTest.Hello().setName("chanjx").setEnable(true).setCreateTime(LocalDateTime.now());
+        this.helloJson = JsonUtils.obj2Json(this.hello);
+        final List<FileTest.Hello> list = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            list.add(this.hello);
+        }
+        this.listJson = JsonUtils.obj2Json(list);
+    }
+
+    @Benchmark
+    public String mapperWrite() throws JsonProcessingException {
+        return this.mapper.writeValueAsString(this.hello);
+    }
+
+    @Benchmark
+    public String jsonUtilsWrite() throws JsonProcessingException {
+        return JsonUtils.obj2Json(this.hello);
+    }
+
+    @Benchmark
+    public FileTest.Hello mapperRead() throws JsonProcessingException {
+        return this.mapper.readValue(this.helloJson, FileTest.Hello.class);
+    }
+
+    @Benchmark
+    public FileTest.Hello jsonUtilsRead() throws JsonProcessingException {
+        return JsonUtils.json2Obj(this.helloJson, FileTest.Hello.class);
+    }
+
+    @Benchmark
+    public List<FileTest.Hello> mapperReadList() throws IOException {
+        return this.mapper.readValue(this.listJson, TypeFactory.defaultInstance().constructCollectionType(List.class, FileTest.Hello.class));
+    }
+
+    @Benchmark
+    public List<FileTest.Hello> jsonUtilsReadList() throws IOException {
+        return JsonUtils.json2List(this.listJson, FileTest.Hello.class);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(JsonBenchmark.class.getSimpleName()).build()).run();
+    }
+}
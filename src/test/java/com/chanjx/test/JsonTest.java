@@ -0,0 +1,146 @@
+package com.chanjx.test;
+
+import com.chanjx.utils.JsonUtils;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @author chanjx
+ * @since 2026/10/17
+ **/
+public class JsonTest {
+
+    private static FileTest.Hello hello() {
+        return new FileTest.Hello()
+                .setName("chanjx")
+                .setEnable(true)
+                .setCreateTime(LocalDateTime.now().truncatedTo(ChronoUnit.MILLIS));
+    }
+
+    @Test
+    public void obj2Json() throws IOException {
+        final FileTest.Hello hello = hello();
+        assertEquals(hello, JsonUtils.json2Obj(JsonUtils.obj2Json(hello), FileTest.Hello.class));
+        assertFalse(JsonUtils.obj2JsonNonNull(new FileTest.Hello().setName("chanjx")).contains("enable"));
+        final String wrapped = JsonUtils.obj2JsonWrapRootValue(hello);
+        assertTrue(wrapped.startsWith("{\"Hello\":"));
+        assertEquals(hello, JsonUtils.json2ObjUnwrapRootValue(wrapped, FileTest.Hello.class));
+        assertEquals("null", JsonUtils.obj2Json(null));
+    }
+
+    @Test
+    public void bytes() throws IOException {
+        final FileTest.Hello hello = hello().setName("陈");
+        final byte[] bytes = JsonUtils.obj2JsonBytes(hello);
+        assertArrayEquals(JsonUtils.obj2Json(hello).getBytes(StandardCharsets.UTF_8), bytes);
+        assertEquals(hello, JsonUtils.json2Obj(bytes, FileTest.Hello.class));
+        assertEquals(hello, JsonUtils.json2Obj(new ByteArrayInputStream(bytes), FileTest.Hello.class));
+
+        final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        JsonUtils.obj2Json(hello, outputStream);
+        assertArrayEquals(bytes, outputStream.toByteArray());
+
+        final ByteBuffer buffer = ByteBuffer.allocateDirect(1024);
+        JsonUtils.obj2Json(hello, buffer);
+        buffer.flip();
+        assertEquals(bytes.length, buffer.remaining());
+        assertEquals(hello, JsonUtils.json2Obj(buffer, FileTest.Hello.class));
+        assertEquals(hello, JsonUtils.json2Obj(ByteBuffer.wrap(bytes), FileTest.Hello.class));
+    }
+
+    @Test
+    public void sequence() throws IOException {
+        final int count = 10_000;
+        final Path array = Files.createTempFile("chanjx", ".json");
+        final Path ndjson = Files.createTempFile("chanjx", ".ndjson");
+        try {
+            try (OutputStream arrayOut = Files.newOutputStream(array);
+                 OutputStream ndjsonOut = Files.newOutputStream(ndjson);
+                 SequenceWriter arrayWriter = JsonUtils.jsonArrayWriter(arrayOut);
+                 SequenceWriter ndjsonWriter = JsonUtils.ndjsonWriter(ndjsonOut)) {
+                for (int i = 0; i < count; i++) {
+                    final FileTest.Hello hello = hello().setName("hello" + i);
+                    arrayWriter.write(hello);
+                    ndjsonWriter.write(hello);
+                }
+            }
+            assertTrue(new String(Files.readAllBytes(array), StandardCharsets.UTF_8).startsWith("[{"));
+            assertEquals(count, Files.readAllLines(ndjson).size());
+            for (Path path : Arrays.asList(array, ndjson)) {
+                final AtomicInteger index = new AtomicInteger();
+                try (Stream<FileTest.Hello> stream = JsonUtils.json2Stream(path, FileTest.Hello.class)) {
+                    stream.forEach(hello -> assertEquals("hello" + index.getAndIncrement(), hello.getName()));
+                }
+                assertEquals(count, index.get());
+            }
+        } finally {
+            Files.delete(array);
+            Files.delete(ndjson);
+        }
+    }
+
+    @Test
+    public void path() throws IOException {
+        final String json = "{\"skip\":{\"a\":[1,{\"b\":2}]},\"a\":{\"b\":[{},{},{},{\"c\":\"chanjx\"}]},\"hello\":"
+                + JsonUtils.obj2Json(hello()) + "}";
+        assertTrue(JsonUtils.hasKey(json, "a"));
+        assertFalse(JsonUtils.hasKey(json, "b"));
+        // 与解析为ObjectNode一致：根节点不是对象或key之后格式错误时抛出异常
+        assertThrows(JsonProcessingException.class, () -> JsonUtils.hasKey("[1,2]", "a"));
+        assertThrows(JsonProcessingException.class, () -> JsonUtils.hasKey("{\"a\":1,\"b\":", "a"));
+        assertTrue(JsonUtils.hasIndex("[1,{\"a\":[]},3]", 2));
+        assertFalse(JsonUtils.hasIndex("[1,{\"a\":[]},3]", 3));
+        assertFalse(JsonUtils.hasIndex(json, 0));
+
+        assertTrue(JsonUtils.hasPath(json, "a.b[3].c"));
+        assertTrue(JsonUtils.hasPath(json.getBytes(StandardCharsets.UTF_8), "skip.a[1].b"));
+        assertFalse(JsonUtils.hasPath(json, "a.b[4]"));
+        assertFalse(JsonUtils.hasPath(json, "a.b.c"));
+        assertTrue(JsonUtils.hasPath("[[0,[1,2]]]", "[0][1][1]"));
+
+        assertEquals("chanjx", JsonUtils.extractPath(json, "a.b[3].c").asText());
+        assertEquals(2, JsonUtils.extractPath(json, "skip.a[1].b", Integer.class));
+        assertEquals("chanjx", JsonUtils.extractPath(json.getBytes(StandardCharsets.UTF_8), "hello", FileTest.Hello.class).getName());
+        assertNull(JsonUtils.extractPath(json, "a.b[3].d"));
+    }
+
+    @Test
+    public void json2Collection() throws IOException {
+        final List<FileTest.Hello> list = Arrays.asList(hello(), hello().setName("kevin"));
+        final String json = JsonUtils.obj2Json(list);
+        assertEquals(list, JsonUtils.json2List(json, FileTest.Hello.class));
+        assertEquals(list, JsonUtils.json2Obj(json, List.class, FileTest.Hello.class));
+        assertSame(JsonUtils.getJavaType(List.class, FileTest.Hello.class), JsonUtils.getJavaType(List.class, FileTest.Hello.class));
+
+        final Map<String, Long> map = new HashMap<>();
+        map.put("a", 1L);
+        assertEquals(map, JsonUtils.json2HashMap(JsonUtils.obj2Json(map), String.class, Long.class));
+        assertEquals("chanjx", JsonUtils.obj2MapSS(hello()).get("name"));
+    }
+}
@@ -0,0 +1,209 @@
+package com.chanjx.test;
+
+import com.chanjx.utils.HttpClientUtils;
+import com.chanjx.utils.entity.http.HttpResponse;
+import com.chanjx.utils.http.BulkheadFullException;
+import com.chanjx.utils.http.HttpClientEngine;
+import com.chanjx.utils.http.LoadBalanceStrategy;
+import com.chanjx.utils.http.LoadBalancer;
+import org.apache.hc.core5.http.ContentType;
+import org.apache.hc.core5.http.HttpStatus;
+import org.apache.hc.core5.http.impl.bootstrap.HttpServer;
+import org.apache.hc.core5.http.impl.bootstrap.ServerBootstrap;
+import org.apache.hc.core5.http.io.entity.StringEntity;
+import org.apache.hc.core5.io.CloseMode;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 客户端负载均衡测试
+ *
+ * @author chanjx
+ * @since 2026/10/17
+ **/
+public class LoadBalancerTest {
+
+    private static final Map<String, AtomicInteger> HITS = new ConcurrentHashMap<>();
+
+    private static volatile CountDownLatch gate = new CountDownLatch(0);
+
+    private static final List<HttpServer> SERVERS = new ArrayList<>();
+
+    private static String fast1;
+
+    private static String fast2;
+
+    private static String slow;
+
+    private static String dead;
+
+    @BeforeAll
+    static void start() throws IOException {
+        fast1 = newServer("fast1", 0L);
+        fast2 = newServer("fast2", 0L);
+        slow = newServer("slow", 50L);
+        // 启动后立即关闭，得到一个拒绝连接的地址
+        dead = newServer("dead", 0L);
+        SERVERS.remove(SERVERS.size() - 1).close(CloseMode.IMMEDIATE);
+    }
+
+    @AfterAll
+    static void stop() {
+        SERVERS.forEach(server -> server.close(CloseMode.IMMEDIATE));
+    }
+
+    @BeforeEach
+    void reset() {
+        HITS.clear();
+    }
+
+    private static String newServer(String name, long delayMillis) throws IOException {
+        final HttpServer server = ServerBootstrap.bootstrap()
+                .setListenerPort(0)
+                .register("*", (request, response, context) -> {
+                    HITS.computeIfAbsent(name, key -> new AtomicInteger()).incrementAndGet();
+                    try {
+                        Thread.sleep(delayMillis);
+                        gate.await(5L, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    response.setCode(HttpStatus.SC_OK);
+                    response.setEntity(new StringEntity(name + " " + request.getRequestUri(), ContentType.TEXT_PLAIN));
+                })
+                .create();
+        server.start();
+        SERVERS.add(server);
+        return "http://localhost:" + server.getLocalPort();
+    }
+
+    @Test
+    void roundRobin() throws URISyntaxException, IOException {
+        final LoadBalancer loadBalancer = LoadBalancer.builder("user-service")
+                .endpoints(fast1 + "/api/", fast2 + "/api")
+                .strategy(LoadBalanceStrategy.ROUND_ROBIN)
+                .build();
+        try (HttpClientEngine engine = builder().loadBalancer(loadBalancer).build()) {
+            for (int i = 0; i < 4; i++) {
+                final HttpResponse response = engine.doGet("http://user-service/users/1?name=a%20b");
+                assertTrue(response.getStrBody().endsWith(" /api/users/1?name=a%20b"), response.getStrBody());
+            }
+            // 服务名不区分大小写
+            assertEquals(200, engine.doGetAsync("http://USER-SERVICE/users").join().getStatus());
+        }
+        assertEquals(3, HITS.get("fast1").get());
+        assertEquals(2, HITS.get("fast2").get());
+    }
+
+    @Test
+    void eject() throws URISyntaxException, IOException {
+        final LoadBalancer loadBalancer = LoadBalancer.builder("user-service")
+                .endpoints(fast1, dead)
+                .strategy(LoadBalanceStrategy.ROUND_ROBIN)
+                .maxFailures(2)
+                .ejectDuration(TimeValue.ofSeconds(30L))
+                .build();
+        try (HttpClientEngine engine = builder().loadBalancer(loadBalancer).build()) {
+            int failures = 0;
+            for (int i = 0; i < 4; i++) {
+                try {
+                    engine.doGet("http://user-service/ping");
+                } catch (IOException e) {
+                    failures++;
+                }
+            }
+            assertEquals(2, failures);
+            assertTrue(loadBalancer.getEndpoints().get(1).isEjected());
+            // 摘除后全部发往存活节点
+            for (int i = 0; i < 10; i++) {
+                assertEquals(200, engine.doGet("http://user-service/ping").getStatus());
+            }
+        }
+        assertEquals(12, HITS.get("fast1").get());
+    }
+
+    @Test
+    void bulkheadFullNotEjected() throws URISyntaxException, IOException {
+        final LoadBalancer loadBalancer = LoadBalancer.builder("user-service")
+                .endpoints(fast1)
+                .maxFailures(1)
+                .build();
+        // 本地舱壁已满不代表节点故障，不应摘除节点
+        gate = new CountDownLatch(1);
+        try (HttpClientEngine engine = builder().loadBalancer(loadBalancer).bulkhead(fast1, 1).build()) {
+            final CompletableFuture<HttpResponse> pending = engine.doGetAsync("http://user-service/ping");
+            for (int i = 0; i < 3; i++) {
+                assertThrows(BulkheadFullException.class, () -> engine.doGet("http://user-service/ping"));
+            }
+            assertFalse(loadBalancer.getEndpoints().get(0).isEjected());
+            gate.countDown();
+            assertEquals(200, pending.join().getStatus());
+            assertEquals(200, engine.doGet("http://user-service/ping").getStatus());
+        }
+    }
+
+    @Test
+    void leastOutstanding() throws URISyntaxException {
+        final LoadBalancer loadBalancer = LoadBalancer.builder("user-service")
+                .endpoints(fast1, fast2)
+                .strategy(LoadBalanceStrategy.LEAST_OUTSTANDING)
+                .build();
+        gate = new CountDownLatch(1);
+        try (HttpClientEngine engine = builder().loadBalancer(loadBalancer).build()) {
+            final List<CompletableFuture<HttpResponse>> futures = new ArrayList<>();
+            for (int i = 0; i < 6; i++) {
+                futures.add(engine.doGetAsync("http://user-service/hold"));
+            }
+            // 进行中请求数在发送时即计入，请求均匀分布
+            assertEquals(3, loadBalancer.getEndpoints().get(0).getInFlight());
+            assertEquals(3, loadBalancer.getEndpoints().get(1).getInFlight());
+            gate.countDown();
+            futures.forEach(future -> assertEquals(200, future.join().getStatus()));
+            assertEquals(0, loadBalancer.getEndpoints().get(0).getInFlight());
+            assertEquals(0, loadBalancer.getEndpoints().get(1).getInFlight());
+        }
+    }
+
+    @Test
+    void powerOfTwoChoices() throws URISyntaxException, IOException {
+        final LoadBalancer loadBalancer = LoadBalancer.builder("user-service")
+                .endpoints(fast1, fast2, slow)
+                .latencyDecay(TimeValue.ofMilliseconds(100L))
+                .build();
+        try (HttpClientEngine engine = builder().loadBalancer(loadBalancer).build()) {
+            for (int i = 0; i < 60; i++) {
+                assertEquals(200, engine.doGet("http://user-service/p2c").getStatus());
+            }
+        }
+        final int slowHits = HITS.getOrDefault("slow", new AtomicInteger()).get();
+        System.out.println("p2c hits: " + HITS + ", latency: " + loadBalancer.getEndpoints().get(2).getLatencyMillis() + " ms");
+        // 慢节点的平均耗时较高，很少被选中
+        assertTrue(slowHits < 10, "slow hits: " + slowHits);
+    }
+
+    private static HttpClientEngine.Builder builder() {
+        return HttpClientUtils.builder()
+                .responseTimeout(Timeout.ofSeconds(5L))
+                .connectionRequestTimeout(Timeout.ofSeconds(5L));
+    }
+}
@@ -0,0 +1,68 @@
+package com.chanjx.test;
+
+import com.chanjx.utils.FileUtils;
+import org.apache.tika.Tika;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 文件类型识别基准测试，对比魔数快速识别与Tika
+ * <p>
+ * 运行：mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=com.chanjx.test.MimeTypeBenchmark
+ * </p>
+ *
+ * @author chanjx
+ * @since 2026/10/17
+ **/
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MimeTypeBenchmark {
+
+    private static final Tika TIKA = new Tika();
+
+    @Param({"jpeg", "png", "gif", "pdf", "zip", "json", "text", "xml"})
+    private String sample;
+
+    private byte[] bytes;
+
+    private String fileName;
+
+    @Setup
+    public void setup() {
+        this.bytes = MimeTypeSamples.samples().get(this.sample);
+        this.fileName = "sample." + this.sample;
+    }
+
+    @Benchmark
+    public String tika() throws IOException {
+        return TIKA.detect(this.bytes);
+    }
+
+    @Benchmark
+    public String tikaWithName() {
+        return TIKA.detect(this.bytes, this.fileName);
+    }
+
+    @Benchmark
+    public String fileUtils() throws IOException {
+        return FileUtils.getMimeType(this.bytes);
+    }
+
+    @Benchmark
+    public String fileUtilsWithName() throws IOException {
+        return FileUtils.getMimeType(this.bytes, this.fileName);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(MimeTypeBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,74 @@
+package com.chanjx.test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 文件类型识别测试及基准测试使用的样本文件头
+ *
+ * @author chanjx
+ * @since 2026/10/17
+ **/
+public final class MimeTypeSamples {
+
+    private static final Map<String, byte[]> SAMPLES = new LinkedHashMap<>();
+
+    static {
+        SAMPLES.put("jpeg", bytes(0xFF, 0xD8, 0xFF, 0xE0, 0x00, 0x10, 'J', 'F', 'I', 'F', 0x00, 0x01));
+        SAMPLES.put("png", bytes(0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n', 0, 0, 0, 0x0D, 'I', 'H', 'D', 'R'));
+        SAMPLES.put("gif", ascii("GIF89a\u0001\u0000\u0001\u0000\u0080\u0000\u0000"));
+        SAMPLES.put("pdf", ascii("%PDF-1.7\n%âã\n1 0 obj\n<< /Type /Catalog >>\nendobj\n"));
+        SAMPLES.put("zip", zip("hello.txt"));
+        SAMPLES.put("docx", zip("[Content_Types].xml"));
+        SAMPLES.put("jar", zip("META-INF/MANIFEST.MF"));
+        SAMPLES.put("json", ascii("{\"name\":\"chanjx\",\"enable\":true,\"createTime\":1602000000000}"));
+        SAMPLES.put("jsonArray", ascii("[{\"name\":\"chanjx\"},{\"name\":\"kevin\"}]"));
+        SAMPLES.put("xml", ascii("<?xml version=\"1.0\" encoding=\"UTF-8\"?><root><name>chanjx</name></root>"));
+        SAMPLES.put("svg", ascii("<?xml version=\"1.0\"?><svg xmlns=\"http://www.w3.org/2000/svg\"/>"));
+        SAMPLES.put("text", ascii("hello world, this is a plain text file.\nsecond line\n"));
+        SAMPLES.put("utf8", "你好，世界\n".getBytes(StandardCharsets.UTF_8));
+        SAMPLES.put("html", ascii("<html><body>hello</body></html>"));
+        SAMPLES.put("shell", ascii("#!/bin/sh\necho hello\n"));
+        SAMPLES.put("rtf", ascii("{\\rtf1\\ansi hello}"));
+        SAMPLES.put("ini", ascii("[playlist]\nFile1=a.mp3\n"));
+        SAMPLES.put("mail", ascii("From: chanjx@example.com\nSubject: hello\n\nbody\n"));
+        SAMPLES.put("mbox", ascii("From chanjx@example.com Sat Oct 17 00:00:00 2026\n"));
+        SAMPLES.put("binary", bytes(0x00, 0x01, 0x02, 0x03, 0xFE, 0xFF));
+        SAMPLES.put("empty", new byte[0]);
+    }
+
+    private MimeTypeSamples() {
+    }
+
+    public static Map<String, byte[]> samples() {
+        return SAMPLES;
+    }
+
+    public static List<byte[]> all() {
+        return Arrays.asList(SAMPLES.values().toArray(new byte[0][]));
+    }
+
+    private static byte[] zip(String entryName) {
+        final byte[] name = ascii(entryName);
+        final byte[] zip = new byte[30 + name.length];
+        System.arraycopy(bytes('P', 'K', 3, 4, 20, 0, 0, 0, 8, 0), 0, zip, 0, 10);
+        zip[26] = (byte) name.length;
+        System.arraycopy(name, 0, zip, 30, name.length);
+        return zip;
+    }
+
+    private static byte[] bytes(int... values) {
+        final byte[] bytes = new byte[values.length];
+        for (int i = 0; i < values.length; i++) {
+            bytes[i] = (byte) values[i];
+        }
+        return bytes;
+    }
+
+    private static byte[] ascii(String value) {
+        return value.getBytes(StandardCharsets.ISO_8859_1);
+    }
+}
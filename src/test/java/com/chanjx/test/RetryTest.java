@@ -0,0 +1,225 @@
+package com.chanjx.test;
+
+import com.chanjx.utils.HttpClientUtils;
+import com.chanjx.utils.entity.http.HttpResponse;
+import com.chanjx.utils.http.HedgePolicy;
+import com.chanjx.utils.http.HttpClientEngine;
+import com.chanjx.utils.http.RetryPolicy;
+import org.apache.hc.client5.http.protocol.HttpClientContext;
+import org.apache.hc.core5.http.ContentType;
+import org.apache.hc.core5.http.HttpStatus;
+import org.apache.hc.core5.http.impl.bootstrap.HttpServer;
+import org.apache.hc.core5.http.impl.bootstrap.ServerBootstrap;
+import org.apache.hc.core5.http.io.entity.StringEntity;
+import org.apache.hc.core5.http.message.BasicHttpResponse;
+import org.apache.hc.core5.io.CloseMode;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 重试及对冲请求测试
+ *
+ * @author chanjx
+ * @since 2026/10/17
+ **/
+public class RetryTest {
+
+    /**
+     * 各路径收到的请求数
+     */
+    private static final Map<String, AtomicInteger> HITS = new ConcurrentHashMap<>();
+
+    private static HttpServer server;
+
+    private static HttpServer alternate;
+
+    private static String baseUri;
+
+    private static String alternateUri;
+
+    @BeforeAll
+    static void start() throws IOException {
+        server = ServerBootstrap.bootstrap()
+                .setListenerPort(0)
+                .register("/flaky", (request, response, context) -> {
+                    // 前两次返回503
+                    final int hit = hit(request.getPath());
+                    response.setCode(hit <= 2 ? HttpStatus.SC_SERVICE_UNAVAILABLE : HttpStatus.SC_OK);
+                    response.setEntity(new StringEntity(String.valueOf(hit), ContentType.TEXT_PLAIN));
+                })
+                .register("/slow-first", (request, response, context) -> {
+                    // 首次请求很慢，之后立即返回
+                    final int hit = hit(request.getPath());
+                    if (hit == 1) {
+                        sleep(2000L);
+                    }
+                    response.setCode(HttpStatus.SC_OK);
+                    response.setEntity(new StringEntity("primary-" + hit, ContentType.TEXT_PLAIN));
+                })
+                .register("/slow-odd", (request, response, context) -> {
+                    // 奇数次请求很慢
+                    if (hit(request.getPath()) % 2 == 1) {
+                        sleep(300L);
+                    }
+                    response.setCode(HttpStatus.SC_OK);
+                    response.setEntity(new StringEntity("fast", ContentType.TEXT_PLAIN));
+                })
+                .register("/slow", (request, response, context) -> {
+                    hit(request.getPath());
+                    sleep(2000L);
+                    response.setCode(HttpStatus.SC_OK);
+                    response.setEntity(new StringEntity("primary", ContentType.TEXT_PLAIN));
+                })
+                .create();
+        server.start();
+        baseUri = "http://localhost:" + server.getLocalPort();
+        alternate = ServerBootstrap.bootstrap()
+                .setListenerPort(0)
+                .register("*", (request, response, context) -> {
+                    response.setCode(HttpStatus.SC_OK);
+                    response.setEntity(new StringEntity("alternate", ContentType.TEXT_PLAIN));
+                })
+                .create();
+        alternate.start();
+        alternateUri = "http://localhost:" + alternate.getLocalPort();
+    }
+
+    @AfterAll
+    static void stop() {
+        server.close(CloseMode.IMMEDIATE);
+        alternate.close(CloseMode.IMMEDIATE);
+    }
+
+    @BeforeEach
+    void reset() {
+        HITS.clear();
+    }
+
+    @Test
+    void retryOnStatus() throws URISyntaxException, IOException {
+        final RetryPolicy retryPolicy = RetryPolicy.builder()
+                .maxRetries(3)
+                .baseDelay(TimeValue.ofMilliseconds(10L))
+                .build();
+        try (HttpClientEngine engine = builder().retryPolicy(retryPolicy).build()) {
+            final HttpResponse response = engine.doGet(baseUri + "/flaky");
+            assertEquals(200, response.getStatus());
+            assertEquals("3", response.getStrBody());
+
+            // 非幂等请求不重试
+            HITS.clear();
+            assertEquals(503, engine.doPostJson(baseUri + "/flaky", "{}").getStatus());
+            assertEquals(1, HITS.get("/flaky").get());
+
+            // 异步客户端同样重试
+            HITS.clear();
+            assertEquals(200, engine.doGetAsync(baseUri + "/flaky").join().getStatus());
+            assertEquals(3, HITS.get("/flaky").get());
+        }
+    }
+
+    @Test
+    void backoff() {
+        final RetryPolicy retryPolicy = RetryPolicy.builder()
+                .baseDelay(TimeValue.ofMilliseconds(100L))
+                .maxDelay(TimeValue.ofMilliseconds(500L))
+                .jitter(false)
+                .build();
+        final BasicHttpResponse response = new BasicHttpResponse(HttpStatus.SC_SERVICE_UNAVAILABLE);
+        final HttpClientContext context = HttpClientContext.create();
+        assertEquals(100L, retryPolicy.getRetryInterval(response, 1, context).toMilliseconds());
+        assertEquals(200L, retryPolicy.getRetryInterval(response, 2, context).toMilliseconds());
+        assertEquals(400L, retryPolicy.getRetryInterval(response, 3, context).toMilliseconds());
+        assertEquals(500L, retryPolicy.getRetryInterval(response, 4, context).toMilliseconds());
+        assertEquals(500L, retryPolicy.getRetryInterval(response, 40, context).toMilliseconds());
+
+        final RetryPolicy jitter = RetryPolicy.builder().baseDelay(TimeValue.ofMilliseconds(100L)).build();
+        for (int i = 0; i < 100; i++) {
+            final long delay = jitter.getRetryInterval(response, 2, context).toMilliseconds();
+            assertTrue(delay >= 0L && delay <= 200L);
+        }
+
+        // Retry-After优先，但不超过maxDelay
+        response.setHeader("Retry-After", "1");
+        assertEquals(500L, retryPolicy.getRetryInterval(response, 1, context).toMilliseconds());
+    }
+
+    @Test
+    void hedge() throws URISyntaxException, IOException {
+        final HedgePolicy hedgePolicy = HedgePolicy.builder().initialDelay(TimeValue.ofMilliseconds(50L)).build();
+        try (HttpClientEngine engine = builder().hedgePolicy(hedgePolicy).build()) {
+            final long start = System.nanoTime();
+            final HttpResponse response = engine.doGet(baseUri + "/slow-first");
+            final long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            assertEquals("primary-2", response.getStrBody());
+            assertTrue(elapsed < 1000L, "elapsed: " + elapsed);
+            assertEquals(1L, hedgePolicy.getHedgedCount());
+            assertEquals(1L, hedgePolicy.getHedgeWinCount());
+        }
+    }
+
+    @Test
+    void hedgeDelayNotDrifting() throws URISyntaxException, IOException {
+        // 每轮原请求都慢、对冲请求都快，只统计胜出者时等待时间会降到minDelay
+        final HedgePolicy hedgePolicy = HedgePolicy.builder()
+                .initialDelay(TimeValue.ofMilliseconds(50L))
+                .minDelay(TimeValue.ofMilliseconds(1L))
+                .window(20)
+                .build();
+        try (HttpClientEngine engine = builder().hedgePolicy(hedgePolicy).build()) {
+            for (int i = 0; i < 30; i++) {
+                assertEquals("fast", engine.doGet(baseUri + "/slow-odd").getStrBody());
+            }
+        }
+        assertEquals(30L, hedgePolicy.getHedgeWinCount());
+        assertTrue(hedgePolicy.getDelayMillis() >= 45L, "delay: " + hedgePolicy.getDelayMillis());
+        assertThrows(IllegalArgumentException.class, () -> HedgePolicy.builder().window(19));
+    }
+
+    @Test
+    void hedgeAlternateHost() throws URISyntaxException {
+        final HedgePolicy hedgePolicy = HedgePolicy.builder()
+                .initialDelay(TimeValue.ofMilliseconds(50L))
+                .alternateHosts(alternateUri)
+                .build();
+        try (HttpClientEngine engine = builder().hedgePolicy(hedgePolicy).build()) {
+            final long start = System.nanoTime();
+            assertEquals("alternate", engine.doGetAsync(baseUri + "/slow").join().getStrBody());
+            assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < 1000L);
+            assertEquals(1, HITS.get("/slow").get());
+        }
+    }
+
+    private static HttpClientEngine.Builder builder() {
+        return HttpClientUtils.builder()
+                .responseTimeout(Timeout.ofSeconds(5L))
+                .connectionRequestTimeout(Timeout.ofSeconds(5L));
+    }
+
+    private static int hit(String path) {
+        return HITS.computeIfAbsent(path, key -> new AtomicInteger()).incrementAndGet();
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package com.chanjx.test;
+
+import com.chanjx.utils.HttpClientUtils;
+import com.chanjx.utils.entity.http.HttpResponse;
+import com.chanjx.utils.http.HttpClientEngine;
+import org.apache.hc.core5.http.ContentType;
+import org.apache.hc.core5.http.HttpHeaders;
+import org.apache.hc.core5.http.impl.bootstrap.HttpServer;
+import org.apache.hc.core5.http.impl.bootstrap.ServerBootstrap;
+import org.apache.hc.core5.http.io.entity.StringEntity;
+import org.apache.hc.core5.io.CloseMode;
+import org.apache.hc.core5.util.Timeout;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntFunction;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * 请求合并测试，服务端延迟响应并统计实际收到的请求数
+ *
+ * @author chanjx
+ * @since 2026/10/17
+ **/
+public class SingleFlightTest {
+
+    private static final int THREADS = 64;
+
+    private static final AtomicInteger UPSTREAM_HITS = new AtomicInteger();
+
+    private static HttpServer server;
+
+    private static String baseUri;
+
+    private static ExecutorService executor;
+
+    @BeforeAll
+    static void start() throws IOException {
+        server = ServerBootstrap.bootstrap()
+                .setListenerPort(0)
+                .register("*", (request, response, context) -> {
+                    UPSTREAM_HITS.incrementAndGet();
+                    try {
+                        // 保证所有调用方在响应返回前发起请求
+                        Thread.sleep(500L);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    response.setCode(200);
+                    response.setEntity(new StringEntity(request.getPath(), ContentType.TEXT_PLAIN));
+                })
+                .create();
+        server.start();
+        baseUri = "http://localhost:" + server.getLocalPort();
+        executor = Executors.newFixedThreadPool(THREADS);
+    }
+
+    @AfterAll
+    static void stop() {
+        executor.shutdownNow();
+        server.close(CloseMode.IMMEDIATE);
+    }
+
+    @BeforeEach
+    void reset() {
+        UPSTREAM_HITS.set(0);
+    }
+
+    @Test
+    void coalesce() throws Exception {
+        try (HttpClientEngine engine = newEngine()) {
+            final List<HttpResponse> responses = fanOut(engine, i -> new HashMap<>(Collections.singletonMap(HttpHeaders.AUTHORIZATION, "token")));
+            assertEquals(1, UPSTREAM_HITS.get());
+            responses.forEach(response -> {
+                assertSame(responses.get(0), response);
+                assertEquals("/reference?type=city", response.getStrBody());
+            });
+            // 共享的响应不可被调用方修改
+            final HttpResponse shared = responses.get(0);
+            shared.getBody()[0] = 'x';
+            assertEquals('/', shared.getBody()[0]);
+            assertThrows(UnsupportedOperationException.class, () -> shared.getBodyBuffer().put(0, (byte) 'x'));
+            assertThrows(UnsupportedOperationException.class, () -> shared.getHeaders().clear());
+        }
+    }
+
+    @Test
+    void distinctKeyHeaders() throws Exception {
+        try (HttpClientEngine engine = newEngine()) {
+            // Authorization不同的请求不合并
+            fanOut(engine, i -> new HashMap<>(Collections.singletonMap(HttpHeaders.AUTHORIZATION, "token-" + i % 2)));
+            assertEquals(2, UPSTREAM_HITS.get());
+        }
+    }
+
+    @Test
+    void disabled() throws Exception {
+        try (HttpClientEngine engine = HttpClientUtils.builder()
+                .responseTimeout(Timeout.ofSeconds(5L))
+                .connectionRequestTimeout(Timeout.ofSeconds(5L))
+                .build()) {
+            fanOut(engine, i -> null);
+            assertEquals(THREADS, UPSTREAM_HITS.get());
+        }
+    }
+
+    private static HttpClientEngine newEngine() {
+        return HttpClientUtils.builder()
+                .singleFlight(HttpHeaders.AUTHORIZATION)
+                .responseTimeout(Timeout.ofSeconds(5L))
+                .connectionRequestTimeout(Timeout.ofSeconds(5L))
+                .build();
+    }
+
+    private static List<HttpResponse> fanOut(HttpClientEngine engine, IntFunction<Map<String, String>> headers) throws Exception {
+        final CountDownLatch ready = new CountDownLatch(THREADS);
+        final List<Future<HttpResponse>> futures = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            final int index = i;
+            futures.add(executor.submit(() -> {
+                ready.countDown();
+                ready.await();
+                final Map<String, String> query = new HashMap<>(Collections.singletonMap("type", "city"));
+                return engine.doGet(baseUri + "/reference", query, headers.apply(index));
+            }));
+        }
+        final List<HttpResponse> responses = new ArrayList<>();
+        for (Future<HttpResponse> future : futures) {
+            responses.add(future.get(10L, TimeUnit.SECONDS));
+        }
+        return responses;
+    }
+}
@@ -0,0 +1,68 @@
+package com.chanjx.test;
+
+import com.chanjx.utils.XmlUtils;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.dataformat.xml.XmlMapper;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * XmlUtils基准测试，对比每次拷贝XmlMapper（原实现）与缓存的NON_NULL Mapper
+ * <p>
+ * 运行：mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=com.chanjx.test.XmlBenchmark
+ * </p>
+ *
+ * @author chanjx
+ * @since 2026/10/17
+ **/
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class XmlBenchmark {
+
+    private final XmlMapper mapper = XmlUtils.copy();
+
+    private XmlTest.Callback callback;
+
+    private String xml;
+
+    @Setup
+    public void setup() throws JsonProcessingException {
+        this.callback = XmlTest.callback();
+        this.xml = XmlUtils.obj2Xml(this.callback);
+    }
+
+    @Benchmark
+    public byte[] copyPerCallNonNull() throws JsonProcessingException {
+        final XmlMapper copy = this.mapper.copy();
+        copy.setSerializationInclusion(JsonInclude.Include.NON_NULL);
+        return copy.writeValueAsBytes(this.callback);
+    }
+
+    @Benchmark
+    public byte[] cachedNonNull() throws JsonProcessingException {
+        return XmlUtils.obj2XmlBytesNonNullBytes(this.callback);
+    }
+
+    @Benchmark
+    public XmlTest.Callback mapperRead() throws JsonProcessingException {
+        return this.mapper.readValue(this.xml, XmlTest.Callback.class);
+    }
+
+    @Benchmark
+    public XmlTest.Callback cachedRead() throws JsonProcessingException {
+        return XmlUtils.xml2Obj(this.xml, XmlTest.Callback.class);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(XmlBenchmark.class.getSimpleName()).build()).run();
+    }
+}
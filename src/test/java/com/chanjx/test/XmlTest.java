@@ -0,0 +1,124 @@
+package com.chanjx.test;
+
+import com.chanjx.utils.JsonUtils;
+import com.chanjx.utils.XmlUtils;
+import com.fasterxml.jackson.dataformat.xml.XmlMapper;
+import lombok.Data;
+import lombok.experimental.Accessors;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.Serializable;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @author chanjx
+ * @since 2026/10/17
+ **/
+public class XmlTest {
+
+    static Callback callback() {
+        return new Callback().setOrderNo("202610170001").setAmount(100).setStatus("SUCCESS");
+    }
+
+    @Test
+    public void obj2Xml() throws IOException {
+        final Callback callback = callback();
+        final String xml = XmlUtils.obj2Xml(callback);
+        assertTrue(xml.contains("<remark/>"), xml);
+        assertEquals("202610170001", XmlUtils.xml2Obj(xml, Callback.class).getOrderNo());
+
+        final String nonNull = XmlUtils.obj2XmlBytesNonNull(callback);
+        assertFalse(nonNull.contains("remark"), nonNull);
+        assertEquals(nonNull, new String(XmlUtils.obj2XmlBytesNonNullBytes(callback), StandardCharsets.UTF_8));
+        assertEquals(callback, XmlUtils.xml2Obj(nonNull, Callback.class));
+
+        final String copied = XmlUtils.copy(JsonUtils.MapperKey.ROOT_VALUE_NON_NULL_MAPPER).writeValueAsString(callback);
+        assertEquals(nonNull, copied);
+    }
+
+    @Test
+    public void rootValueRoundTrip() throws IOException {
+        // ROOT_VALUE系列Mapper需能读取自身的输出；xml中null字段写为空节点，读回为空字符串，故设置remark
+        final Callback callback = callback().setRemark("ok");
+        for (JsonUtils.MapperKey mapperKey : JsonUtils.MapperKey.values()) {
+            final XmlMapper mapper = XmlUtils.copy(mapperKey);
+            final String xml = mapper.writeValueAsString(callback);
+            assertTrue(xml.startsWith("<Callback>"), xml);
+            assertEquals(callback, mapper.readValue(xml, Callback.class), mapperKey.name());
+        }
+    }
+
+    @Test
+    public void bytes() throws IOException {
+        final Callback callback = callback().setRemark("支付成功");
+        final Charset gbk = Charset.forName("GBK");
+        final byte[] gbkBytes = ("<?xml version=\"1.0\" encoding=\"GBK\"?>" + XmlUtils.obj2Xml(callback)).getBytes(gbk);
+        // 按xml声明中的encoding解码
+        assertEquals(callback, XmlUtils.xml2Obj(gbkBytes, Callback.class));
+        assertEquals(callback, XmlUtils.xml2Obj(new ByteArrayInputStream(gbkBytes), Callback.class));
+        assertEquals(callback, XmlUtils.xml2Obj(ByteBuffer.wrap(gbkBytes), Callback.class));
+
+        final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        XmlUtils.obj2Xml(callback, outputStream);
+        assertArrayEquals(XmlUtils.obj2XmlBytes(callback), outputStream.toByteArray());
+        final ByteBuffer direct = ByteBuffer.allocateDirect(outputStream.size());
+        direct.put(outputStream.toByteArray()).flip();
+        assertEquals(callback, XmlUtils.xml2Obj(direct, Callback.class));
+    }
+
+    @Test
+    public void xml2Stream() throws IOException {
+        final int count = 10_000;
+        final Path path = Files.createTempFile("chanjx", ".xml");
+        try {
+            try (Writer writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8)) {
+                writer.write("<?xml version=\"1.0\" encoding=\"UTF-8\"?><reconciliation><header><total>" + count + "</total></header><records>");
+                for (int i = 0; i < count; i++) {
+                    writer.write(XmlUtils.obj2XmlBytesNonNull(callback().setOrderNo(String.valueOf(i))));
+                }
+                writer.write("</records></reconciliation>");
+            }
+            final AtomicInteger index = new AtomicInteger();
+            try (Stream<Callback> stream = XmlUtils.xml2Stream(path, "Callback", Callback.class)) {
+                stream.forEach(callback -> {
+                    assertEquals(String.valueOf(index.getAndIncrement()), callback.getOrderNo());
+                    assertEquals(100, callback.getAmount());
+                });
+            }
+            assertEquals(count, index.get());
+        } finally {
+            Files.delete(path);
+        }
+    }
+
+    /**
+     * 支付回调报文
+     */
+    @Data
+    @Accessors(chain = true)
+    public static class Callback implements Serializable {
+
+        private String orderNo;
+
+        private Integer amount;
+
+        private String status;
+
+        private String remark;
+    }
+}